@@ -0,0 +1,35 @@
+package org.supplychain.supplychain.conditional;
+
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET on top of {@link WebRequest#checkNotModified(String, long)}.
+ * <p>
+ * Controllers read the stamp first and the body only when the client copy is stale:
+ * <pre>
+ * if (ConditionalGet.notModified(webRequest, "product-" + id, productService.getProductStamp(id))) {
+ *     return null;
+ * }
+ * </pre>
+ * Returning {@code null} leaves the prepared {@code 304 Not Modified} untouched. The stamp is read
+ * before the body, so a body is never older than the ETag sent with it.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Sets {@code ETag} and {@code Last-Modified} on the response and checks
+     * {@code If-None-Match} / {@code If-Modified-Since}.
+     *
+     * @param stamp {@code null} when the resource does not exist; the request then proceeds normally
+     * @return {@code true} when the response has been turned into a 304
+     */
+    public static boolean notModified(WebRequest request, String resource, ResourceStamp stamp) {
+        if (stamp == null) {
+            return false;
+        }
+        return request.checkNotModified(stamp.etag(resource), stamp.lastModifiedMillis());
+    }
+}
@@ -0,0 +1,41 @@
+package org.supplychain.supplychain.conditional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Validator of an HTTP representation, read with aggregate queries instead of the entities: the
+ * number of rows the representation is built from, the sum of their versions and the latest
+ * {@code updatedDate} among them. An insert or a delete moves the row count, an update moves the
+ * version sum, so the stamp changes whenever the representation may have changed.
+ */
+public record ResourceStamp(long rows, long versions, LocalDateTime lastModified) {
+
+    /**
+     * Stamp of a representation built from the rows of both stamps.
+     */
+    public ResourceStamp and(ResourceStamp other) {
+        LocalDateTime latest = lastModified;
+        if (other.lastModified != null && (latest == null || other.lastModified.isAfter(latest))) {
+            latest = other.lastModified;
+        }
+        return new ResourceStamp(rows + other.rows, versions + other.versions, latest);
+    }
+
+    /**
+     * Strong entity tag, quoted, e.g. {@code "product-42-3.7.1760781600123456"}.
+     */
+    public String etag(String resource) {
+        long micros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "\"" + resource + "-" + rows + "." + versions + "." + micros + "\"";
+    }
+
+    /**
+     * {@code Last-Modified} in epoch milliseconds, -1 when no row carries an audit date.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,88 @@
+package org.supplychain.supplychain.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate second-level cache of the reference entities: JCache regions backed by Caffeine, one
+ * per {@code @Cache} entity or collection, sized from {@code l2-cache.regions}.
+ * <p>
+ * The regions are created here rather than by Hibernate so that every one is bounded and records
+ * statistics; an annotated region missing from the configuration fails at startup. Each
+ * application context gets its own cache manager, so contexts on different databases (tests)
+ * never share entries. Hits, misses, puts and evictions are published as {@code cache.*} meters
+ * tagged {@code cache.manager=hibernate}.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheConfig.Properties.class)
+public class SecondLevelCacheConfig {
+
+    private static final AtomicInteger MANAGERS = new AtomicInteger();
+
+    @ConfigurationProperties("l2-cache")
+    public record Properties(boolean enabled, Map<String, Region> regions) {
+    }
+
+    public record Region(long maximumSize, Duration expireAfterWrite) {
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "l2-cache.enabled", havingValue = "true")
+    CacheManager secondLevelCacheManager(Properties properties) {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + MANAGERS.incrementAndGet()), getClass().getClassLoader());
+        properties.regions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.expireAfterWrite().toNanos()));
+            // Hibernate caches disassembled, immutable state: no copy on every get
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            manager.createCache(name, configuration);
+        });
+        return manager;
+    }
+
+    // hibernate-jcache on the classpath turns the cache on by itself: it is set either way
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheSettings(ObjectProvider<CacheManager> secondLevelCacheManager) {
+        return settings -> {
+            CacheManager manager = secondLevelCacheManager.getIfAvailable();
+            settings.put(CacheSettings.USE_SECOND_LEVEL_CACHE, manager != null);
+            if (manager != null) {
+                settings.put(CacheSettings.CACHE_REGION_FACTORY, "jcache");
+                settings.put(ConfigSettings.CACHE_MANAGER, manager);
+                settings.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+                // BOM lines are saved on their own: the product's cached collection must follow
+                settings.put(CacheSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "l2-cache.enabled", havingValue = "true")
+    MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> secondLevelCacheManager.getCacheNames().forEach(name -> JCacheMetrics.monitor(
+                registry, secondLevelCacheManager.getCache(name), Tags.of("cache.manager", "hibernate")));
+    }
+}
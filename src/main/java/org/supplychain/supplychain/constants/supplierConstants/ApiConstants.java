@@ -7,6 +7,8 @@ public class ApiConstants {
     public static final String SUPPLIER_ENDPOINT = "/suppliers";
     public static final String ORDER_ENDPOINT = "/orders";
 
+    public static final String NDJSON = "application/x-ndjson";
+
 
     private ApiConstants() {}
 
@@ -0,0 +1,56 @@
+package org.supplychain.supplychain.controller.Production;
+
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.supplychain.supplychain.dto.planning.MrpResultDTO;
+import org.supplychain.supplychain.dto.planning.ScheduleResultDTO;
+import org.supplychain.supplychain.response.SuccessResponse;
+import org.supplychain.supplychain.service.Production.Planning.MrpService;
+import org.supplychain.supplychain.service.Production.Planning.ProductionScheduleService;
+
+@RestController
+@RequestMapping("/api/planning")
+@RequiredArgsConstructor
+public class PlanningController {
+
+    private final MrpService mrpService;
+    private final ProductionScheduleService productionScheduleService;
+
+    @Operation(summary = "Net material requirements of pending production orders (MRP)")
+    @GetMapping("/mrp")
+    public ResponseEntity<SuccessResponse<MrpResultDTO>> getMaterialRequirements(
+            @RequestParam(defaultValue = "false") boolean shortagesOnly,
+            HttpServletRequest request) {
+
+        MrpResultDTO result = mrpService.computeRequirements(shortagesOnly);
+        SuccessResponse<MrpResultDTO> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Material requirements computed successfully",
+                result,
+                request.getRequestURI()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Rebuild the production schedule of waiting orders")
+    @PostMapping("/schedule")
+    public ResponseEntity<SuccessResponse<ScheduleResultDTO>> reschedule(HttpServletRequest request) {
+
+        ScheduleResultDTO result = productionScheduleService.reschedule();
+        SuccessResponse<ScheduleResultDTO> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Production schedule rebuilt successfully",
+                result,
+                request.getRequestURI()
+        );
+        return ResponseEntity.ok(response);
+    }
+}
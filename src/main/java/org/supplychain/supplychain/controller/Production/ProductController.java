@@ -8,6 +8,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.supplychain.supplychain.conditional.ConditionalGet;
+import org.supplychain.supplychain.dto.product.ProducibleQuantityDTO;
+import org.supplychain.supplychain.dto.product.ProducibleQuantityRequestDTO;
 import org.supplychain.supplychain.dto.product.ProductDTO;
 import org.supplychain.supplychain.response.SuccessResponse;
 import org.supplychain.supplychain.service.Production.Product.ProductService;
@@ -18,6 +21,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
@@ -84,8 +90,12 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<SuccessResponse<ProductDTO>> getProductById(
             @PathVariable Long id,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
 
+        if (ConditionalGet.notModified(webRequest, "product-" + id, productService.getProductStamp(id))) {
+            return null;
+        }
         ProductDTO product = productService.getProductById(id);
         SuccessResponse<ProductDTO> response = SuccessResponse.of(
                 HttpStatus.OK,
@@ -103,7 +113,12 @@ public class ProductController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDirection,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
+
+        if (ConditionalGet.notModified(webRequest, "products", productService.getProductsStamp())) {
+            return null;
+        }
 
         Sort sort = sortDirection.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
@@ -120,4 +135,47 @@ public class ProductController {
         );
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "Get how many units of a product the current material stock can build",
+            description = "min(floor((stock - reservedStock) / quantity)) over the product's exploded BOM")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Producible quantity computed successfully"),
+            @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    @GetMapping("/{id}/producible")
+    public ResponseEntity<SuccessResponse<ProducibleQuantityDTO>> getProducibleQuantity(
+            @PathVariable Long id,
+            HttpServletRequest request) {
+
+        ProducibleQuantityDTO producible = productService.getProducibleQuantity(id);
+        SuccessResponse<ProducibleQuantityDTO> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Producible quantity computed successfully",
+                producible,
+                request.getRequestURI()
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Get the producible quantity of several products",
+            description = "Material stock is read in one query for all products; large lists are computed in parallel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Producible quantities computed successfully"),
+            @ApiResponse(responseCode = "400", description = "Empty or too long product list"),
+            @ApiResponse(responseCode = "404", description = "Unknown product in the list")
+    })
+    @PostMapping("/producible")
+    public ResponseEntity<SuccessResponse<List<ProducibleQuantityDTO>>> getProducibleQuantities(
+            @Valid @RequestBody ProducibleQuantityRequestDTO requestDTO,
+            HttpServletRequest request) {
+
+        List<ProducibleQuantityDTO> producible = productService.getProducibleQuantities(requestDTO.getProductIds());
+        SuccessResponse<List<ProducibleQuantityDTO>> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Producible quantities computed successfully",
+                producible,
+                request.getRequestURI()
+        );
+        return ResponseEntity.ok(response);
+    }
 }
@@ -9,7 +9,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.supplychain.supplychain.dto.productionorder.ProductionOrderDTO;
+import org.supplychain.supplychain.dto.productionorder.ProductionStartBatchRequestDTO;
+import org.supplychain.supplychain.dto.productionorder.ProductionStartBatchResultDTO;
 import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.response.SuccessResponse;
 import org.supplychain.supplychain.service.Production.ProductionOrder.ProductionOrderService;
 import org.springframework.data.domain.Page;
@@ -122,6 +126,27 @@ public class ProductionOrderController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get production orders with a cursor (?after= empty for the first page), no total count")
+    @GetMapping(params = "after")
+    public ResponseEntity<SuccessResponse<CursorPageDTO<ProductionOrderDTO>>> scrollProductionOrders(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "idOrder") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            HttpServletRequest request) {
+
+        CursorPageDTO<ProductionOrderDTO> orders = productionOrderService.scrollProductionOrders(
+                new KeysetRequest(after, size, sortBy, sortDirection));
+
+        SuccessResponse<CursorPageDTO<ProductionOrderDTO>> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Production orders list retrieved successfully",
+                orders,
+                request.getRequestURI()
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Get production orders filtered by status with pagination")
     @GetMapping("/status/{status}")
     public ResponseEntity<SuccessResponse<Page<ProductionOrderDTO>>> getProductionOrdersByStatus(
@@ -148,7 +173,7 @@ public class ProductionOrderController {
             @ApiResponse(responseCode = "200", description = "Production started successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductionOrderDTO.class))),
             @ApiResponse(responseCode = "404", description = "Production order not found"),
-            @ApiResponse(responseCode = "400", description = "Not enough raw materials to start production")
+            @ApiResponse(responseCode = "409", description = "Order not waiting, or not enough raw materials to start production")
     })
     @PutMapping("/production/{id}")
     public ResponseEntity<SuccessResponse<ProductionOrderDTO>> startProduction(
@@ -167,4 +192,26 @@ public class ProductionOrderController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Start several production orders at once; orders the shared stock cannot cover are set to BLOQUE")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see started, blocked and rejected orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    @PostMapping("/start-batch")
+    public ResponseEntity<SuccessResponse<ProductionStartBatchResultDTO>> startProductionBatch(
+            @Valid @RequestBody ProductionStartBatchRequestDTO dto,
+            HttpServletRequest request) {
+
+        ProductionStartBatchResultDTO result = productionOrderService.startProductionBatch(dto.getOrderIds());
+
+        SuccessResponse<ProductionStartBatchResultDTO> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Production batch processed successfully",
+                result,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
 }
@@ -2,6 +2,9 @@ package org.supplychain.supplychain.controller.approvisionnement;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,9 +12,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.supplychain.supplychain.constants.supplierConstants.ApiConstants;
 import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
+import org.supplychain.supplychain.service.modelSupplier.OrderImportService;
 import org.supplychain.supplychain.service.modelSupplier.OrderServiec;
 
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 
 @RestController
@@ -22,6 +31,8 @@ public class OrderController {
 
 
         private final OrderServiec orderService;
+        private final OrderImportService orderImportService;
+        private final ObjectMapper objectMapper;
 
         @PostMapping
         @Operation(summary = "Create a new order")
@@ -29,6 +40,22 @@ public class OrderController {
             return ResponseEntity.ok(orderService.createOrder(dto));
         }
 
+        @PostMapping(value = "/batch", consumes = ApiConstants.NDJSON, produces = ApiConstants.NDJSON)
+        @Operation(summary = "Import orders in bulk, one JSON order per line, one JSON result per line")
+        public void importOrders(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType(ApiConstants.NDJSON);
+            response.setCharacterEncoding("UTF-8");
+            Writer writer = response.getWriter();
+            orderImportService.importOrders(request.getReader(), result -> {
+                try {
+                    writer.write(objectMapper.writeValueAsString(result));
+                    writer.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+
         @Operation(summary = "update order")
         @PutMapping("/{id}")
         public ResponseEntity<OrderDTO> updateOrder(@PathVariable Long id, @RequestBody OrderDTO dto) {
@@ -48,6 +75,16 @@ public class OrderController {
             return ResponseEntity.ok(orderService.getAllOrders(pageable));
         }
 
+        @Operation(summary = "get orders with a cursor (?after= empty for the first page), no total count")
+        @GetMapping(params = "after")
+        public ResponseEntity<CursorPageDTO<OrderDTO>> scrollOrders(
+                @RequestParam String after,
+                @RequestParam(defaultValue = "20") int size,
+                @RequestParam(defaultValue = "idOrder") String sortBy,
+                @RequestParam(defaultValue = "asc") String sortDirection) {
+            return ResponseEntity.ok(orderService.scrollOrders(new KeysetRequest(after, size, sortBy, sortDirection)));
+        }
+
         @Operation(summary = "get order by id")
         @GetMapping("/{id}")
         public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
@@ -12,10 +12,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.supplychain.supplychain.search.SearchMatchDTO;
+import org.supplychain.supplychain.conditional.ConditionalGet;
 import org.supplychain.supplychain.dto.rawmaterial.PageResponseDTO;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialRequestDTO;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialResponseDTO;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialSummaryDTO;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.service.approvisionnement.RawMaterialService;
 
 import java.util.List;
@@ -55,8 +60,11 @@ public class RawMaterialController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RawMaterialResponseDTO> getRawMaterialById(@PathVariable Long id) {
+    public ResponseEntity<RawMaterialResponseDTO> getRawMaterialById(@PathVariable Long id, WebRequest webRequest) {
         log.info("REST request to get raw material with ID: {}", id);
+        if (ConditionalGet.notModified(webRequest, "raw-material-" + id, rawMaterialService.getRawMaterialStamp(id))) {
+            return null;
+        }
         RawMaterialResponseDTO response = rawMaterialService.getRawMaterialById(id);
         return ResponseEntity.ok(response);
     }
@@ -66,9 +74,13 @@ public class RawMaterialController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "idMaterial") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            WebRequest webRequest) {
 
         log.info("REST request to get all raw materials - page: {}, size: {}", page, size);
+        if (ConditionalGet.notModified(webRequest, "raw-materials", rawMaterialService.getRawMaterialsStamp())) {
+            return null;
+        }
 
         Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
@@ -90,6 +102,35 @@ public class RawMaterialController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "after")
+    @Operation(summary = "get raw materials with a cursor (?after= empty for the first page), no total count")
+    public ResponseEntity<CursorPageDTO<RawMaterialSummaryDTO>> scrollRawMaterials(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "idMaterial") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            WebRequest webRequest) {
+
+        log.info("REST request to scroll raw materials - size: {}", size);
+        if (ConditionalGet.notModified(webRequest, "raw-materials", rawMaterialService.getRawMaterialsStamp())) {
+            return null;
+        }
+
+        return ResponseEntity.ok(rawMaterialService.scrollRawMaterials(
+                new KeysetRequest(after, size, sortBy, sortDirection)));
+    }
+
+    @GetMapping("/search/fuzzy")
+    @Operation(summary = "typo-tolerant search of raw materials by name, best matches first")
+    public ResponseEntity<List<SearchMatchDTO<RawMaterialSummaryDTO>>> fuzzySearchRawMaterials(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("REST request to fuzzy search raw materials: {}", q);
+
+        return ResponseEntity.ok(rawMaterialService.fuzzySearchRawMaterials(q, limit));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<PageResponseDTO<RawMaterialSummaryDTO>> searchRawMaterials(
             @RequestParam String name,
@@ -0,0 +1,37 @@
+package org.supplychain.supplychain.controller.approvisionnement;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.supplychain.supplychain.dto.supplyOrder.ReplenishmentRunDTO;
+import org.supplychain.supplychain.service.approvisionnement.ReplenishmentService;
+
+@RestController
+@RequestMapping("/api/replenishment")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Replenishment Api", description = "Automatic supply orders for critical raw materials")
+public class ReplenishmentController {
+
+    private final ReplenishmentService replenishmentService;
+
+    @PostMapping("/runs")
+    @Operation(summary = "run replenishment now")
+    public ResponseEntity<ReplenishmentRunDTO> run() {
+        log.info("REST request to run replenishment");
+        return ResponseEntity.ok(replenishmentService.runReplenishment());
+    }
+
+    @GetMapping("/runs/last")
+    @Operation(summary = "statistics of the last replenishment run")
+    public ResponseEntity<ReplenishmentRunDTO> lastRun() {
+        ReplenishmentRunDTO run = replenishmentService.getLastRun();
+        return run == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(run);
+    }
+}
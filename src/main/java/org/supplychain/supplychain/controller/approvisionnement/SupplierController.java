@@ -4,11 +4,16 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.supplychain.supplychain.conditional.ConditionalGet;
 import org.supplychain.supplychain.constants.supplierConstants.ApiConstants;
 import org.supplychain.supplychain.dto.supplier.SupplierDTO;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.service.modelSupplier.SupplierService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.supplychain.supplychain.search.SearchMatchDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
@@ -48,19 +53,48 @@ public class SupplierController {
     @GetMapping
     public ResponseEntity<Page<SupplierDTO>> getAllSuppliers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size) {
+            @RequestParam(defaultValue = "5") int size,
+            WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, "suppliers", supplierService.getSuppliersStamp())) {
+            return null;
+        }
         return ResponseEntity.ok(supplierService.getAllSuppliers(page, size));
     }
 
+    @Operation(summary = "Get suppliers with a cursor (?after= empty for the first page), no total count")
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<SupplierDTO>> scrollSuppliers(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "idSupplier") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, "suppliers", supplierService.getSuppliersStamp())) {
+            return null;
+        }
+        return ResponseEntity.ok(supplierService.scrollSuppliers(new KeysetRequest(after, size, sortBy, sortDirection)));
+    }
+
     @Operation(summary = "Search suppliers by name")
     @GetMapping("/search")
     public ResponseEntity<List<SupplierDTO>> searchSupplier(@RequestParam String name) {
         return ResponseEntity.ok(supplierService.searchSupplierByName(name));
     }
 
+    @Operation(summary = "Typo-tolerant search of suppliers by name, best matches first")
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<List<SearchMatchDTO<SupplierDTO>>> fuzzySearchSuppliers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(supplierService.fuzzySearchSuppliers(q, limit));
+    }
+
     @Operation(summary = "Get a supplier by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id) {
+    public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id, WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, "supplier-" + id, supplierService.getSupplierStamp(id))) {
+            return null;
+        }
         SupplierDTO supplier = supplierService.getSupplierById(id);
         return ResponseEntity.ok(supplier);
     }
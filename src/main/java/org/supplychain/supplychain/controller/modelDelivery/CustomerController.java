@@ -9,12 +9,19 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.supplychain.supplychain.search.SearchMatchDTO;
+import org.supplychain.supplychain.conditional.ConditionalGet;
 import org.supplychain.supplychain.dto.modelDelivery.CustomerDto;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.response.SuccessResponse;
 import org.supplychain.supplychain.service.modelDelivery.interfaces.ICustomerService;
 import org.springframework.data.domain.Page;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/customers")
 @RequiredArgsConstructor
@@ -52,7 +59,12 @@ public class CustomerController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String filter,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
+
+        if (ConditionalGet.notModified(webRequest, "customers", customerService.getCustomersStamp())) {
+            return null;
+        }
 
         Page<CustomerDto> customers = customerService.getAllCustomers(page, size, filter);
 
@@ -66,11 +78,63 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Retrieve customers with a cursor (?after= empty for the first page), no total count")
+    @GetMapping(params = "after")
+    public ResponseEntity<SuccessResponse<CursorPageDTO<CustomerDto>>> scrollCustomers(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "idCustomer") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String filter,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+
+        if (ConditionalGet.notModified(webRequest, "customers", customerService.getCustomersStamp())) {
+            return null;
+        }
+
+        CursorPageDTO<CustomerDto> customers = customerService.scrollCustomers(
+                new KeysetRequest(after, size, sortBy, sortDirection), filter);
+
+        SuccessResponse<CursorPageDTO<CustomerDto>> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Customers retrieved successfully",
+                customers,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Typo-tolerant search of customers by name or email, best matches first")
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<SuccessResponse<List<SearchMatchDTO<CustomerDto>>>> fuzzySearchCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            HttpServletRequest request) {
+
+        List<SearchMatchDTO<CustomerDto>> matches = customerService.fuzzySearchCustomers(q, limit);
+
+        SuccessResponse<List<SearchMatchDTO<CustomerDto>>> response = SuccessResponse.of(
+                HttpStatus.OK,
+                "Customers found successfully",
+                matches,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Retrieve a customer by ID")
     @GetMapping("/{id}")
     public ResponseEntity<SuccessResponse<CustomerDto>> getCustomerById(
             @PathVariable Long id,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
+
+        if (ConditionalGet.notModified(webRequest, "customer-" + id, customerService.getCustomerStamp(id))) {
+            return null;
+        }
 
         CustomerDto customer = customerService.getCustomerById(id);
 
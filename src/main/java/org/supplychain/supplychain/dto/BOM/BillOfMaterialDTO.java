@@ -1,6 +1,8 @@
 package org.supplychain.supplychain.dto.BOM;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -14,14 +16,23 @@ public class BillOfMaterialDTO {
 
     private Long idBOM;
 
-    @NotNull(message = "L'ID de la matière première est obligatoire")
     private Long materialId;
 
     private String materialName;
     private String materialUnit;
 
+    // produit utilisé comme sous-ensemble, à la place d'une matière première
+    private Long componentId;
+
+    private String componentName;
+
     @NotNull(message = "La quantité est obligatoire")
     @Min(value = 1, message = "La quantité doit être au moins 1")
     private Integer quantity;
 
+    @JsonIgnore
+    @AssertTrue(message = "Une ligne du BOM référence soit une matière première, soit un produit composant")
+    public boolean isSingleReference() {
+        return (materialId == null) != (componentId == null);
+    }
 }
@@ -1,5 +1,8 @@
 package org.supplychain.supplychain.dto.order;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,8 +22,14 @@ public class OrderDTO {
 
     private Long id;
 
+    // assigned by the server
+    private String orderNumber;
+
+    @NotNull(message = "Customer ID is required")
     private Long customerId;
 
+    @NotEmpty(message = "An order needs at least one product")
+    @Valid
     private List<ProductOrderDTO> productOrders = new ArrayList<>();
 
 //    private BigDecimal totalAmount;
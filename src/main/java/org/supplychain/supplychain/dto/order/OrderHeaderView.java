@@ -0,0 +1,25 @@
+package org.supplychain.supplychain.dto.order;
+
+import org.supplychain.supplychain.enums.DeliveryStatus;
+import org.supplychain.supplychain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of the order listing: the order columns plus its delivery, read in a single
+ * JPQL constructor query (see {@code OrderRepository.findOrderHeaders}).
+ */
+public record OrderHeaderView(
+        Long id,
+        String orderNumber,
+        Long customerId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        Long deliveryId,
+        String deliveryAddress,
+        String driver,
+        DeliveryStatus deliveryStatus,
+        LocalDate deliveryDate,
+        BigDecimal deliveryCost) {
+}
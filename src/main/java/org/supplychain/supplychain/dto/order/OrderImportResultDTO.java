@@ -0,0 +1,31 @@
+package org.supplychain.supplychain.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.supplychain.supplychain.enums.ImportStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderImportResultDTO {
+
+    // 1-based line number in the uploaded file
+    private long line;
+
+    private ImportStatus status;
+
+    private Long orderId;
+
+    private String message;
+
+    public static OrderImportResultDTO created(long line, Long orderId) {
+        return new OrderImportResultDTO(line, ImportStatus.CREATED, orderId, null);
+    }
+
+    public static OrderImportResultDTO rejected(long line, String message) {
+        return new OrderImportResultDTO(line, ImportStatus.REJECTED, null, message);
+    }
+}
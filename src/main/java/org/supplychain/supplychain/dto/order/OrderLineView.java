@@ -0,0 +1,14 @@
+package org.supplychain.supplychain.dto.order;
+
+import java.math.BigDecimal;
+
+/**
+ * One product line of the order listing, loaded for a whole page of orders at once.
+ */
+public record OrderLineView(
+        Long orderId,
+        Long productId,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalPrice) {
+}
@@ -1,5 +1,7 @@
 package org.supplychain.supplychain.dto.order;
 
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,8 +13,13 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class ProductOrderDTO {
 
+    @Min(value = 1, message = "Product ID is required")
     private long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
     private Integer quantity;
+
     private BigDecimal unitPrice;
     private BigDecimal totalPrice;
 
@@ -0,0 +1,15 @@
+package org.supplychain.supplychain.dto.planning;
+
+/**
+ * One BOM line: either a raw material or a component product, the other id is null.
+ */
+public record BomLineView(
+        Long productId,
+        Long materialId,
+        Long componentId,
+        Integer quantity) {
+
+    public BomLineView(Long productId, Long materialId, Integer quantity) {
+        this(productId, materialId, null, quantity);
+    }
+}
@@ -0,0 +1,6 @@
+package org.supplychain.supplychain.dto.planning;
+
+public record MaterialQuantityView(
+        Long materialId,
+        Long quantity) {
+}
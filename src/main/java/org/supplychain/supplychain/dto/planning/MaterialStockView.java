@@ -0,0 +1,9 @@
+package org.supplychain.supplychain.dto.planning;
+
+public record MaterialStockView(
+        Long materialId,
+        String name,
+        String unit,
+        Integer stock,
+        Integer reservedStock) {
+}
@@ -0,0 +1,29 @@
+package org.supplychain.supplychain.dto.planning;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpLineDTO {
+
+    private Long materialId;
+
+    private String name;
+
+    private String unit;
+
+    // sum of BOM quantity x order quantity over pending production orders
+    private long grossRequirement;
+
+    // stock - reservedStock
+    private long availableStock;
+
+    // open supply order lines (EN_ATTENTE, EN_COURS)
+    private long onOrder;
+
+    // what still has to be bought: gross - available - on order, never negative
+    private long netRequirement;
+}
@@ -0,0 +1,25 @@
+package org.supplychain.supplychain.dto.planning;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MrpResultDTO {
+
+    private LocalDateTime computedAt;
+
+    private long productionOrders;
+
+    private int products;
+
+    // materials with a net requirement
+    private int shortages;
+
+    private List<MrpLineDTO> materials;
+}
@@ -0,0 +1,10 @@
+package org.supplychain.supplychain.dto.planning;
+
+/**
+ * Quantity still to produce for one product, summed over its pending production orders.
+ */
+public record ProductDemandView(
+        Long productId,
+        Long quantity,
+        Long orders) {
+}
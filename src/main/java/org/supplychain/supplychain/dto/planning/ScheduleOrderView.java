@@ -0,0 +1,19 @@
+package org.supplychain.supplychain.dto.planning;
+
+import org.supplychain.supplychain.enums.Priority;
+
+import java.time.LocalDate;
+
+/**
+ * What the scheduler needs of a production order, with the dates currently stored.
+ */
+public record ScheduleOrderView(
+        Long orderId,
+        Long productId,
+        Integer quantity,
+        Priority priority,
+        LocalDate dueDate,
+        Integer productionTime,
+        LocalDate startDate,
+        LocalDate endDate) {
+}
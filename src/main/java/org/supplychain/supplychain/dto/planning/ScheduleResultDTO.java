@@ -0,0 +1,28 @@
+package org.supplychain.supplychain.dto.planning;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleResultDTO {
+
+    private LocalDateTime computedAt;
+
+    // EN_ATTENTE orders in the schedule
+    private int orders;
+
+    private int scheduled;
+
+    // not enough material in stock, left without dates
+    private int waitingForMaterial;
+
+    // orders whose start or end date changed
+    private int updated;
+
+    private long durationMs;
+}
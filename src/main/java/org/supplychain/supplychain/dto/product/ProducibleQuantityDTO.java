@@ -0,0 +1,21 @@
+package org.supplychain.supplychain.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProducibleQuantityDTO {
+
+    private Long productId;
+    private String productName;
+
+    // null si le BOM éclaté ne contient aucune matière
+    private Long producible;
+
+    // matière qui borne la quantité
+    private Long limitingMaterialId;
+    private String limitingMaterialName;
+}
@@ -0,0 +1,20 @@
+package org.supplychain.supplychain.dto.product;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProducibleQuantityRequestDTO {
+
+    @NotEmpty(message = "La liste des produits est obligatoire")
+    @Size(max = 10000, message = "Au plus 10000 produits par requête")
+    private List<@NotNull(message = "L'ID du produit est obligatoire") Long> productIds;
+}
@@ -17,7 +17,7 @@ import java.time.LocalDate;
 public class ProductionOrderDTO {
     private Long idOrder;
 
-    @NotNull(message = "Le numéro d'ordre est obligatoire")
+    // attribué par le serveur (PO-...) s'il est absent
     private String orderNumber;
 
     @NotNull(message = "L'ID du produit est obligatoire")
@@ -36,4 +36,6 @@ public class ProductionOrderDTO {
     private LocalDate startDate;
 
     private LocalDate endDate;
+
+    private LocalDate dueDate;
 }
\ No newline at end of file
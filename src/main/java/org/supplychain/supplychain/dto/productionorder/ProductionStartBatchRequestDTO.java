@@ -0,0 +1,20 @@
+package org.supplychain.supplychain.dto.productionorder;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionStartBatchRequestDTO {
+
+    @NotEmpty(message = "La liste des ordres est obligatoire")
+    @Size(max = 1000, message = "Au plus 1000 ordres par lot")
+    private List<@NotNull(message = "L'ID de l'ordre est obligatoire") Long> orderIds;
+}
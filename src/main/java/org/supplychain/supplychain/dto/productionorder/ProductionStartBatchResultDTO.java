@@ -0,0 +1,23 @@
+package org.supplychain.supplychain.dto.productionorder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionStartBatchResultDTO {
+
+    // passés EN_PRODUCTION
+    private List<ProductionOrderDTO> started = new ArrayList<>();
+
+    // passés BLOQUE faute de matières
+    private List<ProductionStartIssueDTO> blocked = new ArrayList<>();
+
+    // introuvables ou dans un statut qui ne se démarre pas, laissés tels quels
+    private List<ProductionStartIssueDTO> rejected = new ArrayList<>();
+}
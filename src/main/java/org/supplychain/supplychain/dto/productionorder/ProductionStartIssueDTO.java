@@ -0,0 +1,18 @@
+package org.supplychain.supplychain.dto.productionorder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionStartIssueDTO {
+
+    private Long idOrder;
+
+    // absent si l'ordre n'existe pas
+    private String orderNumber;
+
+    private String reason;
+}
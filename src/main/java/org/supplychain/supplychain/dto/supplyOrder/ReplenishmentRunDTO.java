@@ -0,0 +1,32 @@
+package org.supplychain.supplychain.dto.supplyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplenishmentRunDTO {
+
+    private LocalDateTime startedAt;
+
+    private long durationMs;
+
+    // below stockMin with no pending supply order
+    private int criticalMaterials;
+
+    // critical but without any supplier, left for purchasing
+    private int unsourcedMaterials;
+
+    private int ordersCreated;
+
+    private int linesCreated;
+
+    private long unitsOrdered;
+
+    private BigDecimal totalAmount;
+}
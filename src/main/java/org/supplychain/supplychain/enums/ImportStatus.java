@@ -0,0 +1,6 @@
+package org.supplychain.supplychain.enums;
+
+public enum ImportStatus {
+    CREATED,
+    REJECTED
+}
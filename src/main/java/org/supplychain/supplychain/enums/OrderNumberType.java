@@ -0,0 +1,15 @@
+package org.supplychain.supplychain.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderNumberType {
+    SUPPLY("SO", "supply_order_number_seq"),
+    PRODUCTION("PO", "production_order_number_seq"),
+    CUSTOMER("CO", "customer_order_number_seq");
+
+    private final String prefix;
+    private final String sequenceName;
+}
@@ -0,0 +1,8 @@
+package org.supplychain.supplychain.exception;
+
+public class BomCycleException extends RuntimeException {
+
+    public BomCycleException(String message) {
+        super(message);
+    }
+}
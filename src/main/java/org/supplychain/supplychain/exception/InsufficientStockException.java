@@ -0,0 +1,12 @@
+package org.supplychain.supplychain.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    public InsufficientStockException(String resource, Long id, int requested) {
+        super(String.format("Not enough stock for %s with ID %s. Requested: %s", resource, id, requested));
+    }
+}
@@ -0,0 +1,8 @@
+package org.supplychain.supplychain.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
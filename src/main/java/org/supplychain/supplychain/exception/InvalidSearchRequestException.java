@@ -0,0 +1,8 @@
+package org.supplychain.supplychain.exception;
+
+public class InvalidSearchRequestException extends RuntimeException {
+
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
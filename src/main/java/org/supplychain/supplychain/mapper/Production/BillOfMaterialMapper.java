@@ -13,5 +13,7 @@ public interface BillOfMaterialMapper {
     @Mapping(source = "material.idMaterial", target = "materialId")
     @Mapping(source = "material.name", target = "materialName")
     @Mapping(source = "material.unitPrice", target = "materialUnit")
+    @Mapping(source = "component.id", target = "componentId")
+    @Mapping(source = "component.name", target = "componentName")
     BillOfMaterialDTO toDTO(BillOfMaterial bom);
 }
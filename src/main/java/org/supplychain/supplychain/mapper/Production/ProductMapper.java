@@ -26,6 +26,7 @@ public interface ProductMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "updatedDate", ignore = true)
     @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "stock", defaultValue = "0")
     @Mapping(target = "minimumStock", defaultValue = "0")
     Product toEntity(ProductDTO productDTO);
@@ -43,5 +44,6 @@ public interface ProductMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "updatedDate", ignore = true)
     @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDTO(ProductDTO productDTO, @MappingTarget Product product);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.supplychain.supplychain.mapper.Production;
 
 import org.mapstruct.*;
+import org.supplychain.supplychain.dto.order.OrderLineView;
 import org.supplychain.supplychain.dto.order.ProductOrderDTO;
 import org.supplychain.supplychain.model.ProductOrder;
 
@@ -10,6 +11,8 @@ public interface ProductOrderMapper {
     @Mapping(target = "productId", source = "product.id")
     ProductOrderDTO toDto(ProductOrder productOrder);
 
+    ProductOrderDTO toDto(OrderLineView line);
+
     @InheritInverseConfiguration
     @Mapping(target = "order", ignore = true)
     @Mapping(target = "product", ignore = true)
@@ -34,6 +34,7 @@ public interface RawMaterialMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "updatedDate", ignore = true)
     @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
     RawMaterial toEntity(RawMaterialRequestDTO requestDTO);
 
     @Mapping(target = "idMaterial", ignore = true)
@@ -45,6 +46,7 @@ public interface RawMaterialMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "updatedDate", ignore = true)
     @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDTO(RawMaterialRequestDTO requestDTO, @MappingTarget RawMaterial rawMaterial);
 
     @Mapping(target = "id", source = "idSupplier")
@@ -1,9 +1,15 @@
 package org.supplychain.supplychain.mapper.modelSupplier;
 
 import org.mapstruct.*;
+import org.supplychain.supplychain.dto.modelDelivery.DeliveryDto;
 import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.dto.order.OrderHeaderView;
+import org.supplychain.supplychain.dto.order.ProductOrderDTO;
+import org.supplychain.supplychain.mapper.Production.ProductOrderMapper;
 import org.supplychain.supplychain.model.Order;
 
+import java.util.List;
+
 @Mapper(
         componentModel = "spring",
         unmappedTargetPolicy = ReportingPolicy.IGNORE,
@@ -20,5 +26,16 @@ public interface OrderMapper {
     @Mapping(target = "customer", ignore = true)       // set in service
     @Mapping(target = "productOrders", ignore = true)  // set in service
     @Mapping(target = "delivery", ignore = true)
+    @Mapping(target = "orderNumber", ignore = true)     // allocated in service
     Order toEntity(OrderDTO dto);
+
+    // listing read model: same shape as toDto(Order) without touching the entity graph
+    default OrderDTO toDto(OrderHeaderView header, List<ProductOrderDTO> productOrders) {
+        DeliveryDto delivery = null;
+        if (header.deliveryId() != null) {
+            delivery = new DeliveryDto(header.deliveryId(), header.id(), header.deliveryAddress(),
+                    header.driver(), header.deliveryStatus(), header.deliveryDate(), header.deliveryCost());
+        }
+        return new OrderDTO(header.id(), header.orderNumber(), header.customerId(), productOrders, header.status(), delivery);
+    }
 }
@@ -19,7 +19,8 @@ import java.time.LocalDate;
 public class Delivery extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deliveries_seq")
+    @SequenceGenerator(name = "deliveries_seq", sequenceName = "deliveries_seq", allocationSize = 50)
     private Long idDelivery;
 
     @OneToOne(fetch = FetchType.LAZY)
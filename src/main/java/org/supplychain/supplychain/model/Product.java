@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -16,10 +18,13 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-public class Product extends BaseEntity {
+// stock changes through conditional UPDATEs, which evict the product by id (ProductStockCache)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+public class Product extends VersionedEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -44,6 +49,7 @@ public class Product extends BaseEntity {
     private String unit;
 
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-bill-of-materials")
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL)
     private List<BillOfMaterial> billOfMaterials = new ArrayList<>();
 
@@ -17,7 +17,8 @@ import java.math.BigDecimal;
 public class ProductOrder extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_orders_seq")
+    @SequenceGenerator(name = "product_orders_seq", sequenceName = "product_orders_seq", allocationSize = 50)
     private Long idProductOrder;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,7 +18,8 @@ import java.time.LocalDate;
 public class ProductionOrder extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "production_orders_seq")
+    @SequenceGenerator(name = "production_orders_seq", sequenceName = "production_orders_seq", allocationSize = 50)
     private Long idOrder;
 
     @Column(nullable = false, unique = true)
@@ -43,6 +44,9 @@ public class ProductionOrder extends BaseEntity {
 
     private LocalDate EndtDate;
 
+    // date wanted by the client; the scheduler serves earlier due dates first within a priority
+    private LocalDate dueDate;
+
 
 
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.supplychain.supplychain.model.BaseEntity;
 
 import java.math.BigDecimal;
@@ -18,10 +20,13 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-public class RawMaterial extends BaseEntity {
+// stock changes through entity updates: the cached state follows the version on commit
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "raw-materials")
+public class RawMaterial extends VersionedEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_materials_seq")
+    @SequenceGenerator(name = "raw_materials_seq", sequenceName = "raw_materials_seq", allocationSize = 50)
     private Long idMaterial;
 
     @Column(nullable = false)
@@ -46,6 +51,7 @@ public class RawMaterial extends BaseEntity {
 
     private LocalDate lastRestockDate;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "raw-material-suppliers")
     @ManyToMany
     @JoinTable(
             name = "material_suppliers",
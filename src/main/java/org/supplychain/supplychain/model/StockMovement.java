@@ -0,0 +1,34 @@
+package org.supplychain.supplychain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Journal of finished-goods stock deltas not yet applied to {@code products.stock}.
+ * Rows are written in the same transaction as the business change and deleted once applied.
+ */
+@Entity
+@Table(name = "stock_movements", indexes = @Index(name = "idx_stock_movements_product", columnList = "product_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "delta", nullable = false)
+    private Integer delta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -22,7 +22,8 @@ import java.util.List;
 public class SupplyOrder extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supply_orders_seq")
+    @SequenceGenerator(name = "supply_orders_seq", sequenceName = "supply_orders_seq", allocationSize = 50)
     private Long idOrder;
 
     @Column(nullable = false, unique = true)
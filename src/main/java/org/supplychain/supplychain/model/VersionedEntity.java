@@ -0,0 +1,22 @@
+package org.supplychain.supplychain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Audited entity with an optimistic-lock version. The version moves on every update, including
+ * changes to collections the entity owns, and together with {@code updatedDate} it validates the
+ * HTTP representations of the entity (see {@link org.supplychain.supplychain.conditional.ResourceStamp}).
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class VersionedEntity extends BaseEntity {
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,98 @@
+package org.supplychain.supplychain.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /actuator/hotpaths}: the service and repository methods that took the most time,
+ * and the endpoints that executed the most JDBC statements, since startup.
+ * <p>
+ * Built from the meters of {@link MethodMetricsAspect} and {@link RequestStatementsFilter}; the
+ * raw meters stay available under {@code /actuator/metrics}. Percentiles cover the last two minutes.
+ */
+@Component
+@Endpoint(id = "hotpaths")
+public class HotPathsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<MethodMetricsAspect> methodMetrics;
+
+    public HotPathsEndpoint(MeterRegistry meterRegistry, ObjectProvider<MethodMetricsAspect> methodMetrics) {
+        this.meterRegistry = meterRegistry;
+        this.methodMetrics = methodMetrics;
+    }
+
+    public record HotPaths(List<MethodPath> methods, List<RequestPath> requests) {
+    }
+
+    /**
+     * One method, times in microseconds.
+     */
+    public record MethodPath(String layer, String type, String method, long calls, long errors,
+                             double totalMs, double meanUs, double maxUs,
+                             double p50Us, double p95Us, double p99Us) {
+    }
+
+    public record RequestPath(String method, String uri, long requests, double totalStatements,
+                              double meanStatements, double maxStatements) {
+    }
+
+    @ReadOperation
+    public HotPaths hotPaths(@Nullable Integer limit) {
+        int top = limit == null || limit <= 0 ? DEFAULT_LIMIT : limit;
+        MethodMetricsAspect aspect = methodMetrics.getIfAvailable();
+        List<MethodPath> methods = aspect == null ? List.of() : aspect.methods().stream()
+                .map(this::methodPath)
+                .sorted(Comparator.comparingDouble(MethodPath::totalMs).reversed())
+                .limit(top)
+                .toList();
+        List<RequestPath> requests = meterRegistry.find(RequestStatementsFilter.STATEMENTS).summaries().stream()
+                .map(HotPathsEndpoint::requestPath)
+                .sorted(Comparator.comparingDouble(RequestPath::totalStatements).reversed())
+                .limit(top)
+                .toList();
+        return new HotPaths(methods, requests);
+    }
+
+    private MethodPath methodPath(MethodMetricsAspect.MethodMeters meters) {
+        HistogramSnapshot snapshot = meters.timer().takeSnapshot();
+        long errors = Math.round(meterRegistry.find(MethodMetricsAspect.ERRORS)
+                .tags("layer", meters.layer(), "class", meters.type(), "method", meters.method())
+                .counters().stream()
+                .mapToDouble(Counter::count)
+                .sum());
+        return new MethodPath(meters.layer(), meters.type(), meters.method(), snapshot.count(), errors,
+                snapshot.total(TimeUnit.MILLISECONDS),
+                snapshot.mean(TimeUnit.MICROSECONDS),
+                snapshot.max(TimeUnit.MICROSECONDS),
+                percentile(snapshot, 0.5), percentile(snapshot, 0.95), percentile(snapshot, 0.99));
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MICROSECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static RequestPath requestPath(DistributionSummary summary) {
+        return new RequestPath(summary.getId().getTag("method"), summary.getId().getTag("uri"),
+                summary.count(), summary.totalAmount(), summary.mean(), summary.max());
+    }
+}
@@ -0,0 +1,102 @@
+package org.supplychain.supplychain.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the JDBC round trips of each thread: every execute call is one, and a whole
+ * {@code executeBatch} is one.
+ * <p>
+ * The data source is wrapped so that connections and statements report their executions. The
+ * count only grows; what ran between two points is the difference of two {@link #count()}
+ * readings, so measurements can nest ({@link RequestStatementsFilter} takes one around each HTTP
+ * request, tests take theirs around a request or a service call). Statements run on other threads
+ * (parallel streams, scheduled jobs) are not attributed to the caller.
+ */
+public class JdbcStatementCounter implements BeanPostProcessor {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Statements executed on the current thread so far.
+     */
+    public static long count() {
+        return STATEMENTS.get()[0];
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                ? new CountingDataSource(dataSource)
+                : bean;
+    }
+
+    /**
+     * Hands out counting connections. Closing it closes the wrapped pool, so the context still
+     * shuts the pool down with the data source bean.
+     */
+    static final class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return proxy(Connection.class, super.getConnection(), JdbcStatementCounter::wrapStatement);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return proxy(Connection.class, super.getConnection(username, password), JdbcStatementCounter::wrapStatement);
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private static Object wrapStatement(Method method, Object result) {
+        if (!(result instanceof Statement statement)) {
+            return result;
+        }
+        return proxy(method.getReturnType(), statement, (m, r) -> {
+            if (m.getName().startsWith("execute")) {
+                STATEMENTS.get()[0]++;
+            }
+            return r;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, ResultWrapper wrapper) {
+        InvocationHandler handler = (p, method, args) -> {
+            if (method.getName().equals("equals") && args.length == 1) {
+                return p == args[0];
+            }
+            try {
+                return wrapper.wrap(method, method.invoke(target, args));
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(JdbcStatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result);
+    }
+}
@@ -0,0 +1,127 @@
+package org.supplychain.supplychain.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the {@code @Service} beans and of the Spring Data repositories.
+ * <p>
+ * Each method gets a {@value #CALLS} timer (call count, total and max time, p50/p95/p99) tagged
+ * {@code layer}, {@code class} and {@code method}, and a {@value #ERRORS} counter per exception
+ * type. Meters are resolved once per method and kept in a map keyed by the target class, so a
+ * call costs two map lookups, two {@link System#nanoTime()} and one histogram update, with no
+ * allocation. The aspect runs outermost, so transaction commit time is part of the service timings.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "monitoring.methods.enabled", havingValue = "true", matchIfMissing = true)
+public class MethodMetricsAspect {
+
+    public static final String CALLS = "supplychain.method.calls";
+    public static final String ERRORS = "supplychain.method.errors";
+
+    static final String SERVICE = "service";
+    static final String REPOSITORY = "repository";
+
+    private static final String APPLICATION_PACKAGE = "org.supplychain.supplychain.";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Meters of one method. The error counters are looked up in the registry on failure only.
+     */
+    public record MethodMeters(String layer, String type, String method, Timer timer) {
+    }
+
+    @Around("within(org.supplychain.supplychain.service..*) && @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, REPOSITORY);
+    }
+
+    /**
+     * Every method timed so far.
+     */
+    public Collection<MethodMeters> methods() {
+        return meters.values().stream()
+                .flatMap(byMethod -> byMethod.values().stream())
+                .toList();
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        MethodMeters methodMeters = metersOf(joinPoint, layer);
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            meterRegistry.counter(ERRORS,
+                    "layer", layer,
+                    "class", methodMeters.type(),
+                    "method", methodMeters.method(),
+                    "exception", ex.getClass().getSimpleName()).increment();
+            throw ex;
+        } finally {
+            methodMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodMeters metersOf(ProceedingJoinPoint joinPoint, String layer) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, MethodMeters> byMethod = meters.get(targetClass);
+        if (byMethod == null) {
+            byMethod = meters.computeIfAbsent(targetClass, c -> new ConcurrentHashMap<>());
+        }
+        MethodMeters methodMeters = byMethod.get(method);
+        if (methodMeters == null) {
+            methodMeters = byMethod.computeIfAbsent(method, m -> register(layer, typeName(targetClass, layer), m.getName()));
+        }
+        return methodMeters;
+    }
+
+    private MethodMeters register(String layer, String type, String method) {
+        Timer timer = Timer.builder(CALLS)
+                .description("Service and repository method calls")
+                .tags("layer", layer, "class", type, "method", method)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        return new MethodMeters(layer, type, method, timer);
+    }
+
+    // a repository is a JDK proxy: it is named after the application interface it implements
+    private static String typeName(Class<?> targetClass, String layer) {
+        if (REPOSITORY.equals(layer)) {
+            for (Class<?> repositoryInterface : List.of(targetClass.getInterfaces())) {
+                if (repositoryInterface.getName().startsWith(APPLICATION_PACKAGE)) {
+                    return repositoryInterface.getSimpleName();
+                }
+            }
+        }
+        return targetClass.getSimpleName();
+    }
+}
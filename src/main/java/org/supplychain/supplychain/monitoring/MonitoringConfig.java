@@ -0,0 +1,26 @@
+package org.supplychain.supplychain.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC statement counting per HTTP request, disabled with
+ * {@code monitoring.jdbc-statements.enabled=false}. Declared here rather than scanned, so that
+ * web slice tests, which pick up every {@code Filter} component, do not need a meter registry.
+ */
+@Configuration
+@ConditionalOnProperty(name = "monitoring.jdbc-statements.enabled", havingValue = "true", matchIfMissing = true)
+public class MonitoringConfig {
+
+    @Bean
+    static JdbcStatementCounter jdbcStatementCounter() {
+        return new JdbcStatementCounter();
+    }
+
+    @Bean
+    public RequestStatementsFilter requestStatementsFilter(MeterRegistry meterRegistry) {
+        return new RequestStatementsFilter(meterRegistry);
+    }
+}
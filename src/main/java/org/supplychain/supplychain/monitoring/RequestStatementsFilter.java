@@ -0,0 +1,52 @@
+package org.supplychain.supplychain.monitoring;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Tags each HTTP request with the number of JDBC statements it executed.
+ * <p>
+ * The count is added to the request's {@code http.server.requests} observation as the
+ * {@value #KEY} high-cardinality key value (traces, logs), and recorded in the {@value #STATEMENTS}
+ * summary per method and URI template, which {@code /actuator/hotpaths} ranks.
+ */
+public class RequestStatementsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS = "http.server.requests.jdbc.statements";
+    public static final String KEY = "jdbc.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatementsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long before = JdbcStatementCounter.count();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long statements = JdbcStatementCounter.count() - before;
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.addHighCardinalityKeyValue(KeyValue.of(KEY, Long.toString(statements))));
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(STATEMENTS)
+                    .description("JDBC statements executed per HTTP request")
+                    .tags("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
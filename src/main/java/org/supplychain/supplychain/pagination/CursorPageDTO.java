@@ -0,0 +1,22 @@
+package org.supplychain.supplychain.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    // pass back as ?after= to get the next page, null on the last page
+    private String nextCursor;
+
+    private boolean hasNext;
+}
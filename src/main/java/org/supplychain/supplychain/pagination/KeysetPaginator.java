@@ -0,0 +1,238 @@
+package org.supplychain.supplychain.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+import org.supplychain.supplychain.exception.InvalidPageRequestException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset (seek) paging over a {@link JpaSpecificationExecutor}.
+ * <p>
+ * Rows are ordered by the sort column then the id, and the next page is read with a
+ * {@code WHERE (col, id) > (last col, last id)} style predicate instead of an OFFSET, so every
+ * page costs the same and no {@code COUNT(*)} is issued. The cursor handed to clients is the
+ * base64url JSON of the sort and the last row's keys; values are converted back to the entity
+ * attribute types when it comes back.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    public static final int MAX_SIZE = 1000;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Reads the page after {@code request.after()}, or the first one.
+     *
+     * @param sortable the attributes clients may sort by; non-null columns only, a NULL would drop
+     *                 out of the seek predicate
+     */
+    public <E, D> CursorPageDTO<D> scroll(JpaSpecificationExecutor<E> repository,
+                                          Class<E> entityType,
+                                          Specification<E> filter,
+                                          Set<String> sortable,
+                                          KeysetRequest request,
+                                          Function<E, D> mapper) {
+        Plan plan = plan(entityType, sortable, request);
+
+        ScrollPosition position = plan.cursor().keys() == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(plan.cursor().keys());
+        Window<E> window = repository.findBy(filter == null ? (root, query, cb) -> null : filter,
+                query -> query.sortBy(plan.sort()).limit(request.size()).scroll(position));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(new Cursor(plan.cursor().sortBy(), plan.cursor().direction(), last.getKeys()));
+        }
+
+        return new CursorPageDTO<>(
+                window.getContent().stream().map(mapper).toList(),
+                window.size(),
+                nextCursor,
+                nextCursor != null
+        );
+    }
+
+    /**
+     * The same paging, reading a projection instead of entities: the seek predicate and the order
+     * are applied to {@code entityType}, the rows are built by {@code select} (joins included), and
+     * the whole page goes through {@code mapper} at once so it can load children in one query.
+     *
+     * @param sortable as in the entity variant
+     */
+    public <E, R, D> CursorPageDTO<D> scroll(Class<E> entityType,
+                                             Class<R> rowType,
+                                             BiFunction<Root<E>, CriteriaBuilder, Selection<R>> select,
+                                             Set<String> sortable,
+                                             KeysetRequest request,
+                                             Function<List<R>, List<D>> mapper) {
+        Plan plan = plan(entityType, sortable, request);
+        List<String> sortKeys = plan.sort().stream().map(Sort.Order::getProperty).toList();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        // the sort keys for the next cursor, then the row: Hibernate renders the ORDER BY as
+        // positions of these selections, which only match the SQL columns while the keys come first
+        List<Selection<?>> selections = new ArrayList<>();
+        sortKeys.forEach(key -> selections.add(root.get(key)));
+        selections.add(select.apply(root, cb));
+        query.multiselect(selections);
+        if (plan.cursor().keys() != null) {
+            query.where(seek(cb, root, sortKeys, plan.cursor().keys(), plan.cursor().direction()));
+        }
+        query.orderBy(sortKeys.stream()
+                .map(key -> plan.cursor().direction().isAscending() ? cb.asc(root.get(key)) : cb.desc(root.get(key)))
+                .toList());
+
+        // one extra row tells whether there is a next page
+        List<Tuple> tuples = entityManager.createQuery(query).setMaxResults(request.size() + 1).getResultList();
+        boolean hasNext = tuples.size() > request.size();
+        List<Tuple> page = hasNext ? tuples.subList(0, request.size()) : tuples;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Tuple last = page.get(page.size() - 1);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < sortKeys.size(); i++) {
+                keys.put(sortKeys.get(i), last.get(i));
+            }
+            nextCursor = encode(new Cursor(plan.cursor().sortBy(), plan.cursor().direction(), keys));
+        }
+
+        List<R> rows = page.stream().map(tuple -> tuple.get(sortKeys.size(), rowType)).toList();
+        return new CursorPageDTO<>(
+                rows.isEmpty() ? List.of() : mapper.apply(rows),
+                rows.size(),
+                nextCursor,
+                nextCursor != null
+        );
+    }
+
+    private <E> Plan plan(Class<E> entityType, Set<String> sortable, KeysetRequest request) {
+        if (request.size() < 1 || request.size() > MAX_SIZE) {
+            throw new InvalidPageRequestException("Page size must be between 1 and " + MAX_SIZE);
+        }
+
+        EntityType<E> entity = entityManager.getMetamodel().entity(entityType);
+        String idName = entity.getId(entity.getIdType().getJavaType()).getName();
+
+        Cursor cursor = request.after() == null || request.after().isBlank()
+                ? new Cursor(request.sortBy(), direction(request.sortDirection()), null)
+                : decode(request.after(), entity);
+
+        if (!sortable.contains(cursor.sortBy())) {
+            throw new InvalidPageRequestException("Cannot sort by '" + cursor.sortBy() + "', allowed: " + sortable);
+        }
+
+        // the id breaks ties, in the same direction so one composite index serves the whole scan
+        Sort sort = cursor.sortBy().equals(idName)
+                ? Sort.by(cursor.direction(), idName)
+                : Sort.by(cursor.direction(), cursor.sortBy(), idName);
+        Set<String> sortKeys = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (cursor.keys() != null && !cursor.keys().keySet().equals(sortKeys)) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+        return new Plan(cursor, sort);
+    }
+
+    // (k1, k2) > (v1, v2) written out as k1 > v1 OR (k1 = v1 AND k2 > v2), which every database plans
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, Root<?> root, List<String> sortKeys,
+                                  Map<String, Object> keys, Sort.Direction direction) {
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < sortKeys.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                conjunction.add(cb.equal(root.get(sortKeys.get(j)), keys.get(sortKeys.get(j))));
+            }
+            Expression<Comparable> path = root.get(sortKeys.get(i));
+            Comparable value = (Comparable) keys.get(sortKeys.get(i));
+            conjunction.add(direction.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+            alternatives.add(cb.and(conjunction.toArray(Predicate[]::new)));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private Sort.Direction direction(String sortDirection) {
+        return "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    private String encode(Cursor cursor) {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("s", cursor.sortBy());
+        json.put("d", cursor.direction().name());
+        json.set("k", objectMapper.valueToTree(cursor.keys()));
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot encode cursor", ex);
+        }
+    }
+
+    private Cursor decode(String after, EntityType<?> entity) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(after);
+            JsonNode json = objectMapper.reader()
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .readTree(new String(bytes, StandardCharsets.UTF_8));
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = json.get("k").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                Class<?> type = entity.getSingularAttribute(field.getKey()).getJavaType();
+                keys.put(field.getKey(), objectMapper.treeToValue(field.getValue(), type));
+            }
+            return new Cursor(json.get("s").asText(), Sort.Direction.valueOf(json.get("d").asText()), keys);
+        } catch (IOException | RuntimeException ex) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(String sortBy, Sort.Direction direction, Map<String, Object> keys) {
+    }
+
+    private record Plan(Cursor cursor, Sort sort) {
+    }
+}
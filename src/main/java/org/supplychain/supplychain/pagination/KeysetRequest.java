@@ -0,0 +1,8 @@
+package org.supplychain.supplychain.pagination;
+
+/**
+ * Cursor-mode list request. An empty {@code after} asks for the first page; a cursor carries its
+ * own sort, so {@code sortBy} and {@code sortDirection} only matter on the first page.
+ */
+public record KeysetRequest(String after, int size, String sortBy, String sortDirection) {
+}
@@ -2,9 +2,14 @@ package org.supplychain.supplychain.repository.Production;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.supplychain.supplychain.conditional.ResourceStamp;
+import org.supplychain.supplychain.dto.planning.BomLineView;
 import org.supplychain.supplychain.model.BillOfMaterial;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,5 +17,25 @@ public interface BillOfMaterialRepository extends JpaRepository<BillOfMaterial,
 
     List<BillOfMaterial> findByProductId(Long productId);
 
-    void deleteByProductId(Long productId);
+    long countByComponentId(Long componentId);
+
+    @Query("SELECT DISTINCT b.component.id FROM BillOfMaterial b " +
+            "WHERE b.product.id IN :productIds AND b.component IS NOT NULL")
+    List<Long> findComponentIdsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.BomLineView(" +
+            "b.product.id, b.material.idMaterial, b.component.id, b.quantity) " +
+            "FROM BillOfMaterial b WHERE b.product.id = :productId")
+    List<BomLineView> findLinesByProductId(@Param("productId") Long productId);
+
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.BomLineView(" +
+            "b.product.id, b.material.idMaterial, b.component.id, b.quantity) " +
+            "FROM BillOfMaterial b WHERE b.product.id IN :productIds")
+    List<BomLineView> findLinesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // a line references either a material or a component, never both
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(b), COALESCE(SUM(COALESCE(m.version, c.version)), 0L), " +
+            "MAX(COALESCE(m.updatedDate, c.updatedDate))) " +
+            "FROM BillOfMaterial b LEFT JOIN b.material m LEFT JOIN b.component c WHERE b.product.id = :productId")
+    ResourceStamp findReferencesStampByProductId(@Param("productId") Long productId);
 }
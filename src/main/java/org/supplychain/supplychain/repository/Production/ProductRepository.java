@@ -1,12 +1,17 @@
 package org.supplychain.supplychain.repository.Production;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.enums.OrderStatus;
 import org.supplychain.supplychain.enums.ProductionOrderStatus;
 import org.supplychain.supplychain.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,11 +20,20 @@ import java.util.Optional;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    Optional<Product> findByName(String name);
+    String STOCK_SPACE = "product_stock";
 
+    Optional<Product> findByName(String name);
 
     boolean existsByNameAndIdNot(String name, Long idProduct);
 
+    // BOM lines with their material or component: diffing and mapping the BOM reads nothing more
+    @Query("SELECT DISTINCT p FROM Product p " +
+            "LEFT JOIN FETCH p.billOfMaterials b " +
+            "LEFT JOIN FETCH b.material " +
+            "LEFT JOIN FETCH b.component " +
+            "WHERE p.id = :id")
+    Optional<Product> findByIdWithBillOfMaterials(@Param("id") Long id);
+
     @Query("SELECT COUNT(po) FROM ProductionOrder po WHERE po.product.id = :productId")
     Long countProductionOrdersByProductId(@Param("productId") Long productId);
 
@@ -31,7 +45,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT COUNT(op) FROM ProductOrder op JOIN op.order o WHERE op.product.id = :productId AND o.status = :status")
     Long countOrdersByProductIdAndStatus(@Param("productId") Long productId, @Param("status") OrderStatus status);
 
+    /**
+     * Deducts stock only if enough is left; returns 0 when the row was not updated. Bulk updates
+     * bypass auditing and versioning, so both are moved here to keep conditional GETs correct.
+     * <p>
+     * Native and synchronized on {@value #STOCK_SPACE}, which no entity maps to: a JPQL update
+     * would evict every cached product, callers evict the changed one by id (ProductStockCache).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE products SET stock = stock - :quantity, version = version + 1, updated_date = LOCALTIMESTAMP " +
+            "WHERE id = :productId AND stock >= :quantity", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STOCK_SPACE))
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
 
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE products SET stock = stock + :quantity, version = version + 1, updated_date = LOCALTIMESTAMP " +
+            "WHERE id = :productId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STOCK_SPACE))
+    int incrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
 
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(p), COALESCE(SUM(p.version), 0L), MAX(p.updatedDate)) " +
+            "FROM Product p WHERE p.id = :id")
+    ResourceStamp findStampById(@Param("id") Long id);
 
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(p), COALESCE(SUM(p.version), 0L), MAX(p.updatedDate)) " +
+            "FROM Product p")
+    ResourceStamp findTableStamp();
 }
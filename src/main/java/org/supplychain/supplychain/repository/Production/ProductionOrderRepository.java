@@ -1,18 +1,26 @@
 package org.supplychain.supplychain.repository.Production;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import org.springframework.stereotype.Repository;
+import org.supplychain.supplychain.dto.planning.ProductDemandView;
+import org.supplychain.supplychain.dto.planning.ScheduleOrderView;
 import org.supplychain.supplychain.enums.ProductionOrderStatus;
 import org.supplychain.supplychain.model.ProductionOrder;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductionOrderRepository extends JpaRepository<ProductionOrder, Long> {
+public interface ProductionOrderRepository extends JpaRepository<ProductionOrder, Long>, JpaSpecificationExecutor<ProductionOrder> {
 
 
     boolean existsByOrderNumber(String orderNumber);
@@ -21,4 +29,31 @@ public interface ProductionOrderRepository extends JpaRepository<ProductionOrder
 
 
     Page<ProductionOrder> findByStatus(ProductionOrderStatus status, Pageable pageable);
+
+    // order rows only, never the product: production starts lock orders then materials, both in id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM ProductionOrder po WHERE po.idOrder = :id")
+    Optional<ProductionOrder> lockById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM ProductionOrder po WHERE po.idOrder IN :ids ORDER BY po.idOrder")
+    List<ProductionOrder> lockAllByIdOrdered(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.ProductDemandView(" +
+            "po.product.id, SUM(po.quantity), COUNT(po)) " +
+            "FROM ProductionOrder po WHERE po.status IN :statuses " +
+            "GROUP BY po.product.id ORDER BY po.product.id")
+    List<ProductDemandView> sumQuantityByProduct(@Param("statuses") Collection<ProductionOrderStatus> statuses);
+
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.ScheduleOrderView(" +
+            "po.idOrder, po.product.id, po.quantity, po.priority, po.dueDate, po.product.productionTime, " +
+            "po.StartDate, po.EndtDate) " +
+            "FROM ProductionOrder po WHERE po.status = :status")
+    List<ScheduleOrderView> findScheduleViews(@Param("status") ProductionOrderStatus status);
+
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.ScheduleOrderView(" +
+            "po.idOrder, po.product.id, po.quantity, po.priority, po.dueDate, po.product.productionTime, " +
+            "po.StartDate, po.EndtDate) " +
+            "FROM ProductionOrder po WHERE po.idOrder = :id AND po.status = :status")
+    Optional<ScheduleOrderView> findScheduleView(@Param("id") Long id, @Param("status") ProductionOrderStatus status);
 }
\ No newline at end of file
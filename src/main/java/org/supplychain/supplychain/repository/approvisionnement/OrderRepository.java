@@ -1,10 +1,33 @@
 package org.supplychain.supplychain.repository.approvisionnement;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.supplychain.supplychain.dto.order.OrderHeaderView;
+import org.supplychain.supplychain.dto.order.OrderLineView;
 import org.supplychain.supplychain.model.Order;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+
+    // customer id is read from the FK column, no join to customers
+    @Query(value = "SELECT new org.supplychain.supplychain.dto.order.OrderHeaderView(" +
+            "o.idOrder, o.orderNumber, o.customer.idCustomer, o.status, o.totalAmount, " +
+            "d.idDelivery, d.deliveryAddress, d.driver, d.status, d.DeliveryDate, d.deliveryCost) " +
+            "FROM Order o LEFT JOIN o.delivery d",
+            countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderHeaderView> findOrderHeaders(Pageable pageable);
 
+    @Query("SELECT new org.supplychain.supplychain.dto.order.OrderLineView(" +
+            "po.order.idOrder, po.product.id, po.quantity, po.unitPrice, po.totalPrice) " +
+            "FROM ProductOrder po WHERE po.order.idOrder IN :orderIds " +
+            "ORDER BY po.order.idOrder, po.idProductOrder")
+    List<OrderLineView> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -1,19 +1,25 @@
 package org.supplychain.supplychain.repository.approvisionnement;
 
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.supplychain.supplychain.conditional.ResourceStamp;
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
 import org.supplychain.supplychain.model.RawMaterial;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long> {
+public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>, JpaSpecificationExecutor<RawMaterial> {
 
     Page<RawMaterial> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
@@ -52,14 +58,38 @@ public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long>
             "WHERE s.idSupplier = :supplierId")
     List<RawMaterial> findMaterialsBySupplier(@Param("supplierId") Long supplierId);
 
-    @Query(value = "SELECT rm.* FROM raw_materials rm " +
-            "WHERE rm.stock < rm.stock_min " +
-            "AND rm.id_material NOT IN (" +
-            "   SELECT sol.raw_material_id FROM supply_order_lines sol " +
-            "   JOIN supply_orders so ON sol.supply_order_id = so.id_order " +
-            "   WHERE so.status = 'EN_ATTENTE' OR so.status = 'EN_COURS'" +
-            ")",
-            nativeQuery = true)
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.MaterialStockView(" +
+            "rm.idMaterial, rm.name, rm.unit, rm.stock, rm.reservedStock) " +
+            "FROM RawMaterial rm ORDER BY rm.idMaterial")
+    List<MaterialStockView> findAllStock();
+
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.MaterialStockView(" +
+            "rm.idMaterial, rm.name, rm.unit, rm.stock, rm.reservedStock) " +
+            "FROM RawMaterial rm WHERE rm.idMaterial IN :ids ORDER BY rm.idMaterial")
+    List<MaterialStockView> findStockByIds(@Param("ids") Collection<Long> ids);
+
+    // suppliers fetched in the same query: the replenishment run reads them for every material
+    @Query("SELECT DISTINCT rm FROM RawMaterial rm " +
+            "LEFT JOIN FETCH rm.suppliers " +
+            "WHERE rm.stock < rm.stockMin " +
+            "AND NOT EXISTS (SELECT sol FROM SupplyOrderLine sol WHERE sol.rawMaterial = rm " +
+            "AND sol.supplyOrder.status IN ('EN_ATTENTE', 'EN_COURS'))")
     List<RawMaterial> findCriticalMaterialsWithoutPendingOrders();
-}
 
+    // SELECT ... FOR UPDATE in id order: concurrent production starts sharing materials queue, never deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rm FROM RawMaterial rm WHERE rm.idMaterial IN :ids ORDER BY rm.idMaterial")
+    List<RawMaterial> lockAllByIdOrdered(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(rm), COALESCE(SUM(rm.version), 0L), MAX(rm.updatedDate)) " +
+            "FROM RawMaterial rm WHERE rm.idMaterial = :id")
+    ResourceStamp findStampById(@Param("id") Long id);
+
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(s), COALESCE(SUM(s.version), 0L), MAX(s.updatedDate)) " +
+            "FROM RawMaterial rm JOIN rm.suppliers s WHERE rm.idMaterial = :id")
+    ResourceStamp findSuppliersStampById(@Param("id") Long id);
+
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(rm), COALESCE(SUM(rm.version), 0L), MAX(rm.updatedDate)) " +
+            "FROM RawMaterial rm")
+    ResourceStamp findTableStamp();
+}
@@ -1,12 +1,29 @@
 package org.supplychain.supplychain.repository.approvisionnement;
 
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.model.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+public interface SupplierRepository extends JpaRepository<Supplier, Long>, JpaSpecificationExecutor<Supplier> {
     List<Supplier> findByNameContainingIgnoreCase(String name);
     boolean existsByEmail(String email);
+
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(s), COALESCE(SUM(s.version), 0L), MAX(s.updatedDate)) " +
+            "FROM Supplier s WHERE s.idSupplier = :id")
+    ResourceStamp findStampById(@Param("id") Long id);
+
+    // the material side owns the link, adding or removing one moves the material's version
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(m), COALESCE(SUM(m.version), 0L), MAX(m.updatedDate)) " +
+            "FROM Supplier s JOIN s.materials m WHERE s.idSupplier = :id")
+    ResourceStamp findMaterialsStampById(@Param("id") Long id);
+
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(s), COALESCE(SUM(s.version), 0L), MAX(s.updatedDate)) " +
+            "FROM Supplier s")
+    ResourceStamp findTableStamp();
 }
@@ -2,10 +2,19 @@ package org.supplychain.supplychain.repository.approvisionnement;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.supplychain.supplychain.dto.planning.MaterialQuantityView;
 import org.supplychain.supplychain.model.SupplyOrderLine;
 
+import java.util.List;
+
 @Repository
 public interface SupplyOrderLineRepository extends JpaRepository<SupplyOrderLine, Long>{
 
+    @Query("SELECT new org.supplychain.supplychain.dto.planning.MaterialQuantityView(" +
+            "sol.rawMaterial.idMaterial, SUM(sol.quantity)) " +
+            "FROM SupplyOrderLine sol WHERE sol.supplyOrder.status IN ('EN_ATTENTE', 'EN_COURS') " +
+            "GROUP BY sol.rawMaterial.idMaterial")
+    List<MaterialQuantityView> sumOpenQuantityByMaterial();
 }
@@ -4,13 +4,25 @@ package org.supplychain.supplychain.repository.modelDelivery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.model.Customer;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long>{
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer> {
     boolean existsByEmail(String email);
 
     Page<Customer> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(String name, String email, Pageable pageable);
 
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(c), COALESCE(SUM(c.version), 0L), MAX(c.updatedDate)) " +
+            "FROM Customer c WHERE c.idCustomer = :id")
+    ResourceStamp findStampById(@Param("id") Long id);
+
+    @Query("SELECT new org.supplychain.supplychain.conditional.ResourceStamp(COUNT(c), COALESCE(SUM(c.version), 0L), MAX(c.updatedDate)) " +
+            "FROM Customer c")
+    ResourceStamp findTableStamp();
+
 }
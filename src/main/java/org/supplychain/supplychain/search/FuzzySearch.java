@@ -0,0 +1,59 @@
+package org.supplychain.supplychain.search;
+
+import org.supplychain.supplychain.exception.InvalidSearchRequestException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Typo-tolerant, ranked search over names, based on trigram similarity.
+ * <p>
+ * {@link TrigramFuzzySearch} queries PostgreSQL through {@code pg_trgm} GIN indexes;
+ * {@link NgramFuzzySearch} keeps an in-memory trigram index for databases without the extension
+ * (the H2 test profile). Pick one with {@code search.fuzzy.engine=trigram|ngram}.
+ */
+public interface FuzzySearch {
+
+    int MAX_LIMIT = 100;
+
+    int MAX_QUERY_LENGTH = 100;
+
+    /**
+     * @return at most {@code limit} hits, best first, ties by id
+     * @throws InvalidSearchRequestException on a blank or oversized query or an out-of-range limit
+     */
+    List<SearchHit> search(SearchTarget target, String query, int limit);
+
+    /**
+     * Validates the request and returns the query trimmed and lower-cased.
+     */
+    static String normalize(String query, int limit) {
+        String normalized = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || normalized.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidSearchRequestException("Search query must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidSearchRequestException("Search limit must be between 1 and " + MAX_LIMIT);
+        }
+        return normalized;
+    }
+
+    /**
+     * Pairs hits with their loaded entities, in hit order. A hit whose entity is gone since the
+     * search is dropped.
+     */
+    static <E, D> List<SearchMatchDTO<D>> matches(List<SearchHit> hits,
+                                                  Iterable<E> entities,
+                                                  Function<E, Long> id,
+                                                  Function<E, D> mapper) {
+        Map<Long, E> byId = new HashMap<>();
+        entities.forEach(entity -> byId.put(id.apply(entity), entity));
+        return hits.stream()
+                .filter(hit -> byId.containsKey(hit.id()))
+                .map(hit -> new SearchMatchDTO<>(mapper.apply(byId.get(hit.id())), hit.similarity()))
+                .toList();
+    }
+}
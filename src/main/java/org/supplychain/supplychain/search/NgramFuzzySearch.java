@@ -0,0 +1,83 @@
+package org.supplychain.supplychain.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.supplychain.supplychain.conditional.ResourceStamp;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fuzzy search without {@code pg_trgm}: one {@link NgramIndex} per table, held in memory.
+ * <p>
+ * Every search reads the table's {@link ResourceStamp} (one aggregate query) and rebuilds the
+ * index when an insert, update or delete moved it, so results are never staler than the table.
+ * Meant for H2 and small tables; enabled with {@code search.fuzzy.engine=ngram}.
+ */
+@Component
+@ConditionalOnProperty(name = "search.fuzzy.engine", havingValue = "ngram")
+public class NgramFuzzySearch implements FuzzySearch {
+
+    private final RawMaterialRepository rawMaterialRepository;
+    private final SupplierRepository supplierRepository;
+    private final CustomerRepository customerRepository;
+    private final double threshold;
+    private final Map<SearchTarget, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public NgramFuzzySearch(RawMaterialRepository rawMaterialRepository,
+                            SupplierRepository supplierRepository,
+                            CustomerRepository customerRepository,
+                            @Value("${search.fuzzy.threshold:0.4}") double threshold) {
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.supplierRepository = supplierRepository;
+        this.customerRepository = customerRepository;
+        this.threshold = threshold;
+    }
+
+    private record Snapshot(ResourceStamp stamp, NgramIndex index) {
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchHit> search(SearchTarget target, String query, int limit) {
+        String q = FuzzySearch.normalize(query, limit);
+        ResourceStamp stamp = switch (target) {
+            case RAW_MATERIALS -> rawMaterialRepository.findTableStamp();
+            case SUPPLIERS -> supplierRepository.findTableStamp();
+            case CUSTOMERS -> customerRepository.findTableStamp();
+        };
+        Snapshot snapshot = snapshots.get(target);
+        if (snapshot == null || !snapshot.stamp().equals(stamp)) {
+            snapshot = new Snapshot(stamp, NgramIndex.build(load(target)));
+            snapshots.put(target, snapshot);
+        }
+        return snapshot.index().search(q, threshold, limit);
+    }
+
+    private List<NgramIndex.Entry> load(SearchTarget target) {
+        String jpql = switch (target) {
+            case RAW_MATERIALS -> "SELECT rm.idMaterial, rm.name FROM RawMaterial rm";
+            case SUPPLIERS -> "SELECT s.idSupplier, s.name FROM Supplier s";
+            case CUSTOMERS -> "SELECT c.idCustomer, c.name, c.email FROM Customer c";
+        };
+        List<NgramIndex.Entry> entries = new ArrayList<>();
+        for (Object[] row : entityManager.createQuery(jpql, Object[].class).getResultList()) {
+            for (int field = 1; field < row.length; field++) {
+                entries.add(new NgramIndex.Entry((Long) row[0], (String) row[field]));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,108 @@
+package org.supplychain.supplychain.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory trigram index, the counterpart of a {@code pg_trgm} GIN index.
+ * <p>
+ * Texts are split into words, each word padded with two leading blanks and one trailing blank
+ * and cut into trigrams, as {@code pg_trgm} does. A posting list per trigram gives, for a query,
+ * how many of its trigrams each text contains; that share is the similarity, an upper bound of
+ * PostgreSQL's {@code word_similarity}. A missing or swapped letter only spoils the trigrams
+ * around it, so typos still score well.
+ */
+public final class NgramIndex {
+
+    private static final Comparator<SearchHit> RANKING =
+            Comparator.comparingDouble(SearchHit::similarity).reversed().thenComparingLong(SearchHit::id);
+
+    private final long[] ids;
+    private final Map<String, int[]> postings;
+
+    private NgramIndex(long[] ids, Map<String, int[]> postings) {
+        this.ids = ids;
+        this.postings = postings;
+    }
+
+    /**
+     * One searchable text of an entity; an entity with several fields gives several entries.
+     */
+    public record Entry(long id, String text) {
+    }
+
+    public static NgramIndex build(List<Entry> entries) {
+        long[] ids = new long[entries.size()];
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int doc = 0; doc < entries.size(); doc++) {
+            ids[doc] = entries.get(doc).id();
+            for (String trigram : trigrams(entries.get(doc).text())) {
+                lists.computeIfAbsent(trigram, t -> new ArrayList<>()).add(doc);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((trigram, docs) -> postings.put(trigram, docs.stream().mapToInt(Integer::intValue).toArray()));
+        return new NgramIndex(ids, postings);
+    }
+
+    /**
+     * @return hits reaching {@code threshold}, best first, ties by id; an entity matched through
+     * several texts keeps its best one
+     */
+    public List<SearchHit> search(String query, double threshold, int limit) {
+        Set<String> wanted = trigrams(query);
+        if (wanted.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : wanted) {
+            int[] docs = postings.get(trigram);
+            if (docs != null) {
+                for (int doc : docs) {
+                    shared.merge(doc, 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<Long, Double> best = new LinkedHashMap<>();
+        shared.forEach((doc, count) -> {
+            double similarity = (double) count / wanted.size();
+            if (similarity >= threshold) {
+                best.merge(ids[doc], similarity, Math::max);
+            }
+        });
+        return best.entrySet().stream()
+                .map(e -> new SearchHit(e.getKey(), e.getValue()))
+                .sorted(RANKING)
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
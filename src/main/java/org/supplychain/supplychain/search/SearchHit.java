@@ -0,0 +1,7 @@
+package org.supplychain.supplychain.search;
+
+/**
+ * One ranked match: the entity id and how much of the query it contains, between 0 and 1.
+ */
+public record SearchHit(long id, double similarity) {
+}
@@ -0,0 +1,16 @@
+package org.supplychain.supplychain.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchMatchDTO<T> {
+
+    private T item;
+
+    // share of the query's trigrams found in the item, 1.0 for an exact word
+    private double similarity;
+}
@@ -0,0 +1,10 @@
+package org.supplychain.supplychain.search;
+
+/**
+ * Tables covered by fuzzy search: material and supplier names, customer names and emails.
+ */
+public enum SearchTarget {
+    RAW_MATERIALS,
+    SUPPLIERS,
+    CUSTOMERS
+}
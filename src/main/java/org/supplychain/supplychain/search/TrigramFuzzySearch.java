@@ -0,0 +1,62 @@
+package org.supplychain.supplychain.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Fuzzy search on PostgreSQL with {@code pg_trgm}.
+ * <p>
+ * {@code query <% column} keeps rows whose {@code word_similarity} with the query reaches
+ * {@code pg_trgm.word_similarity_threshold}, and is answered by the GIN {@code gin_trgm_ops}
+ * indexes of changelog 005 instead of a sequential scan. The threshold is set with
+ * {@code set_config(..., true)}, so it only lasts for the current transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "search.fuzzy.engine", havingValue = "trigram", matchIfMissing = true)
+public class TrigramFuzzySearch implements FuzzySearch {
+
+    static final String SET_THRESHOLD = "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)";
+
+    static final String RAW_MATERIALS = "SELECT id_material, word_similarity(?, name) AS score " +
+            "FROM raw_materials WHERE ? <% name ORDER BY score DESC, id_material LIMIT ?";
+
+    static final String SUPPLIERS = "SELECT id_supplier, word_similarity(?, name) AS score " +
+            "FROM suppliers WHERE ? <% name ORDER BY score DESC, id_supplier LIMIT ?";
+
+    // each OR branch uses its own index, combined by a bitmap OR
+    static final String CUSTOMERS = "SELECT id_customer, " +
+            "GREATEST(word_similarity(?, name), word_similarity(?, email)) AS score " +
+            "FROM customers WHERE ? <% name OR ? <% email ORDER BY score DESC, id_customer LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double threshold;
+
+    public TrigramFuzzySearch(JdbcTemplate jdbcTemplate,
+                              @Value("${search.fuzzy.threshold:0.4}") double threshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchHit> search(SearchTarget target, String query, int limit) {
+        String q = FuzzySearch.normalize(query, limit);
+        jdbcTemplate.queryForObject(SET_THRESHOLD, String.class, Double.toString(threshold));
+        return switch (target) {
+            case RAW_MATERIALS -> jdbcTemplate.query(RAW_MATERIALS, this::hit, q, q, limit);
+            case SUPPLIERS -> jdbcTemplate.query(SUPPLIERS, this::hit, q, q, limit);
+            case CUSTOMERS -> jdbcTemplate.query(CUSTOMERS, this::hit, q, q, q, q, limit);
+        };
+    }
+
+    private SearchHit hit(ResultSet rs, int rowNum) throws SQLException {
+        return new SearchHit(rs.getLong(1), rs.getDouble(2));
+    }
+}
@@ -0,0 +1,52 @@
+package org.supplychain.supplychain.seed;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Multi-row JDBC batch inserts, for databases without {@code COPY} (H2).
+ */
+final class BatchRowSink implements RowSink {
+
+    private final PreparedStatement insert;
+    private final int batchSize;
+    private int pending;
+    private long rows;
+
+    BatchRowSink(Connection connection, SeedSchema.Table table, int batchSize) throws SQLException {
+        this.insert = connection.prepareStatement(table.insertSql());
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            insert.setObject(i + 1, value instanceof Enum<?> constant ? constant.name() : value);
+        }
+        insert.addBatch();
+        rows++;
+        if (++pending == batchSize) {
+            insert.executeBatch();
+            pending = 0;
+        }
+    }
+
+    @Override
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (pending > 0) {
+                insert.executeBatch();
+                pending = 0;
+            }
+        } finally {
+            insert.close();
+        }
+    }
+}
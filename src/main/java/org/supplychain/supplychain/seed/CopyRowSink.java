@@ -0,0 +1,86 @@
+package org.supplychain.supplychain.seed;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL {@code COPY ... FROM STDIN (FORMAT csv)}: rows are formatted as CSV into a buffer
+ * and streamed to the server about every megabyte, without per-row statements or parameters.
+ */
+final class CopyRowSink implements RowSink {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private final CopyIn copy;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+    private long rows;
+
+    CopyRowSink(Connection connection, SeedSchema.Table table) throws SQLException {
+        this.copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(table.copySql());
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            append(values[i]);
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    // CSV: an unquoted empty field is NULL, so empty strings and anything with a separator are quoted
+    private void append(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            buffer.append(decimal.toPlainString());
+        } else if (value instanceof Enum<?> constant) {
+            buffer.append(constant.name());
+        } else if (value instanceof String text) {
+            if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                    || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                buffer.append(text);
+            }
+        } else {
+            // numbers, LocalDate, LocalDateTime (ISO-8601, accepted by PostgreSQL)
+            buffer.append(value);
+        }
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @Override
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.supplychain.supplychain.seed;
+
+import java.sql.SQLException;
+
+/**
+ * Destination of the generated rows of one table, on one connection. Values are given in the
+ * column order of the {@link SeedSchema.Table} the sink was opened for; {@code null} is SQL NULL.
+ */
+interface RowSink extends AutoCloseable {
+
+    void row(Object... values) throws SQLException;
+
+    /**
+     * Rows written so far.
+     */
+    long rows();
+
+    /**
+     * Sends the buffered rows; the caller commits.
+     */
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,112 @@
+package org.supplychain.supplychain.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Delivery;
+import org.supplychain.supplychain.model.Order;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductOrder;
+import org.supplychain.supplychain.model.ProductionOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.model.SupplyOrder;
+import org.supplychain.supplychain.model.SupplyOrderLine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tables and columns written by the generator, named by Hibernate's mapping: the physical naming
+ * strategy differs between profiles ({@code id_material} on PostgreSQL, {@code idMaterial} in the
+ * H2 test database), so nothing is hard-coded but the join table of {@code RawMaterial.suppliers}.
+ */
+final class SeedSchema {
+
+    private static final String[] AUDIT = {"createdDate", "updatedDate"};
+
+    /**
+     * One table and its insert columns, the id column first.
+     *
+     * @param sequence {@code null} for the join table
+     */
+    record Table(String name, List<String> columns, String sequence) {
+
+        String idColumn() {
+            return columns.get(0);
+        }
+
+        String insertSql() {
+            return "INSERT INTO " + name + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        }
+
+        String copySql() {
+            return "COPY " + name + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        }
+    }
+
+    final Table suppliers;
+    final Table rawMaterials;
+    final Table materialSuppliers;
+    final Table products;
+    final Table billOfMaterials;
+    final Table customers;
+    final Table orders;
+    final Table productOrders;
+    final Table supplyOrders;
+    final Table supplyOrderLines;
+    final Table productionOrders;
+    final Table deliveries;
+
+    SeedSchema(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Resolver resolver = new Resolver(sessionFactory);
+
+        suppliers = resolver.table(Supplier.class,
+                "name", "contact", "email", "phone", "rating", "leadTime", "version");
+        rawMaterials = resolver.table(RawMaterial.class,
+                "name", "description", "stock", "reservedStock", "stockMin", "unitPrice", "unit",
+                "lastRestockDate", "version");
+        materialSuppliers = new Table("material_suppliers", List.of("material_id", "supplier_id"), null);
+        products = resolver.table(Product.class,
+                "name", "description", "productionTime", "cost", "stock", "minimumStock", "unit", "version");
+        billOfMaterials = resolver.table(BillOfMaterial.class, "product", "material", "component", "quantity");
+        customers = resolver.table(Customer.class, "name", "email", "phone", "address", "version");
+        orders = resolver.table(Order.class, "orderNumber", "customer", "totalAmount", "status");
+        productOrders = resolver.table(ProductOrder.class, "order", "product", "quantity", "unitPrice", "totalPrice");
+        supplyOrders = resolver.table(SupplyOrder.class, "orderNumber", "supplier", "orderDate", "status", "totalAmount");
+        supplyOrderLines = resolver.table(SupplyOrderLine.class, "supplyOrder", "rawMaterial", "quantity", "unitPrice");
+        productionOrders = resolver.table(ProductionOrder.class,
+                "orderNumber", "product", "quantity", "status", "priority", "StartDate", "EndtDate", "dueDate");
+        deliveries = resolver.table(Delivery.class,
+                "order", "deliveryAddress", "driver", "status", "DeliveryDate", "deliveryCost");
+    }
+
+    List<Table> sequenced() {
+        return List.of(suppliers, rawMaterials, products, billOfMaterials, customers, orders, productOrders,
+                supplyOrders, supplyOrderLines, productionOrders, deliveries);
+    }
+
+    private record Resolver(SessionFactoryImplementor sessionFactory) {
+
+        // id, the given attributes, then created / updated dates
+        Table table(Class<?> entity, String... attributes) {
+            AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel()
+                    .getEntityDescriptor(entity);
+            List<String> columns = new ArrayList<>();
+            columns.add(persister.getIdentifierColumnNames()[0]);
+            for (String attribute : attributes) {
+                columns.add(persister.getPropertyColumnNames(attribute)[0]);
+            }
+            for (String attribute : AUDIT) {
+                columns.add(persister.getPropertyColumnNames(attribute)[0]);
+            }
+            String table = persister.getTableName();
+            return new Table(table, List.copyOf(columns), table + "_seq");
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.supplychain.supplychain.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills the database with a large synthetic dataset for load tests, at startup of the {@code seed}
+ * profile: {@code --spring.profiles.active=dev,seed}.
+ * <p>
+ * Rows bypass JPA: they go through {@code COPY ... FROM STDIN} on PostgreSQL and JDBC batches
+ * elsewhere, in parallel chunks of {@value #CHUNK} parent rows, each on its own connection and
+ * transaction. Tables are loaded in three levels so that foreign keys always point to committed
+ * rows: reference data, then the tables that depend on it, then order lines and deliveries.
+ * <p>
+ * The content only depends on {@code seed.random-seed} and {@code seed.scale} (see
+ * {@link SyntheticDataset}); ids are appended after the existing rows and the sequences moved past
+ * them, so the application keeps working on the seeded database.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    static final int CHUNK = 50_000;
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final double scale;
+    private final long randomSeed;
+    private final int threads;
+    private final int batchSize;
+
+    public SyntheticDataGenerator(DataSource dataSource,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Value("${seed.scale:1.0}") double scale,
+                                  @Value("${seed.random-seed:42}") long randomSeed,
+                                  @Value("${seed.threads:0}") int threads,
+                                  @Value("${seed.batch-size:1000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.scale = scale;
+        this.randomSeed = randomSeed;
+        // 0: one per core, at most 8 (the database is the bottleneck beyond that)
+        this.threads = threads > 0 ? threads : Math.min(8, Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generate();
+    }
+
+    /**
+     * Generates the dataset and returns the number of rows written per table.
+     */
+    public Map<String, Long> generate() throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        SeedSchema schema = new SeedSchema(entityManagerFactory);
+        boolean copy;
+        SyntheticDataset dataset;
+        try (Connection connection = dataSource.getConnection()) {
+            copy = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            dataset = new SyntheticDataset(randomSeed, scale, offsets(connection, schema));
+        }
+        log.info("Seeding scale {} with seed {} on {} threads ({})", scale, randomSeed, threads,
+                copy ? "COPY" : "JDBC batch of " + batchSize);
+
+        Map<String, LongAdder> rows = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Loader loader = new Loader(executor, copy, rows);
+            // ---------------------------------------------------------------
+            // 1. Reference data
+            // ---------------------------------------------------------------
+            loader.add(schema.suppliers, dataset.suppliers, dataset::supplier);
+            loader.add(schema.rawMaterials, dataset.materials, dataset::material);
+            loader.add(schema.products, dataset.products, dataset::product);
+            loader.add(schema.customers, dataset.customers, dataset::customer);
+            loader.await();
+
+            // ---------------------------------------------------------------
+            // 2. Tables referencing it
+            // ---------------------------------------------------------------
+            loader.add(schema.materialSuppliers, dataset.materials, dataset::materialSuppliers);
+            loader.add(schema.billOfMaterials, dataset.products, dataset::billOfMaterials);
+            loader.add(schema.orders, dataset.orders, dataset::order);
+            loader.add(schema.supplyOrders, dataset.supplyOrders, dataset::supplyOrder);
+            loader.add(schema.productionOrders, dataset.productionOrders, dataset::productionOrder);
+            loader.await();
+
+            // ---------------------------------------------------------------
+            // 3. Order lines and deliveries
+            // ---------------------------------------------------------------
+            loader.add(schema.productOrders, dataset.orders, dataset::productOrders);
+            loader.add(schema.supplyOrderLines, dataset.supplyOrders, dataset::supplyOrderLines);
+            loader.add(schema.deliveries, dataset.orders, dataset::delivery);
+            loader.await();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            realignSequences(connection, schema, copy);
+        }
+        // rows written behind Hibernate: nothing cached before the load still holds
+        entityManagerFactory.getCache().evictAll();
+
+        Map<String, Long> written = new LinkedHashMap<>();
+        rows.forEach((table, count) -> written.put(table, count.sum()));
+        long total = written.values().stream().mapToLong(Long::longValue).sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Seeded {} rows in {} s ({} rows/s): {}", total, String.format("%.1f", seconds),
+                Math.round(total / seconds), written);
+        return written;
+    }
+
+    private static SyntheticDataset.Offsets offsets(Connection connection, SeedSchema schema) throws SQLException {
+        return new SyntheticDataset.Offsets(
+                maxId(connection, schema.suppliers), maxId(connection, schema.rawMaterials),
+                maxId(connection, schema.products), maxId(connection, schema.billOfMaterials),
+                maxId(connection, schema.customers), maxId(connection, schema.orders),
+                maxId(connection, schema.productOrders), maxId(connection, schema.supplyOrders),
+                maxId(connection, schema.supplyOrderLines), maxId(connection, schema.productionOrders),
+                maxId(connection, schema.deliveries));
+    }
+
+    private static long maxId(Connection connection, SeedSchema.Table table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet max = statement.executeQuery(
+                     "SELECT COALESCE(MAX(" + table.idColumn() + "), 0) FROM " + table.name())) {
+            max.next();
+            return max.getLong(1);
+        }
+    }
+
+    // the pooled-lo optimizer hands out [next value, next value + 50): it must start past the seeded ids
+    private static void realignSequences(Connection connection, SeedSchema schema, boolean postgres) throws SQLException {
+        for (SeedSchema.Table table : schema.sequenced()) {
+            long next = maxId(connection, table) + 1;
+            try (Statement statement = connection.createStatement()) {
+                if (postgres) {
+                    statement.execute("SELECT setval('" + table.sequence() + "', " + next + ", false)");
+                } else {
+                    statement.execute("ALTER SEQUENCE " + table.sequence() + " RESTART WITH " + next);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, RowSink sink) throws SQLException;
+    }
+
+    /**
+     * Splits each table of a level into chunks and waits for all of them before the next level.
+     */
+    private final class Loader {
+
+        private final ExecutorService executor;
+        private final boolean copy;
+        private final Map<String, LongAdder> rows;
+        private final List<Future<?>> pending = new ArrayList<>();
+
+        Loader(ExecutorService executor, boolean copy, Map<String, LongAdder> rows) {
+            this.executor = executor;
+            this.copy = copy;
+            this.rows = rows;
+        }
+
+        void add(SeedSchema.Table table, long parents, RowWriter writer) {
+            LongAdder count = rows.computeIfAbsent(table.name(), name -> new LongAdder());
+            for (long from = 0; from < parents; from += CHUNK) {
+                long first = from;
+                long last = Math.min(parents, from + CHUNK);
+                pending.add(executor.submit(() -> {
+                    count.add(load(table, first, last, writer));
+                    return null;
+                }));
+            }
+        }
+
+        void await() throws SQLException, InterruptedException {
+            try {
+                for (Future<?> future : pending) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                pending.forEach(future -> future.cancel(true));
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new IllegalStateException("Seeding failed", e.getCause());
+            } finally {
+                pending.clear();
+            }
+        }
+
+        private long load(SeedSchema.Table table, long first, long last, RowWriter writer) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    long written;
+                    try (RowSink sink = copy
+                            ? new CopyRowSink(connection, table)
+                            : new BatchRowSink(connection, table, batchSize)) {
+                        for (long index = first; index < last; index++) {
+                            writer.write(index, sink);
+                        }
+                        written = sink.rows();
+                    }
+                    connection.commit();
+                    return written;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package org.supplychain.supplychain.seed;
+
+import org.supplychain.supplychain.enums.DeliveryStatus;
+import org.supplychain.supplychain.enums.OrderStatus;
+import org.supplychain.supplychain.enums.Priority;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.enums.SupplyOrderStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * The rows of the synthetic dataset, as pure functions of {@code (seed, table, index)}.
+ * <p>
+ * Every row draws from its own {@link SplittableRandom}, seeded from the dataset seed, a per-table
+ * salt and the row index, so the content does not depend on how the tables are split across
+ * threads. Values that several tables share (a product's cost, an order's lines) are recomputed
+ * from the same salt wherever they are needed, which keeps order totals equal to the sum of their
+ * lines without holding anything in memory.
+ * <p>
+ * Child rows get {@code parent index * MAX_x + k} ids, leaving gaps but no coordination between
+ * threads. Popularity is skewed: low product, customer and supplier indexes are ordered far more
+ * often, as in real catalogs.
+ */
+final class SyntheticDataset {
+
+    // rows at scale 1; with the child tables below, about 10 million rows in all
+    static final long SUPPLIERS = 100_000;
+    static final long MATERIALS = 500_000;
+    static final long PRODUCTS = 200_000;
+    static final long CUSTOMERS = 500_000;
+    static final long ORDERS = 1_000_000;
+    static final long SUPPLY_ORDERS = 300_000;
+    static final long PRODUCTION_ORDERS = 400_000;
+
+    // per parent: 1-3 suppliers per material, 3-12 materials (+ 0-2 sub-assemblies) per BOM,
+    // 1-4 lines per customer order, 1-6 lines per supply order
+    static final int MAX_MATERIAL_SUPPLIERS = 3;
+    static final int MAX_BOM_MATERIALS = 12;
+    static final int MAX_BOM_COMPONENTS = 2;
+    static final int MAX_ORDER_LINES = 4;
+    static final int MAX_SUPPLY_LINES = 6;
+
+    // order numbers of generated orders use this node discriminator, never issued by a running instance
+    static final String NODE = "SEED";
+
+    // fixed so that a seed always gives the same dates
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int HISTORY_MINUTES = 730 * 24 * 60;
+
+    private static final long SUPPLIER = 1, MATERIAL = 2, MATERIAL_PRICE = 3, MATERIAL_SUPPLIERS = 4,
+            PRODUCT = 5, PRODUCT_COST = 6, BOM = 7, CUSTOMER = 8, CUSTOMER_ADDRESS = 9, ORDER = 10,
+            ORDER_LINES = 11, ORDER_STATUS = 12, DELIVERY = 13, SUPPLY_ORDER = 14, SUPPLY_LINES = 15,
+            PRODUCTION_ORDER = 16;
+
+    private static final String[] COMPANIES = {"Atlas", "Nordic", "Delta", "Orion", "Vertex", "Boreal",
+            "Helios", "Cobalt", "Granite", "Summit", "Pioneer", "Meridian", "Aurora", "Falcon", "Sierra"};
+    private static final String[] TRADES = {"Metals", "Plastics", "Components", "Industries", "Supply",
+            "Materials", "Logistics", "Chemicals", "Textiles", "Timber"};
+    private static final String[] GRADES = {"Galvanized", "Stainless", "Recycled", "Tempered", "Raw",
+            "Brushed", "Anodized", "Laminated", "Coated", "Forged"};
+    private static final String[] MATERIALS_NAMES = {"steel sheet", "aluminium bar", "copper wire",
+            "oak plank", "pine board", "PVC tube", "glass pane", "rubber seal", "nylon thread",
+            "zinc plate", "brass screw", "cotton fabric", "epoxy resin", "carbon fiber", "ceramic tile"};
+    private static final String[] UNITS = {"kg", "m", "pcs", "l"};
+    private static final String[] PRODUCT_NAMES = {"Cabinet", "Chair", "Table", "Shelf", "Desk",
+            "Drawer", "Frame", "Panel", "Housing", "Bracket", "Lamp", "Bench"};
+    private static final String[] MODELS = {"Classic", "Compact", "Pro", "Max", "Lite", "Studio", "Urban"};
+    private static final String[] FIRST_NAMES = {"Camille", "Louis", "Emma", "Hugo", "Chloé", "Nathan",
+            "Léa", "Lucas", "Manon", "Jules", "Sarah", "Adam", "Inès", "Yanis", "Lina"};
+    private static final String[] LAST_NAMES = {"Martin", "Bernard", "Dubois", "Thomas", "Robert",
+            "Richard", "Petit", "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel"};
+    private static final String[] STREETS = {"rue de la Paix", "avenue Victor Hugo", "boulevard Voltaire",
+            "rue du Port", "chemin des Vignes", "place de la Gare", "rue des Tanneurs"};
+    private static final String[] CITIES = {"Paris", "Lyon", "Marseille", "Toulouse", "Nantes", "Lille",
+            "Bordeaux", "Strasbourg", "Rennes", "Montpellier"};
+
+    /**
+     * Highest id of each table before the run: generated ids start right after.
+     */
+    record Offsets(long suppliers, long materials, long products, long billOfMaterials, long customers,
+                   long orders, long productOrders, long supplyOrders, long supplyOrderLines,
+                   long productionOrders, long deliveries) {
+    }
+
+    private final long seed;
+    private final Offsets offsets;
+
+    final long suppliers;
+    final long materials;
+    final long products;
+    final long customers;
+    final long orders;
+    final long supplyOrders;
+    final long productionOrders;
+
+    SyntheticDataset(long seed, double scale, Offsets offsets) {
+        this.seed = seed;
+        this.offsets = offsets;
+        this.suppliers = scaled(SUPPLIERS, scale);
+        this.materials = scaled(MATERIALS, scale);
+        this.products = scaled(PRODUCTS, scale);
+        this.customers = scaled(CUSTOMERS, scale);
+        this.orders = scaled(ORDERS, scale);
+        this.supplyOrders = scaled(SUPPLY_ORDERS, scale);
+        this.productionOrders = scaled(PRODUCTION_ORDERS, scale);
+    }
+
+    private static long scaled(long rows, double scale) {
+        return Math.max(1, Math.round(rows * scale));
+    }
+
+    // ------------------------------------------------------------------
+    // Reference data
+    // ------------------------------------------------------------------
+
+    void supplier(long i, RowSink sink) throws SQLException {
+        SplittableRandom random = random(SUPPLIER, i);
+        LocalDateTime created = created(random);
+        sink.row(offsets.suppliers() + 1 + i,
+                pick(random, COMPANIES) + " " + pick(random, TRADES) + " " + (i + 1),
+                pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                "supplier" + (i + 1) + "@example.com",
+                phone(random),
+                // most suppliers rate between 3.5 and 5
+                Math.round((2.5 + 2.5 * Math.sqrt(random.nextDouble())) * 10) / 10.0,
+                (int) (2 + 28 * Math.pow(random.nextDouble(), 2)),
+                0L, created, updated(random, created));
+    }
+
+    void material(long m, RowSink sink) throws SQLException {
+        SplittableRandom random = random(MATERIAL, m);
+        LocalDateTime created = created(random);
+        int stockMin = 50 + random.nextInt(451);
+        // one material in twenty is below its minimum
+        int stock = random.nextDouble() < 0.05
+                ? random.nextInt(stockMin)
+                : (int) (stockMin * (1 + 4 * random.nextDouble()));
+        sink.row(offsets.materials() + 1 + m,
+                pick(random, GRADES) + " " + pick(random, MATERIALS_NAMES) + " " + (m + 1),
+                "Synthetic material " + (m + 1),
+                stock,
+                random.nextInt(stock / 10 + 1),
+                stockMin,
+                materialPrice(m),
+                pick(random, UNITS),
+                created.toLocalDate().plusDays(random.nextInt(365)),
+                0L, created, updated(random, created));
+    }
+
+    void materialSuppliers(long m, RowSink sink) throws SQLException {
+        SplittableRandom random = random(MATERIAL_SUPPLIERS, m);
+        long[] picked = distinct(random, 1 + random.nextInt(MAX_MATERIAL_SUPPLIERS), suppliers, 1.5);
+        for (long s : picked) {
+            sink.row(offsets.materials() + 1 + m, offsets.suppliers() + 1 + s);
+        }
+    }
+
+    void product(long p, RowSink sink) throws SQLException {
+        SplittableRandom random = random(PRODUCT, p);
+        LocalDateTime created = created(random);
+        sink.row(offsets.products() + 1 + p,
+                pick(random, PRODUCT_NAMES) + " " + pick(random, MODELS) + " " + (p + 1),
+                "Synthetic product " + (p + 1),
+                1 + random.nextInt(16),
+                productCost(p),
+                random.nextInt(201),
+                random.nextInt(51),
+                "pcs",
+                0L, created, updated(random, created));
+    }
+
+    // sub-assemblies only point to lower product indexes, so the BOM graph has no cycle
+    void billOfMaterials(long p, RowSink sink) throws SQLException {
+        SplittableRandom random = random(BOM, p);
+        LocalDateTime created = created(random);
+        long productId = offsets.products() + 1 + p;
+        long lineBase = offsets.billOfMaterials() + 1 + p * (MAX_BOM_MATERIALS + MAX_BOM_COMPONENTS);
+        long[] picked = distinct(random, 3 + random.nextInt(MAX_BOM_MATERIALS - 2), materials, 1.0);
+        int k = 0;
+        for (long m : picked) {
+            sink.row(lineBase + k++, productId, offsets.materials() + 1 + m, null,
+                    1 + random.nextInt(10), created, created);
+        }
+        if (p >= 100 && random.nextDouble() < 0.1) {
+            for (long c : distinct(random, 1 + random.nextInt(MAX_BOM_COMPONENTS), p, 1.0)) {
+                sink.row(lineBase + k++, productId, null, offsets.products() + 1 + c,
+                        1 + random.nextInt(4), created, created);
+            }
+        }
+    }
+
+    void customer(long c, RowSink sink) throws SQLException {
+        SplittableRandom random = random(CUSTOMER, c);
+        LocalDateTime created = created(random);
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+        sink.row(offsets.customers() + 1 + c,
+                first + " " + last,
+                ascii(first) + "." + ascii(last) + "." + (c + 1) + "@example.com",
+                phone(random),
+                address(c),
+                0L, created, updated(random, created));
+    }
+
+    // ------------------------------------------------------------------
+    // Customer orders
+    // ------------------------------------------------------------------
+
+    void order(long o, RowSink sink) throws SQLException {
+        SplittableRandom random = random(ORDER, o);
+        long customer = skewed(random, customers, 2.0);
+        LocalDateTime created = created(random);
+        long id = offsets.orders() + 1 + o;
+        sink.row(id, number("CO", id), offsets.customers() + 1 + customer,
+                orderLines(o, null, created), orderStatus(o), created, updated(random, created));
+    }
+
+    void productOrders(long o, RowSink sink) throws SQLException {
+        SplittableRandom random = random(ORDER, o);
+        skewed(random, customers, 2.0);
+        orderLines(o, sink, created(random));
+    }
+
+    // writes the lines when sink is not null, returns the order total either way
+    private BigDecimal orderLines(long o, RowSink sink, LocalDateTime created) throws SQLException {
+        SplittableRandom random = random(ORDER_LINES, o);
+        int lines = 1 + random.nextInt(MAX_ORDER_LINES);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int k = 0; k < lines; k++) {
+            long p = skewed(random, products, 3.0);
+            int quantity = 1 + random.nextInt(5);
+            BigDecimal unitPrice = productCost(p);
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            total = total.add(lineTotal);
+            if (sink != null) {
+                sink.row(offsets.productOrders() + 1 + o * MAX_ORDER_LINES + k,
+                        offsets.orders() + 1 + o, offsets.products() + 1 + p,
+                        quantity, unitPrice, lineTotal, created, created);
+            }
+        }
+        return total;
+    }
+
+    // shipped and delivered orders have a delivery, half of those in preparation a planned one
+    void delivery(long o, RowSink sink) throws SQLException {
+        SplittableRandom random = random(DELIVERY, o);
+        OrderStatus orderStatus = orderStatus(o);
+        DeliveryStatus status = switch (orderStatus) {
+            case LIVREE -> DeliveryStatus.LIVREE;
+            case EN_ROUTE -> DeliveryStatus.EN_COURS;
+            case EN_PREPARATION -> random.nextBoolean() ? DeliveryStatus.PLANIFIEE : null;
+        };
+        if (status == null) {
+            return;
+        }
+        SplittableRandom order = random(ORDER, o);
+        long customer = skewed(order, customers, 2.0);
+        LocalDateTime created = created(order);
+        sink.row(offsets.deliveries() + 1 + o,
+                offsets.orders() + 1 + o,
+                address(customer),
+                pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                status,
+                created.toLocalDate().plusDays(1 + random.nextInt(10)),
+                money(random, 15, 0.5),
+                created, created);
+    }
+
+    private OrderStatus orderStatus(long o) {
+        double u = random(ORDER_STATUS, o).nextDouble();
+        return u < 0.2 ? OrderStatus.EN_PREPARATION : u < 0.4 ? OrderStatus.EN_ROUTE : OrderStatus.LIVREE;
+    }
+
+    // ------------------------------------------------------------------
+    // Supply and production orders
+    // ------------------------------------------------------------------
+
+    void supplyOrder(long s, RowSink sink) throws SQLException {
+        SplittableRandom random = random(SUPPLY_ORDER, s);
+        long supplier = skewed(random, suppliers, 1.5);
+        LocalDateTime created = created(random);
+        double u = random.nextDouble();
+        SupplyOrderStatus status = u < 0.15 ? SupplyOrderStatus.EN_ATTENTE
+                : u < 0.3 ? SupplyOrderStatus.EN_COURS : SupplyOrderStatus.RECUE;
+        long id = offsets.supplyOrders() + 1 + s;
+        sink.row(id, number("SO", id), offsets.suppliers() + 1 + supplier, created.toLocalDate(),
+                status, supplyLines(s, null, created), created, updated(random, created));
+    }
+
+    void supplyOrderLines(long s, RowSink sink) throws SQLException {
+        SplittableRandom random = random(SUPPLY_ORDER, s);
+        skewed(random, suppliers, 1.5);
+        supplyLines(s, sink, created(random));
+    }
+
+    private BigDecimal supplyLines(long s, RowSink sink, LocalDateTime created) throws SQLException {
+        SplittableRandom random = random(SUPPLY_LINES, s);
+        int lines = 1 + random.nextInt(MAX_SUPPLY_LINES);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int k = 0; k < lines; k++) {
+            long m = random.nextLong(materials);
+            int quantity = 10 + random.nextInt(491);
+            BigDecimal unitPrice = materialPrice(m);
+            total = total.add(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+            if (sink != null) {
+                sink.row(offsets.supplyOrderLines() + 1 + s * MAX_SUPPLY_LINES + k,
+                        offsets.supplyOrders() + 1 + s, offsets.materials() + 1 + m,
+                        quantity, unitPrice, created, created);
+            }
+        }
+        return total;
+    }
+
+    void productionOrder(long q, RowSink sink) throws SQLException {
+        SplittableRandom random = random(PRODUCTION_ORDER, q);
+        long product = skewed(random, products, 2.0);
+        LocalDateTime created = created(random);
+        double u = random.nextDouble();
+        ProductionOrderStatus status = u < 0.2 ? ProductionOrderStatus.EN_ATTENTE
+                : u < 0.3 ? ProductionOrderStatus.EN_PRODUCTION
+                : u < 0.95 ? ProductionOrderStatus.TERMINE : ProductionOrderStatus.BLOQUE;
+        double v = random.nextDouble();
+        Priority priority = v < 0.7 ? Priority.STANDARD : v < 0.9 ? Priority.HIGH : Priority.URGENT;
+        LocalDate start = status == ProductionOrderStatus.EN_PRODUCTION || status == ProductionOrderStatus.TERMINE
+                ? created.toLocalDate().plusDays(random.nextInt(5))
+                : null;
+        LocalDate end = status == ProductionOrderStatus.TERMINE ? start.plusDays(1 + random.nextInt(10)) : null;
+        long id = offsets.productionOrders() + 1 + q;
+        sink.row(id, number("PO", id), offsets.products() + 1 + product, 1 + random.nextInt(100),
+                status, priority, start, end, created.toLocalDate().plusDays(7 + random.nextInt(54)),
+                created, updated(random, created));
+    }
+
+    // ------------------------------------------------------------------
+    // Shared values and distributions
+    // ------------------------------------------------------------------
+
+    private BigDecimal productCost(long p) {
+        return money(random(PRODUCT_COST, p), 80, 0.8);
+    }
+
+    private BigDecimal materialPrice(long m) {
+        return money(random(MATERIAL_PRICE, m), 8, 1.0);
+    }
+
+    private String address(long c) {
+        SplittableRandom random = random(CUSTOMER_ADDRESS, c);
+        return (1 + random.nextInt(150)) + " " + pick(random, STREETS) + ", " + pick(random, CITIES);
+    }
+
+    private SplittableRandom random(long table, long index) {
+        long h = seed * 0x9E3779B97F4A7C15L + table * 0xC2B2AE3D27D4EB4FL + index;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return new SplittableRandom(h ^ (h >>> 33));
+    }
+
+    // index in [0, n), low indexes more likely as the exponent grows (1 = uniform)
+    private static long skewed(SplittableRandom random, long n, double exponent) {
+        return Math.min(n - 1, (long) (n * Math.pow(random.nextDouble(), exponent)));
+    }
+
+    private static long[] distinct(SplittableRandom random, int count, long n, double exponent) {
+        long[] picked = new long[(int) Math.min(count, n)];
+        int size = 0;
+        while (size < picked.length) {
+            long candidate = skewed(random, n, exponent);
+            boolean seen = false;
+            for (int i = 0; i < size && !seen; i++) {
+                seen = picked[i] == candidate;
+            }
+            if (!seen) {
+                picked[size++] = candidate;
+            }
+        }
+        return picked;
+    }
+
+    // log-normal around the median: many cheap items, a long tail of expensive ones
+    private static BigDecimal money(SplittableRandom random, double median, double sigma) {
+        double value = Math.max(0.01, median * Math.exp(sigma * random.nextGaussian()));
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static LocalDateTime created(SplittableRandom random) {
+        return EPOCH.plusMinutes(random.nextInt(HISTORY_MINUTES));
+    }
+
+    private static LocalDateTime updated(SplittableRandom random, LocalDateTime created) {
+        return random.nextDouble() < 0.7 ? created : created.plusMinutes(random.nextInt(30 * 24 * 60));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "+33 " + (1 + random.nextInt(9)) + " " + (10_000_000 + random.nextInt(90_000_000));
+    }
+
+    private static String ascii(String name) {
+        return name.toLowerCase().replace('é', 'e').replace('è', 'e').replace('ï', 'i');
+    }
+
+    private static String number(String prefix, long id) {
+        String digits = Long.toString(id);
+        return prefix + "-" + NODE + "-" + "0".repeat(Math.max(0, 8 - digits.length())) + digits;
+    }
+}
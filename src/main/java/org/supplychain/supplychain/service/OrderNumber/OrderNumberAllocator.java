@@ -0,0 +1,11 @@
+package org.supplychain.supplychain.service.OrderNumber;
+
+import org.supplychain.supplychain.enums.OrderNumberType;
+
+public interface OrderNumberAllocator {
+
+    /**
+     * Returns a number never handed out before by any instance, e.g. {@code SO-00-00000101}.
+     */
+    String next(OrderNumberType type);
+}
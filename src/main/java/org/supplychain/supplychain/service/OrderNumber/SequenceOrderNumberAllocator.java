@@ -0,0 +1,79 @@
+package org.supplychain.supplychain.service.OrderNumber;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.supplychain.supplychain.enums.OrderNumberType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Order numbers as {@code <prefix>-<node>-<8 digits>}.
+ * <p>
+ * Each type has a database sequence that increments by {@link #BLOCK_SIZE}: one {@code nextval}
+ * reserves the next {@value #BLOCK_SIZE} numbers for this instance, which then hands them out from
+ * memory. Instances only meet in the sequence once per block, never per order, and the
+ * {@code orders.number.node} discriminator tells which instance issued a number.
+ */
+@Service
+@Slf4j
+public class SequenceOrderNumberAllocator implements OrderNumberAllocator {
+
+    // must match incrementBy of the *_number_seq sequences (002-order-number-sequences.yaml)
+    static final int BLOCK_SIZE = 100;
+
+    private static final Pattern NODE = Pattern.compile("[A-Z0-9]{1,4}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String node;
+    private final Map<OrderNumberType, Block> blocks = new EnumMap<>(OrderNumberType.class);
+
+    public SequenceOrderNumberAllocator(JdbcTemplate jdbcTemplate,
+                                        EntityManagerFactory entityManagerFactory,
+                                        @Value("${orders.number.node:00}") String node) {
+        if (!NODE.matcher(node).matches()) {
+            throw new IllegalStateException("orders.number.node must be 1 to 4 characters A-Z or 0-9, got: " + node);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.node = node;
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        for (OrderNumberType type : OrderNumberType.values()) {
+            String nextValSql = dialect.getSequenceSupport().getSequenceNextValString(type.getSequenceName());
+            blocks.put(type, new Block(nextValSql));
+        }
+    }
+
+    @Override
+    public String next(OrderNumberType type) {
+        return String.format("%s-%s-%08d", type.getPrefix(), node, blocks.get(type).next());
+    }
+
+    private final class Block {
+
+        private final String nextValSql;
+        private long next;
+        private long limit;
+
+        private Block(String nextValSql) {
+            this.nextValSql = nextValSql;
+        }
+
+        synchronized long next() {
+            if (next == limit) {
+                Long start = jdbcTemplate.queryForObject(nextValSql, Long.class);
+                next = start;
+                limit = start + BLOCK_SIZE;
+                log.debug("Reserved order numbers {} to {}", next, limit - 1);
+            }
+            return next++;
+        }
+    }
+}
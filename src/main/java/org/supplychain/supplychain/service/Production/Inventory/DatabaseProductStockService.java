@@ -0,0 +1,43 @@
+package org.supplychain.supplychain.service.Production.Inventory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.supplychain.supplychain.exception.InsufficientStockException;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Default stock authority: every change is a conditional UPDATE on the products row.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.ledger.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseProductStockService implements ProductStockService {
+
+    private final ProductRepository productRepository;
+    private final ProductStockCache productStockCache;
+
+    @Override
+    @Transactional
+    public void reserve(Map<Long, Integer> quantities) {
+        // ascending ids so concurrent reservations lock rows in the same order
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (productRepository.decrementStock(productId, quantity) == 0) {
+                throw new InsufficientStockException("product", productId, quantity);
+            }
+        });
+        productStockCache.evict(quantities.keySet());
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<Long, Integer> quantities) {
+        new TreeMap<>(quantities).forEach(productRepository::incrementStock);
+        productStockCache.evict(quantities.keySet());
+    }
+
+}
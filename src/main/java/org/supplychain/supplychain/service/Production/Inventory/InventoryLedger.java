@@ -0,0 +1,232 @@
+package org.supplychain.supplychain.service.Production.Inventory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongToIntFunction;
+
+/**
+ * In-memory available quantity per product, split into lock stripes.
+ * <p>
+ * Each stripe is an open-addressing {@code long -> int} table guarded by its own lock, so two
+ * hot products only contend when they hash to the same stripe. Multi-product reservations lock
+ * the stripes they touch in ascending index order, which keeps them deadlock-free.
+ */
+public class InventoryLedger {
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public InventoryLedger(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Deducts all quantities, or nothing.
+     *
+     * @param loader called under the stripe lock for products not yet in the ledger
+     * @return 0 on success, otherwise the id of the first product that is short
+     */
+    public long reserve(Map<Long, Integer> quantities, LongToIntFunction loader) {
+        int n = quantities.size();
+        long[] ids = new long[n];
+        int[] qty = new int[n];
+        int i = 0;
+        for (Map.Entry<Long, Integer> e : quantities.entrySet()) {
+            ids[i] = e.getKey();
+            qty[i] = e.getValue();
+            i++;
+        }
+
+        int[] touched = touchedStripes(ids);
+        lock(touched);
+        try {
+            for (int k = 0; k < n; k++) {
+                Stripe stripe = stripeFor(ids[k]);
+                if (stripe.getOrLoad(ids[k], loader) < qty[k]) {
+                    return ids[k];
+                }
+            }
+            for (int k = 0; k < n; k++) {
+                stripeFor(ids[k]).add(ids[k], -qty[k]);
+            }
+            return 0L;
+        } finally {
+            unlock(touched);
+        }
+    }
+
+    /**
+     * Applies a delta to a product already in the ledger. Absent products are skipped: their
+     * first lookup loads a value from the database that already contains the change.
+     */
+    public void addIfPresent(long productId, int delta) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            stripe.addIfPresent(productId, delta);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int available(long productId, LongToIntFunction loader) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            return stripe.getOrLoad(productId, loader);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void put(long productId, int quantity) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            stripe.put(productId, quantity);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.clear();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(long productId) {
+        return stripes[index(productId)];
+    }
+
+    private int index(long productId) {
+        long h = productId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int[] touchedStripes(long[] ids) {
+        int[] idx = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            idx[i] = index(ids[i]);
+        }
+        Arrays.sort(idx);
+        int unique = 0;
+        for (int i = 0; i < idx.length; i++) {
+            if (i == 0 || idx[i] != idx[i - 1]) {
+                idx[unique++] = idx[i];
+            }
+        }
+        return Arrays.copyOf(idx, unique);
+    }
+
+    private void lock(int[] touched) {
+        for (int idx : touched) {
+            stripes[idx].lock.lock();
+        }
+    }
+
+    private void unlock(int[] touched) {
+        for (int i = touched.length - 1; i >= 0; i--) {
+            stripes[touched[i]].lock.unlock();
+        }
+    }
+
+    private static final class Stripe {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private int slot(long key) {
+            int m = keys.length - 1;
+            int i = (int) (key ^ (key >>> 29)) * 0x61C88647 & m;
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & m;
+            }
+            return i;
+        }
+
+        int getOrLoad(long key, LongToIntFunction loader) {
+            int i = slot(key);
+            if (keys[i] == key) {
+                return values[i];
+            }
+            int loaded = loader.applyAsInt(key);
+            put(key, loaded);
+            return loaded;
+        }
+
+        void add(long key, int delta) {
+            values[slot(key)] += delta;
+        }
+
+        void addIfPresent(long key, int delta) {
+            int i = slot(key);
+            if (keys[i] == key) {
+                values[i] += delta;
+            }
+        }
+
+        void put(long key, int value) {
+            int i = slot(key);
+            if (keys[i] != key) {
+                keys[i] = key;
+                size++;
+                if (size * 4 > keys.length * 3) {
+                    values[i] = value;
+                    grow();
+                    return;
+                }
+            }
+            values[i] = value;
+        }
+
+        void clear() {
+            keys = newKeys(16);
+            values = new int[16];
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length << 1);
+            values = new int[oldKeys.length << 1];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int j = slot(oldKeys[i]);
+                    keys[j] = oldKeys[i];
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.supplychain.supplychain.service.Production.Inventory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.exception.InsufficientStockException;
+import org.supplychain.supplychain.exception.ResourceNotFoundException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stock authority backed by {@link InventoryLedger}, enabled with {@code inventory.ledger.enabled=true}.
+ * <p>
+ * Reservations are decided in memory. Each change is also appended to {@code stock_movements} inside
+ * the caller's transaction (an insert, so no lock on the hot products row); a scheduled flush folds
+ * those rows into {@code products.stock} in one batch. On startup any rows left behind by a crash are
+ * applied before the ledger is loaded, so the database and the ledger always agree.
+ * The ledger assumes it is the only writer of {@code products.stock} and a single application node.
+ */
+@Service
+@Slf4j
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "inventory.ledger.enabled", havingValue = "true")
+public class LedgerProductStockService implements ProductStockService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final InventoryLedger ledger;
+    private final ProductStockCache productStockCache;
+
+    public LedgerProductStockService(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     ProductStockCache productStockCache,
+                                     @Value("${inventory.ledger.stripes:64}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productStockCache = productStockCache;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        // the snapshot keeps rows committed during the flush out of both the SUM and the DELETE
+        this.flushTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.ledger = new InventoryLedger(stripes);
+    }
+
+    @PostConstruct
+    public void reconcile() {
+        int recovered = flush();
+        ledger.clear();
+        jdbcTemplate.query("SELECT id, stock FROM products", rs -> {
+            ledger.put(rs.getLong(1), rs.getInt(2));
+        });
+        log.info("Inventory ledger loaded {} products ({} pending movements recovered)", ledger.size(), recovered);
+    }
+
+    @Override
+    @Transactional
+    public void reserve(Map<Long, Integer> quantities) {
+        long shortProductId = ledger.reserve(quantities, this::loadStock);
+        if (shortProductId != 0L) {
+            throw new InsufficientStockException("product", shortProductId, quantities.get(shortProductId));
+        }
+        // already taken out of memory: give it back if the caller's transaction does not commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    quantities.forEach((productId, quantity) -> ledger.addIfPresent(productId, quantity));
+                }
+            }
+        });
+        journal(quantities, -1);
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<Long, Integer> quantities) {
+        journal(quantities, 1);
+        // only made available to other orders once the change is committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                quantities.forEach((productId, quantity) -> ledger.addIfPresent(productId, quantity));
+            }
+        });
+    }
+
+    // a product edit writing products.stock would be overwritten by the next flush
+    @Override
+    public boolean acceptsStockEdits() {
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        try {
+            int products = flush();
+            if (products > 0) {
+                log.debug("Inventory ledger flushed deltas for {} products", products);
+            }
+        } catch (DataAccessException ex) {
+            // rows stay in the journal and are picked up by the next run
+            log.warn("Inventory ledger flush failed: {}", ex.getMessage());
+        }
+    }
+
+    int flush() {
+        Integer flushed = flushTransaction.execute(status -> {
+            Long watermark = jdbcTemplate.queryForObject("SELECT MAX(id) FROM stock_movements", Long.class);
+            if (watermark == null) {
+                return 0;
+            }
+            List<Object[]> deltas = jdbcTemplate.query(
+                    "SELECT product_id, SUM(delta) FROM stock_movements WHERE id <= ? GROUP BY product_id ORDER BY product_id",
+                    (rs, rowNum) -> new Object[]{rs.getInt(2), rs.getLong(1)},
+                    watermark);
+            // version and updated_date move with the stock so conditional GETs see the change
+            jdbcTemplate.batchUpdate("UPDATE products SET stock = stock + ?, version = version + 1, " +
+                    "updated_date = LOCALTIMESTAMP WHERE id = ?", deltas);
+            jdbcTemplate.update("DELETE FROM stock_movements WHERE id <= ?", watermark);
+            productStockCache.evict(deltas.stream().map(delta -> (Long) delta[1]).toList());
+            return deltas.size();
+        });
+        return flushed == null ? 0 : flushed;
+    }
+
+    private void journal(Map<Long, Integer> quantities, int sign) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> rows.add(new Object[]{productId, sign * quantity, now}));
+        jdbcTemplate.batchUpdate("INSERT INTO stock_movements (product_id, delta, created_at) VALUES (?, ?, ?)", rows);
+    }
+
+    private int loadStock(long productId) {
+        List<Integer> stock = jdbcTemplate.queryForList(
+                "SELECT p.stock + COALESCE((SELECT SUM(m.delta) FROM stock_movements m WHERE m.product_id = p.id), 0) " +
+                        "FROM products p WHERE p.id = ?",
+                Integer.class, productId);
+        if (stock.isEmpty()) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        return stock.get(0);
+    }
+}
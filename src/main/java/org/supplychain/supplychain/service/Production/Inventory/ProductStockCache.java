@@ -0,0 +1,49 @@
+package org.supplychain.supplychain.service.Production.Inventory;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.supplychain.supplychain.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalidation of the second-level cache entries of products whose stock changed outside
+ * Hibernate's entity updates: the conditional UPDATEs of {@link DatabaseProductStockService} and
+ * the ledger flushes of {@link LedgerProductStockService}.
+ * <p>
+ * As in {@code RawMaterialCache}, ids are evicted right away and again once the transaction
+ * completes, so a reader that loaded the old row while the write was in flight cannot leave it in
+ * the cache. No-op when the second-level cache is disabled.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductStockCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(Long productId) {
+        evict(List.of(productId));
+    }
+
+    public void evict(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache();
+        List<Long> ids = List.copyOf(productIds);
+        ids.forEach(id -> cache.evict(Product.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(id -> cache.evict(Product.class, id));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.supplychain.supplychain.service.Production.Inventory;
+
+import java.util.Map;
+
+/**
+ * Single entry point for changes to finished-goods stock ({@code Product.stock}): customer orders
+ * reserve it and give it back. Production only consumes raw materials, so it never goes through here.
+ * Quantities are keyed by product id.
+ */
+public interface ProductStockService {
+
+    /**
+     * Takes every quantity out of stock, or none of them.
+     *
+     * @throws org.supplychain.supplychain.exception.InsufficientStockException if one product is short
+     */
+    void reserve(Map<Long, Integer> quantities);
+
+    /**
+     * Puts reserved quantities back into stock, e.g. when their customer order is deleted.
+     */
+    void release(Map<Long, Integer> quantities);
+
+    /**
+     * Whether {@code Product.stock} may still be set by a product edit. When false, the stock
+     * is owned by this service and edits leave it unchanged.
+     */
+    default boolean acceptsStockEdits() {
+        return true;
+    }
+}
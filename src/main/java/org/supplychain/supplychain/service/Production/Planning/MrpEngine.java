@@ -0,0 +1,78 @@
+package org.supplychain.supplychain.service.Production.Planning;
+
+/**
+ * BOM explosion and netting over primitive arrays.
+ * <p>
+ * Products and materials are addressed by dense indexes ({@code 0..n-1}), not by id. The BOM is kept
+ * in compressed rows: the lines of product {@code p} are {@code bomOffsets[p]} to
+ * {@code bomOffsets[p + 1] - 1} of {@code bomMaterial}/{@code bomQuantity}. Demand is summed per
+ * product first, so the explosion costs one multiply-add per BOM line of a demanded product,
+ * whatever the number of orders. No object is allocated per order or per line.
+ */
+public final class MrpEngine {
+
+    private final int materialCount;
+    private final int[] bomOffsets;
+    private final int[] bomMaterial;
+    private final int[] bomQuantity;
+    private final long[] demand;
+
+    /**
+     * @param lineProduct  product index of each BOM line
+     * @param lineMaterial material index of each BOM line
+     * @param lineQuantity material quantity per unit of product of each BOM line
+     */
+    public MrpEngine(int productCount, int materialCount,
+                     int[] lineProduct, int[] lineMaterial, int[] lineQuantity) {
+        this.materialCount = materialCount;
+        this.demand = new long[productCount];
+
+        // counting sort of the lines by product
+        int[] offsets = new int[productCount + 1];
+        for (int p : lineProduct) {
+            offsets[p + 1]++;
+        }
+        for (int p = 0; p < productCount; p++) {
+            offsets[p + 1] += offsets[p];
+        }
+        int[] next = offsets.clone();
+        this.bomMaterial = new int[lineProduct.length];
+        this.bomQuantity = new int[lineProduct.length];
+        for (int i = 0; i < lineProduct.length; i++) {
+            int slot = next[lineProduct[i]]++;
+            bomMaterial[slot] = lineMaterial[i];
+            bomQuantity[slot] = lineQuantity[i];
+        }
+        this.bomOffsets = offsets;
+    }
+
+    public void addDemand(int product, long quantity) {
+        demand[product] += quantity;
+    }
+
+    /**
+     * @param available stock that can be used now, per material index
+     * @param onOrder   quantity already ordered from suppliers, per material index
+     */
+    public Plan explode(long[] available, long[] onOrder) {
+        long[] gross = new long[materialCount];
+        for (int p = 0; p < demand.length; p++) {
+            long quantity = demand[p];
+            if (quantity == 0) {
+                continue;
+            }
+            for (int line = bomOffsets[p]; line < bomOffsets[p + 1]; line++) {
+                gross[bomMaterial[line]] += quantity * bomQuantity[line];
+            }
+        }
+
+        long[] net = new long[materialCount];
+        for (int m = 0; m < materialCount; m++) {
+            net[m] = Math.max(0, gross[m] - available[m] - onOrder[m]);
+        }
+        return new Plan(gross, net);
+    }
+
+    public record Plan(long[] gross, long[] net) {
+    }
+}
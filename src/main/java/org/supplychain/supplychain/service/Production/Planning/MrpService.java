@@ -0,0 +1,13 @@
+package org.supplychain.supplychain.service.Production.Planning;
+
+import org.supplychain.supplychain.dto.planning.MrpResultDTO;
+
+public interface MrpService {
+
+    /**
+     * Net material requirements of all pending production orders.
+     *
+     * @param shortagesOnly keep only materials with a net requirement
+     */
+    MrpResultDTO computeRequirements(boolean shortagesOnly);
+}
@@ -0,0 +1,115 @@
+package org.supplychain.supplychain.service.Production.Planning;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.supplychain.supplychain.dto.planning.MaterialQuantityView;
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
+import org.supplychain.supplychain.dto.planning.MrpLineDTO;
+import org.supplychain.supplychain.dto.planning.MrpResultDTO;
+import org.supplychain.supplychain.dto.planning.ProductDemandView;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplyOrderLineRepository;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class MrpServiceImpl implements MrpService {
+
+    // orders whose materials are still needed: starting production deducts them from stock
+    static final Set<ProductionOrderStatus> PENDING =
+            EnumSet.of(ProductionOrderStatus.EN_ATTENTE, ProductionOrderStatus.BLOQUE);
+
+    private final ProductionOrderRepository productionOrderRepository;
+    private final BomRequirementCache bomRequirementCache;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final SupplyOrderLineRepository supplyOrderLineRepository;
+
+    @Override
+    public MrpResultDTO computeRequirements(boolean shortagesOnly) {
+        long start = System.nanoTime();
+
+        // ---------------------------
+        // 1. Three aggregated reads, no entity loaded; BOMs from the requirement cache
+        // ---------------------------
+        List<ProductDemandView> demand = productionOrderRepository.sumQuantityByProduct(PENDING);
+        Map<Long, BomRequirements> bom = bomRequirementCache.getAll(
+                demand.stream().map(ProductDemandView::productId).toList());
+        List<MaterialStockView> materials = rawMaterialRepository.findAllStock();
+        List<MaterialQuantityView> onOrder = supplyOrderLineRepository.sumOpenQuantityByMaterial();
+
+        // ---------------------------
+        // 2. Ids to dense indexes (both lists come sorted by id)
+        // ---------------------------
+        long[] productIds = demand.stream().mapToLong(ProductDemandView::productId).toArray();
+        long[] materialIds = materials.stream().mapToLong(MaterialStockView::materialId).toArray();
+
+        int lineCount = bom.values().stream().mapToInt(BomRequirements::size).sum();
+        int[] lineProduct = new int[lineCount];
+        int[] lineMaterial = new int[lineCount];
+        int[] lineQuantity = new int[lineCount];
+        int i = 0;
+        for (int p = 0; p < productIds.length; p++) {
+            BomRequirements requirements = bom.get(productIds[p]);
+            for (int line = 0; line < requirements.size(); line++, i++) {
+                lineProduct[i] = p;
+                lineMaterial[i] = Arrays.binarySearch(materialIds, requirements.materialId(line));
+                lineQuantity[i] = requirements.quantity(line);
+            }
+        }
+
+        long[] available = new long[materialIds.length];
+        for (int m = 0; m < materialIds.length; m++) {
+            available[m] = (long) materials.get(m).stock() - materials.get(m).reservedStock();
+        }
+        long[] ordered = new long[materialIds.length];
+        for (MaterialQuantityView open : onOrder) {
+            ordered[Arrays.binarySearch(materialIds, open.materialId())] += open.quantity();
+        }
+
+        // ---------------------------
+        // 3. Explode and net
+        // ---------------------------
+        MrpEngine engine = new MrpEngine(productIds.length, materialIds.length, lineProduct, lineMaterial, lineQuantity);
+        long orders = 0;
+        for (int p = 0; p < productIds.length; p++) {
+            engine.addDemand(p, demand.get(p).quantity());
+            orders += demand.get(p).orders();
+        }
+        MrpEngine.Plan plan = engine.explode(available, ordered);
+
+        // ---------------------------
+        // 4. Report materials that are needed at all
+        // ---------------------------
+        List<MrpLineDTO> lines = new ArrayList<>();
+        int shortages = 0;
+        for (int m = 0; m < materialIds.length; m++) {
+            if (plan.net()[m] > 0) {
+                shortages++;
+            } else if (shortagesOnly || plan.gross()[m] == 0) {
+                continue;
+            }
+            MaterialStockView material = materials.get(m);
+            lines.add(new MrpLineDTO(material.materialId(), material.name(), material.unit(),
+                    plan.gross()[m], available[m], ordered[m], plan.net()[m]));
+        }
+
+        log.debug("MRP over {} orders, {} products, {} BOM lines in {} ms",
+                orders, productIds.length, bom.size(), (System.nanoTime() - start) / 1_000_000);
+        return new MrpResultDTO(LocalDateTime.now(), orders, productIds.length, shortages, lines);
+    }
+}
@@ -0,0 +1,320 @@
+package org.supplychain.supplychain.service.Production.Planning;
+
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
+import org.supplychain.supplychain.dto.planning.ScheduleOrderView;
+import org.supplychain.supplychain.enums.Priority;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finite-capacity schedule of waiting production orders on one production line.
+ * <p>
+ * Orders are sequenced by priority (URGENT first), then due date (none last), then id. A sweep
+ * walks that sequence with a capacity cursor and the stock left per material: an order whose BOM
+ * is covered takes its materials and {@code productionTime x quantity} hours of the
+ * {@link WorkCalendar}; an order that is not covered gets no dates and takes nothing.
+ * <p>
+ * Orders live in parallel primitive arrays. Every {@value #CHECKPOINT_EVERY} positions the sweep
+ * saves its cursor and material stock, so inserting or removing one order only re-sweeps from the
+ * checkpoint before it; everything ahead of it keeps its dates. Methods return the orders whose
+ * dates changed. Stock changes made outside the schedule (production starts, supply orders) are
+ * applied with {@link #updateStock}. Not thread safe.
+ */
+public final class ProductionSchedule {
+
+    static final int CHECKPOINT_EVERY = 1024;
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int[] NO_LINES = new int[0];
+
+    private final WorkCalendar calendar;
+    private final Map<Long, Integer> materialIndex = new HashMap<>();
+    private final long[] available;
+    private final Map<Long, int[][]> bomByProduct = new HashMap<>();
+
+    private int size;
+    private long[] ids;
+    private int[] rank;
+    private long[] due;
+    private int[] quantity;
+    private long[] load;
+    private int[][] bomMaterial;
+    private int[][] bomQuantity;
+    private int[] start;
+    private int[] end;
+
+    private final List<Long> checkpointCursor = new ArrayList<>();
+    private final List<long[]> checkpointStock = new ArrayList<>();
+
+    public ProductionSchedule(WorkCalendar calendar, List<MaterialStockView> materials) {
+        this.calendar = calendar;
+        this.available = new long[materials.size()];
+        for (int m = 0; m < materials.size(); m++) {
+            MaterialStockView material = materials.get(m);
+            materialIndex.put(material.materialId(), m);
+            available[m] = (long) material.stock() - material.reservedStock();
+        }
+        allocate(16);
+    }
+
+    /**
+     * Schedules all orders from scratch.
+     *
+     * @param orders the current dates of the orders are compared with the new ones
+     * @return orders whose dates changed, or {@code null} if a BOM uses an unknown material
+     */
+    public List<Change> load(List<ScheduleOrderView> orders, Map<Long, BomRequirements> bom) {
+        for (Map.Entry<Long, BomRequirements> product : bom.entrySet()) {
+            if (!addBom(product.getKey(), product.getValue())) {
+                return null;
+            }
+        }
+        ScheduleOrderView[] sorted = orders.toArray(ScheduleOrderView[]::new);
+        Arrays.sort(sorted, (a, b) -> compare(rank(a), dueOf(a), a.orderId(), rank(b), dueOf(b), b.orderId()));
+        allocate(Math.max(16, sorted.length));
+        size = 0;
+        for (ScheduleOrderView order : sorted) {
+            set(size++, order);
+        }
+        checkpointCursor.clear();
+        checkpointStock.clear();
+        return sweep(0);
+    }
+
+    /**
+     * @return orders whose dates changed, or {@code null} if the BOM uses an unknown material
+     */
+    public List<Change> insert(ScheduleOrderView order, BomRequirements bom) {
+        if (!addBom(order.productId(), bom)) {
+            return null;
+        }
+        int r = rank(order);
+        long d = dueOf(order);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(rank[mid], due[mid], ids[mid], r, d, order.orderId()) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        shift(low, low + 1, size - low);
+        size++;
+        set(low, order);
+        return sweep(low);
+    }
+
+    /**
+     * @return orders whose dates changed, empty if the order is not in the schedule
+     */
+    public List<Change> remove(long orderId) {
+        int position = positionOf(orderId);
+        if (position < 0) {
+            return List.of();
+        }
+        shift(position + 1, position, size - position - 1);
+        size--;
+        return sweep(position);
+    }
+
+    /**
+     * Replaces the stock of the given materials, read after a production start, a supply order or an
+     * edit. Every order may depend on it, so the sweep restarts from the first order and rewrites all
+     * checkpoints; materials created after the schedule was built are not used by it and are skipped.
+     *
+     * @return orders whose dates changed
+     */
+    public List<Change> updateStock(List<MaterialStockView> materials) {
+        boolean changed = false;
+        for (MaterialStockView material : materials) {
+            Integer m = materialIndex.get(material.materialId());
+            long stock = (long) material.stock() - material.reservedStock();
+            if (m != null && available[m] != stock) {
+                available[m] = stock;
+                changed = true;
+            }
+        }
+        return changed ? sweep(0) : List.of();
+    }
+
+    public boolean contains(long orderId) {
+        return positionOf(orderId) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int scheduled() {
+        int scheduled = 0;
+        for (int i = 0; i < size; i++) {
+            if (start[i] != NONE) {
+                scheduled++;
+            }
+        }
+        return scheduled;
+    }
+
+    private List<Change> sweep(int from) {
+        int checkpoint = Math.max(0, Math.min(from / CHECKPOINT_EVERY, checkpointCursor.size() - 1));
+        long cursor = checkpoint == 0 ? 0 : checkpointCursor.get(checkpoint);
+        long[] stock = checkpoint == 0 ? available.clone() : checkpointStock.get(checkpoint).clone();
+
+        List<Change> changes = new ArrayList<>();
+        for (int i = checkpoint * CHECKPOINT_EVERY; i < size; i++) {
+            if (i % CHECKPOINT_EVERY == 0) {
+                saveCheckpoint(i / CHECKPOINT_EVERY, cursor, stock);
+            }
+            int[] materials = bomMaterial[i];
+            int[] perUnit = bomQuantity[i];
+            boolean covered = true;
+            for (int line = 0; line < materials.length && covered; line++) {
+                covered = stock[materials[line]] >= (long) perUnit[line] * quantity[i];
+            }
+
+            int newStart = NONE;
+            int newEnd = NONE;
+            if (covered) {
+                for (int line = 0; line < materials.length; line++) {
+                    stock[materials[line]] -= (long) perUnit[line] * quantity[i];
+                }
+                newStart = calendar.epochDayOf(cursor);
+                newEnd = load[i] == 0 ? newStart : calendar.epochDayOf(cursor + load[i] - 1);
+                cursor += load[i];
+            }
+            if (newStart != start[i] || newEnd != end[i]) {
+                start[i] = newStart;
+                end[i] = newEnd;
+                changes.add(new Change(ids[i], toDate(newStart), toDate(newEnd)));
+            }
+        }
+        // a checkpoint is the state before its position, none is kept past the last order
+        int kept = (size + CHECKPOINT_EVERY - 1) / CHECKPOINT_EVERY;
+        while (checkpointCursor.size() > kept) {
+            checkpointCursor.remove(checkpointCursor.size() - 1);
+            checkpointStock.remove(checkpointStock.size() - 1);
+        }
+        return changes;
+    }
+
+    private void saveCheckpoint(int checkpoint, long cursor, long[] stock) {
+        if (checkpoint < checkpointCursor.size()) {
+            checkpointCursor.set(checkpoint, cursor);
+            checkpointStock.set(checkpoint, stock.clone());
+        } else {
+            checkpointCursor.add(cursor);
+            checkpointStock.add(stock.clone());
+        }
+    }
+
+    private boolean addBom(Long productId, BomRequirements bom) {
+        int[] materials = new int[bom.size()];
+        int[] perUnit = new int[bom.size()];
+        for (int line = 0; line < bom.size(); line++) {
+            Integer index = materialIndex.get(bom.materialId(line));
+            if (index == null) {
+                return false;
+            }
+            materials[line] = index;
+            perUnit[line] = bom.quantity(line);
+        }
+        bomByProduct.put(productId, new int[][]{materials, perUnit});
+        return true;
+    }
+
+    private void set(int i, ScheduleOrderView order) {
+        int[][] lines = bomByProduct.getOrDefault(order.productId(), new int[][]{NO_LINES, NO_LINES});
+        ids[i] = order.orderId();
+        rank[i] = rank(order);
+        due[i] = dueOf(order);
+        quantity[i] = order.quantity();
+        load[i] = (long) (order.productionTime() == null ? 0 : order.productionTime()) * order.quantity();
+        bomMaterial[i] = lines[0];
+        bomQuantity[i] = lines[1];
+        // the stored dates, so the first sweep reports only real changes
+        start[i] = order.startDate() == null ? NONE : (int) order.startDate().toEpochDay();
+        end[i] = order.endDate() == null ? NONE : (int) order.endDate().toEpochDay();
+    }
+
+    private int positionOf(long orderId) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == orderId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(rank, from, rank, to, length);
+        System.arraycopy(due, from, due, to, length);
+        System.arraycopy(quantity, from, quantity, to, length);
+        System.arraycopy(load, from, load, to, length);
+        System.arraycopy(bomMaterial, from, bomMaterial, to, length);
+        System.arraycopy(bomQuantity, from, bomQuantity, to, length);
+        System.arraycopy(start, from, start, to, length);
+        System.arraycopy(end, from, end, to, length);
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        rank = new int[capacity];
+        due = new long[capacity];
+        quantity = new int[capacity];
+        load = new long[capacity];
+        bomMaterial = new int[capacity][];
+        bomQuantity = new int[capacity][];
+        start = new int[capacity];
+        end = new int[capacity];
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        rank = Arrays.copyOf(rank, capacity);
+        due = Arrays.copyOf(due, capacity);
+        quantity = Arrays.copyOf(quantity, capacity);
+        load = Arrays.copyOf(load, capacity);
+        bomMaterial = Arrays.copyOf(bomMaterial, capacity);
+        bomQuantity = Arrays.copyOf(bomQuantity, capacity);
+        start = Arrays.copyOf(start, capacity);
+        end = Arrays.copyOf(end, capacity);
+    }
+
+    private static int rank(ScheduleOrderView order) {
+        Priority priority = order.priority() == null ? Priority.STANDARD : order.priority();
+        return Priority.values().length - 1 - priority.ordinal();
+    }
+
+    private static long dueOf(ScheduleOrderView order) {
+        return order.dueDate() == null ? Long.MAX_VALUE : order.dueDate().toEpochDay();
+    }
+
+    private static int compare(int rankA, long dueA, long idA, int rankB, long dueB, long idB) {
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        if (dueA != dueB) {
+            return Long.compare(dueA, dueB);
+        }
+        return Long.compare(idA, idB);
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NONE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public record Change(long orderId, LocalDate startDate, LocalDate endDate) {
+    }
+}
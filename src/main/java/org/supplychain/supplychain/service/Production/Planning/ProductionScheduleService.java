@@ -0,0 +1,38 @@
+package org.supplychain.supplychain.service.Production.Planning;
+
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
+import org.supplychain.supplychain.dto.planning.ScheduleResultDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductionScheduleService {
+
+    /**
+     * Rebuilds the schedule of all EN_ATTENTE orders and stores the new dates.
+     */
+    ScheduleResultDTO reschedule();
+
+    /**
+     * Re-places one order after it was created or changed (or drops it if it is no longer waiting),
+     * once the caller's transaction has committed.
+     */
+    void orderChanged(Long orderId);
+
+    /**
+     * Drops a cancelled order from the schedule once the caller's transaction has committed.
+     */
+    void orderRemoved(Long orderId);
+
+    /**
+     * Drops started orders from the schedule and takes the stock the starts left on their (locked)
+     * materials, once the caller's transaction has committed.
+     */
+    void ordersStarted(Collection<Long> orderIds, List<MaterialStockView> materials);
+
+    /**
+     * Re-reads the stock of materials changed outside production starts (supply orders, edits) once
+     * the caller's transaction has committed.
+     */
+    void stockChanged(Collection<Long> materialIds);
+}
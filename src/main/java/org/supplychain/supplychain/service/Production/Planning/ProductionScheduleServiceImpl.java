@@ -0,0 +1,222 @@
+package org.supplychain.supplychain.service.Production.Planning;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
+import org.supplychain.supplychain.dto.planning.ScheduleOrderView;
+import org.supplychain.supplychain.dto.planning.ScheduleResultDTO;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.model.ProductionOrder;
+import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps one {@link ProductionSchedule} of the EN_ATTENTE orders in memory and writes its dates to
+ * {@code production_orders}.
+ * <p>
+ * {@link #reschedule()} (on demand, and on {@code production.schedule.cron}) builds it from the
+ * database; order creation, update and cancellation then move single orders in it, and only the rows
+ * whose dates changed are written, in one JDBC batch. Material stock changed by production starts,
+ * supply orders or edits is re-read and replaces the stock the schedule started from. Until the
+ * first rebuild nothing is scheduled.
+ */
+@Service
+@Slf4j
+public class ProductionScheduleServiceImpl implements ProductionScheduleService {
+
+    private final ProductionOrderRepository productionOrderRepository;
+    private final BomRequirementCache bomRequirementCache;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int dailyCapacityHours;
+    private final Set<DayOfWeek> workingDays;
+    private final String updateDatesSql;
+
+    private ProductionSchedule schedule;
+
+    public ProductionScheduleServiceImpl(ProductionOrderRepository productionOrderRepository,
+                                         BomRequirementCache bomRequirementCache,
+                                         RawMaterialRepository rawMaterialRepository,
+                                         JdbcTemplate jdbcTemplate,
+                                         EntityManagerFactory entityManagerFactory,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${production.schedule.daily-capacity-hours:8}") int dailyCapacityHours,
+                                         @Value("${production.schedule.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+                                         Set<DayOfWeek> workingDays) {
+        this.productionOrderRepository = productionOrderRepository;
+        this.bomRequirementCache = bomRequirementCache;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // incremental updates run after the caller committed, in their own transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dailyCapacityHours = dailyCapacityHours;
+        this.workingDays = EnumSet.copyOf(workingDays);
+
+        // column names depend on the naming strategy of the profile
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(ProductionOrder.class);
+        this.updateDatesSql = "UPDATE " + persister.getTableName()
+                + " SET " + persister.getPropertyColumnNames("StartDate")[0] + " = ?, "
+                + persister.getPropertyColumnNames("EndtDate")[0] + " = ?"
+                + " WHERE " + persister.getIdentifierColumnNames()[0] + " = ?";
+    }
+
+    @Scheduled(cron = "${production.schedule.cron:-}")
+    public void scheduledReschedule() {
+        ScheduleResultDTO result = reschedule();
+        log.info("Production schedule rebuilt: {} of {} orders scheduled, {} updated in {} ms",
+                result.getScheduled(), result.getOrders(), result.getUpdated(), result.getDurationMs());
+    }
+
+    @Override
+    public synchronized ScheduleResultDTO reschedule() {
+        long start = System.nanoTime();
+        int updated = transactionTemplate.execute(status -> rebuild());
+        return new ScheduleResultDTO(LocalDateTime.now(), schedule.size(), schedule.scheduled(),
+                schedule.size() - schedule.scheduled(), updated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void orderChanged(Long orderId) {
+        afterCommit(() -> replace(orderId, true));
+    }
+
+    @Override
+    public void orderRemoved(Long orderId) {
+        afterCommit(() -> replace(orderId, false));
+    }
+
+    @Override
+    public void ordersStarted(Collection<Long> orderIds, List<MaterialStockView> materials) {
+        List<Long> orders = List.copyOf(orderIds);
+        afterCommit(() -> update("start of orders " + orders, () -> {
+            List<ProductionSchedule.Change> changes = new ArrayList<>();
+            orders.forEach(orderId -> changes.addAll(schedule.remove(orderId)));
+            changes.addAll(schedule.updateStock(materials));
+            write(changes);
+        }));
+    }
+
+    @Override
+    public void stockChanged(Collection<Long> materialIds) {
+        if (materialIds.isEmpty()) {
+            return;
+        }
+        List<Long> materials = List.copyOf(materialIds);
+        afterCommit(() -> update("stock change of materials " + materials, () -> write(restock(materials))));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private void replace(Long orderId, boolean reinsert) {
+        update("order " + orderId, () -> move(orderId, reinsert));
+    }
+
+    private synchronized void update(String what, Runnable change) {
+        if (schedule == null) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> change.run());
+        } catch (RuntimeException ex) {
+            // the caller's change is committed; drop the schedule rather than keep a wrong one
+            log.warn("Incremental rescheduling of {} failed, schedule dropped until the next rebuild", what, ex);
+            schedule = null;
+        }
+    }
+
+    private List<ProductionSchedule.Change> restock(List<Long> materialIds) {
+        return materialIds.isEmpty()
+                ? List.of()
+                : schedule.updateStock(rawMaterialRepository.findStockByIds(materialIds));
+    }
+
+    private void move(Long orderId, boolean reinsert) {
+        List<ProductionSchedule.Change> changes = new ArrayList<>(schedule.remove(orderId));
+
+        Optional<ScheduleOrderView> order = reinsert
+                ? productionOrderRepository.findScheduleView(orderId, ProductionOrderStatus.EN_ATTENTE)
+                : Optional.empty();
+        if (order.isPresent()) {
+            BomRequirements bom = bomRequirementCache.get(order.get().productId());
+            List<ProductionSchedule.Change> inserted = schedule.insert(order.get(), bom);
+            if (inserted == null) {
+                // the BOM uses a material created after the last rebuild
+                rebuild();
+                return;
+            }
+            changes.addAll(inserted);
+        }
+        write(changes);
+    }
+
+    private int rebuild() {
+        ProductionSchedule fresh = new ProductionSchedule(
+                new WorkCalendar(LocalDate.now(), dailyCapacityHours, workingDays),
+                rawMaterialRepository.findAllStock());
+        List<ScheduleOrderView> orders = productionOrderRepository.findScheduleViews(ProductionOrderStatus.EN_ATTENTE);
+        List<ProductionSchedule.Change> changes = fresh.load(orders,
+                bomRequirementCache.getAll(orders.stream().map(ScheduleOrderView::productId).distinct().toList()));
+        schedule = fresh;
+        return write(changes);
+    }
+
+    private int write(List<ProductionSchedule.Change> changes) {
+        // an order moved twice in one update keeps its last dates
+        Map<Long, ProductionSchedule.Change> last = new LinkedHashMap<>();
+        changes.forEach(change -> last.put(change.orderId(), change));
+        List<Object[]> rows = new ArrayList<>(last.size());
+        for (ProductionSchedule.Change change : last.values()) {
+            rows.add(new Object[]{
+                    change.startDate() == null ? null : Date.valueOf(change.startDate()),
+                    change.endDate() == null ? null : Date.valueOf(change.endDate()),
+                    change.orderId()});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(updateDatesSql, rows, new int[]{Types.DATE, Types.DATE, Types.BIGINT});
+        }
+        return rows.size();
+    }
+}
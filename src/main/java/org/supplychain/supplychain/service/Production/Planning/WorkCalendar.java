@@ -0,0 +1,47 @@
+package org.supplychain.supplychain.service.Production.Planning;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Working days from an origin date, each offering the same number of capacity hours.
+ * Capacity is addressed as hours since the start of the origin day: hour {@code h} falls on
+ * working day {@code h / dailyCapacity}.
+ */
+public final class WorkCalendar {
+
+    private final LocalDate origin;
+    private final long dailyCapacity;
+    // day offsets of the working days in the first week after the origin, the pattern repeats weekly
+    private final int[] weekOffsets;
+
+    public WorkCalendar(LocalDate origin, int dailyCapacityHours, Set<DayOfWeek> workingDays) {
+        if (dailyCapacityHours < 1 || workingDays.isEmpty()) {
+            throw new IllegalArgumentException("The calendar needs at least one working day with capacity");
+        }
+        this.origin = origin;
+        this.dailyCapacity = dailyCapacityHours;
+        this.weekOffsets = new int[workingDays.size()];
+        int k = 0;
+        for (int d = 0; d < 7; d++) {
+            if (workingDays.contains(origin.plusDays(d).getDayOfWeek())) {
+                weekOffsets[k++] = d;
+            }
+        }
+    }
+
+    public LocalDate getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Epoch day of the working day that holds capacity hour {@code hour}.
+     */
+    public int epochDayOf(long hour) {
+        long workingDay = hour / dailyCapacity;
+        long weeks = workingDay / weekOffsets.length;
+        int day = weekOffsets[(int) (workingDay % weekOffsets.length)];
+        return (int) (origin.toEpochDay() + weeks * 7 + day);
+    }
+}
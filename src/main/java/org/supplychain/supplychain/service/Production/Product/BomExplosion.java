@@ -0,0 +1,204 @@
+package org.supplychain.supplychain.service.Production.Product;
+
+import org.supplychain.supplychain.dto.planning.BomLineView;
+import org.supplychain.supplychain.exception.BomCycleException;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Explodes multi-level BOMs into leaf-material requirements.
+ * <p>
+ * A BOM line is either a raw material or a component, i.e. another product with its own BOM. One
+ * unit of a product needs its own materials plus, for every component line, the component's
+ * requirements times the line quantity. Products are walked depth first and combined in post
+ * order, components before the products using them, so a component shared by many parents is
+ * exploded once. Requirement vectors are sorted by material id and combined by merging, the work
+ * is linear in edges times vector size. A product met again while it is still on the path is a
+ * cycle.
+ */
+public final class BomExplosion {
+
+    private BomExplosion() {
+    }
+
+    /**
+     * Direct BOM of one product: material lines and component lines, each sorted by id, duplicate
+     * lines summed.
+     */
+    public record Node(long[] materialIds, int[] materialQuantities, long[] componentIds, int[] componentQuantities) {
+
+        static final Node EMPTY = new Node(new long[0], new int[0], new long[0], new int[0]);
+    }
+
+    /**
+     * Groups BOM lines by product. Products without lines are absent from the result.
+     */
+    public static Map<Long, Node> nodesFromLines(List<BomLineView> lines) {
+        Map<Long, TreeMap<Long, Integer>> materials = new HashMap<>();
+        Map<Long, TreeMap<Long, Integer>> components = new HashMap<>();
+        for (BomLineView line : lines) {
+            if (line.materialId() != null) {
+                materials.computeIfAbsent(line.productId(), id -> new TreeMap<>())
+                        .merge(line.materialId(), line.quantity(), Integer::sum);
+            } else {
+                components.computeIfAbsent(line.productId(), id -> new TreeMap<>())
+                        .merge(line.componentId(), line.quantity(), Integer::sum);
+            }
+        }
+        Set<Long> productIds = new HashSet<>(materials.keySet());
+        productIds.addAll(components.keySet());
+
+        Map<Long, Node> nodes = new HashMap<>();
+        for (Long productId : productIds) {
+            TreeMap<Long, Integer> m = materials.getOrDefault(productId, new TreeMap<>());
+            TreeMap<Long, Integer> c = components.getOrDefault(productId, new TreeMap<>());
+            nodes.put(productId, new Node(
+                    m.keySet().stream().mapToLong(Long::longValue).toArray(),
+                    m.values().stream().mapToInt(Integer::intValue).toArray(),
+                    c.keySet().stream().mapToLong(Long::longValue).toArray(),
+                    c.values().stream().mapToInt(Integer::intValue).toArray()));
+        }
+        return nodes;
+    }
+
+    /**
+     * @param roots products to explode
+     * @param nodes direct BOMs; a product absent from it has no lines
+     * @param known requirements computed earlier, {@code null} if unknown; they are not walked again
+     * @return requirements of every root and of every component exploded on the way
+     * @throws BomCycleException if a product contains itself
+     */
+    public static Map<Long, BomRequirements> explode(Collection<Long> roots,
+                                                      Map<Long, Node> nodes,
+                                                      Function<Long, BomRequirements> known) {
+        Map<Long, BomRequirements> exploded = new HashMap<>();
+        Function<Long, BomRequirements> resolved = productId -> {
+            BomRequirements requirements = exploded.get(productId);
+            return requirements != null ? requirements : known.apply(productId);
+        };
+        Accumulator accumulator = new Accumulator();
+        Set<Long> onPath = new HashSet<>();
+        ArrayDeque<Frame> path = new ArrayDeque<>();
+
+        for (Long root : roots) {
+            BomRequirements requirements = resolved.apply(root);
+            if (requirements != null) {
+                exploded.put(root, requirements);
+                continue;
+            }
+            path.push(new Frame(root, nodes.getOrDefault(root, Node.EMPTY)));
+            onPath.add(root);
+            while (!path.isEmpty()) {
+                Frame frame = path.peek();
+                long[] components = frame.node.componentIds();
+                if (frame.next < components.length) {
+                    Long component = components[frame.next++];
+                    if (resolved.apply(component) != null) {
+                        continue;
+                    }
+                    if (!onPath.add(component)) {
+                        throw new BomCycleException("Cycle dans la nomenclature : le produit " + component +
+                                " se contient lui-même via " + frame.productId);
+                    }
+                    path.push(new Frame(component, nodes.getOrDefault(component, Node.EMPTY)));
+                } else {
+                    path.pop();
+                    onPath.remove(frame.productId);
+                    exploded.put(frame.productId, accumulator.combine(frame.node, resolved));
+                }
+            }
+        }
+        return exploded;
+    }
+
+    private static final class Frame {
+
+        private final Long productId;
+        private final Node node;
+        private int next;
+
+        Frame(Long productId, Node node) {
+            this.productId = productId;
+            this.node = node;
+        }
+    }
+
+    /**
+     * Sorted merge buffers, reused across the products of one explosion.
+     */
+    private static final class Accumulator {
+
+        private long[] ids = new long[16];
+        private long[] quantities = new long[16];
+        private long[] nextIds = new long[16];
+        private long[] nextQuantities = new long[16];
+        private int size;
+
+        // the node's own materials, then each component's requirements times the line quantity
+        BomRequirements combine(Node node, Function<Long, BomRequirements> resolved) {
+            size = node.materialIds().length;
+            ensure(size);
+            System.arraycopy(node.materialIds(), 0, ids, 0, size);
+            for (int i = 0; i < size; i++) {
+                quantities[i] = node.materialQuantities()[i];
+            }
+            for (int c = 0; c < node.componentIds().length; c++) {
+                add(resolved.apply(node.componentIds()[c]), node.componentQuantities()[c]);
+            }
+
+            int[] total = new int[size];
+            for (int i = 0; i < size; i++) {
+                total[i] = Math.toIntExact(quantities[i]);
+            }
+            return BomRequirements.of(Arrays.copyOf(ids, size), total);
+        }
+
+        private void add(BomRequirements requirements, int times) {
+            int capacity = size + requirements.size();
+            if (nextIds.length < capacity) {
+                nextIds = new long[capacity * 2];
+                nextQuantities = new long[capacity * 2];
+            }
+            int a = 0;
+            int b = 0;
+            int n = 0;
+            while (a < size || b < requirements.size()) {
+                long idA = a < size ? ids[a] : Long.MAX_VALUE;
+                long idB = b < requirements.size() ? requirements.materialId(b) : Long.MAX_VALUE;
+                if (idA < idB) {
+                    nextIds[n] = idA;
+                    nextQuantities[n++] = quantities[a++];
+                } else if (idB < idA) {
+                    nextIds[n] = idB;
+                    nextQuantities[n++] = requirements.required(b++, times);
+                } else {
+                    nextIds[n] = idA;
+                    nextQuantities[n++] = quantities[a++] + requirements.required(b++, times);
+                }
+            }
+            long[] swapIds = ids;
+            long[] swapQuantities = quantities;
+            ids = nextIds;
+            quantities = nextQuantities;
+            nextIds = swapIds;
+            nextQuantities = swapQuantities;
+            size = n;
+        }
+
+        private void ensure(int capacity) {
+            if (ids.length < capacity) {
+                ids = new long[capacity * 2];
+                quantities = new long[capacity * 2];
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.supplychain.supplychain.service.Production.Product;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exploded {@link BomRequirements} per product id, loaded on first use.
+ * <p>
+ * A hit is one map lookup and allocates nothing. A miss reads the BOM lines of the missing products
+ * and of their components level by level, one query per level, stopping at components already
+ * cached, then explodes them with {@link BomExplosion}. Every component exploded on the way is
+ * kept too. The entries are small, one per product, so the map is not bounded.
+ * <p>
+ * The cache remembers which products use each component. {@link ProductService} evicts a product
+ * when its BOM is written: the product and every product above it, right away and again once the
+ * transaction completes, like {@link org.supplychain.supplychain.service.approvisionnement.RawMaterialCache}.
+ * A load that overlaps an eviction is returned but not kept, so a BOM read before a change cannot
+ * outlive it.
+ */
+@Component
+@RequiredArgsConstructor
+public class BomRequirementCache {
+
+    private final BillOfMaterialRepository billOfMaterialRepository;
+
+    private final Map<Long, BomRequirements> requirements = new ConcurrentHashMap<>();
+    // component id -> products whose BOM lists it; may keep stale edges, which only evict more
+    private final Map<Long, Set<Long>> usedIn = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BomRequirements get(Long productId) {
+        BomRequirements cached = requirements.get(productId);
+        if (cached != null) {
+            return cached;
+        }
+        return getAll(List.of(productId)).get(productId);
+    }
+
+    /**
+     * Requirements of several products, the missing ones loaded in one query per BOM level.
+     */
+    public Map<Long, BomRequirements> getAll(Collection<Long> productIds) {
+        Map<Long, BomRequirements> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            BomRequirements cached = requirements.get(productId);
+            if (cached != null) {
+                found.put(productId, cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = evictions.get();
+            Map<Long, BomRequirements> cachedComponents = new HashMap<>();
+            Map<Long, BomExplosion.Node> nodes = loadNodes(missing, cachedComponents);
+            nodes.forEach((productId, node) -> {
+                for (long componentId : node.componentIds()) {
+                    usedIn.computeIfAbsent(componentId, id -> ConcurrentHashMap.newKeySet()).add(productId);
+                }
+            });
+            Map<Long, BomRequirements> exploded = BomExplosion.explode(missing, nodes, cachedComponents::get);
+            keep(generation, exploded);
+            missing.forEach(productId -> found.put(productId, exploded.get(productId)));
+        }
+        return found;
+    }
+
+    /**
+     * Evicts the product and, transitively, every product using it as a component.
+     */
+    public void evict(Long productId) {
+        evictNow(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(productId);
+                }
+            });
+        }
+    }
+
+    // walks down from the products until every component is cached or has been read; the cached
+    // components met are copied, an eviction during the walk must not leave a hole in the explosion
+    private Map<Long, BomExplosion.Node> loadNodes(List<Long> productIds, Map<Long, BomRequirements> cachedComponents) {
+        Map<Long, BomExplosion.Node> nodes = new HashMap<>();
+        Set<Long> read = new HashSet<>(productIds);
+        List<Long> level = productIds;
+        while (!level.isEmpty()) {
+            Map<Long, BomExplosion.Node> loaded = BomExplosion.nodesFromLines(
+                    billOfMaterialRepository.findLinesByProductIds(level));
+            nodes.putAll(loaded);
+            List<Long> next = new ArrayList<>();
+            for (BomExplosion.Node node : loaded.values()) {
+                for (long componentId : node.componentIds()) {
+                    if (!read.add(componentId)) {
+                        continue;
+                    }
+                    BomRequirements cached = requirements.get(componentId);
+                    if (cached != null) {
+                        cachedComponents.put(componentId, cached);
+                    } else {
+                        next.add(componentId);
+                    }
+                }
+            }
+            level = next;
+        }
+        return nodes;
+    }
+
+    private void evictNow(Long productId) {
+        evictions.incrementAndGet();
+        Set<Long> visited = new HashSet<>();
+        ArrayDeque<Long> pending = new ArrayDeque<>();
+        pending.add(productId);
+        while (!pending.isEmpty()) {
+            Long current = pending.poll();
+            if (visited.add(current)) {
+                requirements.remove(current);
+                pending.addAll(usedIn.getOrDefault(current, Set.of()));
+            }
+        }
+    }
+
+    private void keep(long generation, Map<Long, BomRequirements> loaded) {
+        loaded.forEach((productId, bom) -> {
+            if (evictions.get() != generation) {
+                return;
+            }
+            requirements.putIfAbsent(productId, bom);
+            // an eviction between the check and the put has already run its remove: undo the put
+            if (evictions.get() != generation) {
+                requirements.remove(productId, bom);
+            }
+        });
+    }
+}
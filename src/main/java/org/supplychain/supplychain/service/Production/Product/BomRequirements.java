@@ -0,0 +1,49 @@
+package org.supplychain.supplychain.service.Production.Product;
+
+import java.util.Arrays;
+
+/**
+ * Material requirements of one unit of a product, as parallel arrays sorted by material id.
+ * A material that appears on several BOM lines is summed into one entry. Immutable: reading it
+ * allocates nothing. For a multi-level BOM these are the leaf materials, see {@link BomExplosion}.
+ */
+public final class BomRequirements {
+
+    public static final BomRequirements EMPTY = new BomRequirements(new long[0], new int[0]);
+
+    private final long[] materialIds;
+    private final int[] quantities;
+
+    private BomRequirements(long[] materialIds, int[] quantities) {
+        this.materialIds = materialIds;
+        this.quantities = quantities;
+    }
+
+    public int size() {
+        return materialIds.length;
+    }
+
+    public long materialId(int line) {
+        return materialIds[line];
+    }
+
+    public int quantity(int line) {
+        return quantities[line];
+    }
+
+    /**
+     * Quantity of the material on {@code line} needed for {@code units} of the product.
+     */
+    public long required(int line, int units) {
+        return (long) quantities[line] * units;
+    }
+
+    static BomRequirements of(long[] materialIds, int[] quantities) {
+        return materialIds.length == 0 ? EMPTY : new BomRequirements(materialIds, quantities);
+    }
+
+    @Override
+    public String toString() {
+        return "BomRequirements" + Arrays.toString(materialIds) + "x" + Arrays.toString(quantities);
+    }
+}
@@ -1,14 +1,22 @@
 package org.supplychain.supplychain.service.Production.Product;
 
+import org.supplychain.supplychain.conditional.ResourceStamp;
+import org.supplychain.supplychain.dto.product.ProducibleQuantityDTO;
 import org.supplychain.supplychain.dto.product.ProductDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ProductService {
     ProductDTO createProduct(ProductDTO productDTO);
     ProductDTO updateProduct(Long id, ProductDTO productDTO);
     void deleteProduct(Long id);
     ProductDTO getProductById(Long id);
     Page<ProductDTO> getAllProducts(Pageable pageable);
+    ProducibleQuantityDTO getProducibleQuantity(Long id);
+    List<ProducibleQuantityDTO> getProducibleQuantities(List<Long> productIds);
+    ResourceStamp getProductStamp(Long id);
+    ResourceStamp getProductsStamp();
 
 }
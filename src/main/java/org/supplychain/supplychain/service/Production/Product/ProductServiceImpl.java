@@ -5,10 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.dto.BOM.BillOfMaterialDTO;
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
+import org.supplychain.supplychain.dto.product.ProducibleQuantityDTO;
 import org.supplychain.supplychain.dto.product.ProductDTO;
 import org.supplychain.supplychain.enums.OrderStatus;
 import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.exception.BomCycleException;
 import org.supplychain.supplychain.exception.DuplicateResourceException;
 import org.supplychain.supplychain.exception.ResourceInUseException;
 import org.supplychain.supplychain.exception.ResourceNotFoundException;
@@ -19,18 +23,35 @@ import org.supplychain.supplychain.model.RawMaterial;
 import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
 import org.supplychain.supplychain.repository.Production.ProductRepository;
 import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Inventory.ProductStockService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    // en dessous, le calcul séquentiel coûte moins que la répartition sur le pool commun
+    private static final int PARALLEL_THRESHOLD = 1_000;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final BillOfMaterialRepository bomRepository;
     private final RawMaterialRepository rawMaterialRepository;
+    private final BomRequirementCache bomRequirementCache;
+    private final ProductStockService productStockService;
 
     @Override
     @Transactional
@@ -50,23 +71,16 @@ public class ProductServiceImpl implements ProductService {
         Product savedProduct = productRepository.save(product);
 
 
-        List<BillOfMaterial> bomList = new ArrayList<>();
-
-        for (BillOfMaterialDTO bomDTO : productDTO.getBillOfMaterials()) {
-            RawMaterial rawMaterial = rawMaterialRepository.findById(bomDTO.getMaterialId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Matière première non trouvée avec l'ID : " + bomDTO.getMaterialId()));
-
-            BillOfMaterial bom = new BillOfMaterial();
-            bom.setProduct(savedProduct);
-            bom.setMaterial(rawMaterial);
-            bom.setQuantity(bomDTO.getQuantity());
-
-            bomList.add(bom);
-        }
+        // un produit neuf n'est le composant d'aucun autre : pas de cycle possible
+        BomReferences references = resolveReferences(productDTO.getBillOfMaterials());
+        List<BillOfMaterial> bomList = productDTO.getBillOfMaterials().stream()
+                .map(bomDTO -> newBomLine(savedProduct, bomDTO, references))
+                .toList();
 
         bomRepository.saveAll(bomList);
-        savedProduct.setBillOfMaterials(bomList);
+        // ajout à la collection existante : la remplacer ferait réécrire la ligne du produit
+        savedProduct.getBillOfMaterials().addAll(bomList);
+        bomRequirementCache.evict(savedProduct.getId());
 
 
         return productMapper.toDTO(savedProduct);
@@ -75,35 +89,25 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
-        Product existingProduct = productRepository.findById(id)
+        Product existingProduct = productRepository.findByIdWithBillOfMaterials(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Produit non trouvé avec l'ID : " + id));
 
         if (productRepository.existsByNameAndIdNot(productDTO.getName(), id)) {
             throw new DuplicateResourceException("Un autre produit avec le nom '" + productDTO.getName() + "' existe déjà");
         }
 
+        Integer stock = existingProduct.getStock();
         productMapper.updateEntityFromDTO(productDTO, existingProduct);
+        if (!productStockService.acceptsStockEdits()) {
+            // le stock appartient au ledger : la valeur du DTO est ignorée
+            existingProduct.setStock(stock);
+        }
 
-        if (productDTO.getBillOfMaterials() != null && !productDTO.getBillOfMaterials().isEmpty()) {
-            bomRepository.deleteByProductId(id);
-            bomRepository.flush();
-
-            List<BillOfMaterial> bomList = new ArrayList<>();
-            for (BillOfMaterialDTO bomDTO : productDTO.getBillOfMaterials()) {
-                RawMaterial rawMaterial = rawMaterialRepository.findById(bomDTO.getMaterialId())
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                "Matière première non trouvée avec l'ID : " + bomDTO.getMaterialId()));
-
-                BillOfMaterial bom = new BillOfMaterial();
-                bom.setProduct(existingProduct);
-                bom.setMaterial(rawMaterial);
-                bom.setQuantity(bomDTO.getQuantity());
-
-                bomList.add(bom);
-            }
-
-            bomRepository.saveAll(bomList);
-            existingProduct.setBillOfMaterials(bomList);
+        if (productDTO.getBillOfMaterials() != null && !productDTO.getBillOfMaterials().isEmpty()
+                && applyBomChanges(existingProduct, productDTO.getBillOfMaterials())) {
+            // les lignes de BOM font partie de la représentation du produit : nouvelle version
+            existingProduct.setUpdatedDate(LocalDateTime.now());
+            bomRequirementCache.evict(id);
         }
 
         Product updatedProduct = productRepository.save(existingProduct);
@@ -143,7 +147,17 @@ public class ProductServiceImpl implements ProductService {
                             "Veuillez d'abord terminer ou bloquer ces ordres."
             );
         }
+        // Vérifier si le produit est un sous-ensemble dans le BOM d'autres produits
+        long usedAsComponent = bomRepository.countByComponentId(id);
+
+        if (usedAsComponent > 0) {
+            throw new ResourceInUseException(
+                    "Impossible de supprimer le produit. Il est utilisé comme composant dans " +
+                            usedAsComponent + " ligne(s) de BOM."
+            );
+        }
         productRepository.delete(product);
+        bomRequirementCache.evict(id);
     }
 
     @Override
@@ -161,4 +175,252 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findAll(pageable)
                 .map(productMapper::toDTO);
     }
-}
\ No newline at end of file
+
+    /**
+     * The product row plus the materials and components its BOM lines name.
+     *
+     * @return {@code null} if the product does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceStamp getProductStamp(Long id) {
+        ResourceStamp product = productRepository.findStampById(id);
+        if (product.rows() == 0) {
+            return null;
+        }
+        return product.and(bomRepository.findReferencesStampByProductId(id));
+    }
+
+    // BOM lines show material names, a page of products depends on both tables
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceStamp getProductsStamp() {
+        return productRepository.findTableStamp().and(rawMaterialRepository.findTableStamp());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProducibleQuantityDTO getProducibleQuantity(Long id) {
+        return getProducibleQuantities(List.of(id)).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProducibleQuantityDTO> getProducibleQuantities(List<Long> productIds) {
+        List<Long> ids = productIds.stream().distinct().toList();
+
+        // ------------------------------------------------------------
+        // 1. Produits demandés (une requête)
+        // ------------------------------------------------------------
+        Map<Long, String> names = new HashMap<>();
+        productRepository.findAllById(ids).forEach(product -> names.put(product.getId(), product.getName()));
+        List<Long> missing = ids.stream().filter(id -> !names.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(missing.size() == 1
+                    ? "Produit non trouvé avec l'ID : " + missing.get(0)
+                    : "Produits non trouvés avec les IDs : " + missing);
+        }
+
+        // ------------------------------------------------------------
+        // 2. BOM éclatés (cache), puis le stock de toutes leurs matières en une requête
+        // ------------------------------------------------------------
+        Map<Long, BomRequirements> boms = bomRequirementCache.getAll(ids);
+        Set<Long> materialIds = new TreeSet<>();
+        for (BomRequirements bom : boms.values()) {
+            for (int line = 0; line < bom.size(); line++) {
+                materialIds.add(bom.materialId(line));
+            }
+        }
+        AvailableStock stock = new AvailableStock(materialIds.isEmpty()
+                ? List.of()
+                : rawMaterialRepository.findStockByIds(materialIds));
+
+        // ------------------------------------------------------------
+        // 3. Calcul en mémoire, en parallèle pour les longues listes
+        // ------------------------------------------------------------
+        Stream<Long> products = ids.size() >= PARALLEL_THRESHOLD ? ids.parallelStream() : ids.stream();
+        return products
+                .map(id -> stock.producible(id, names.get(id), boms.get(id)))
+                .toList();
+    }
+
+    /**
+     * Aligne le BOM enregistré sur celui reçu : seules les lignes changées sont écrites (quantité
+     * modifiée, ligne ajoutée, ligne retirée), en batch au flush. Une ligne est reconnue par sa
+     * matière ou son composant ; si la même référence figure sur plusieurs lignes, elles sont
+     * appariées dans l'ordre.
+     *
+     * @return false si le BOM reçu est identique au BOM enregistré
+     */
+    private boolean applyBomChanges(Product product, List<BillOfMaterialDTO> bomDTOs) {
+        Map<BomKey, ArrayDeque<BillOfMaterial>> stored = new HashMap<>();
+        for (BillOfMaterial line : product.getBillOfMaterials()) {
+            stored.computeIfAbsent(BomKey.of(line), key -> new ArrayDeque<>()).add(line);
+        }
+
+        List<BillOfMaterialDTO> added = new ArrayList<>();
+        boolean changed = false;
+        for (BillOfMaterialDTO bomDTO : bomDTOs) {
+            ArrayDeque<BillOfMaterial> candidates = stored.get(BomKey.of(bomDTO));
+            BillOfMaterial line = candidates == null ? null : candidates.poll();
+            if (line == null) {
+                added.add(bomDTO);
+            } else if (!line.getQuantity().equals(bomDTO.getQuantity())) {
+                line.setQuantity(bomDTO.getQuantity());
+                changed = true;
+            }
+        }
+        List<BillOfMaterial> removed = stored.values().stream().flatMap(ArrayDeque::stream).toList();
+
+        if (!added.isEmpty()) {
+            BomReferences references = resolveReferences(added);
+            List<BillOfMaterial> inserted = added.stream()
+                    .map(bomDTO -> newBomLine(product, bomDTO, references))
+                    .toList();
+            checkNoCycle(product.getId(), inserted);
+            bomRepository.saveAll(inserted);
+            product.getBillOfMaterials().addAll(inserted);
+        }
+        if (!removed.isEmpty()) {
+            // par identité : equals de l'entité parcourt le produit
+            Set<Long> removedIds = removed.stream().map(BillOfMaterial::getIdBOM).collect(Collectors.toSet());
+            product.getBillOfMaterials().removeIf(line -> removedIds.contains(line.getIdBOM()));
+            bomRepository.deleteAll(removed);
+        }
+        return changed || !added.isEmpty() || !removed.isEmpty();
+    }
+
+    /**
+     * Matières et composants référencés par les lignes, chacun chargé en une seule requête.
+     */
+    private BomReferences resolveReferences(List<BillOfMaterialDTO> bomDTOs) {
+        Set<Long> materialIds = new LinkedHashSet<>();
+        Set<Long> componentIds = new LinkedHashSet<>();
+        for (BillOfMaterialDTO bomDTO : bomDTOs) {
+            if (bomDTO.getComponentId() != null) {
+                componentIds.add(bomDTO.getComponentId());
+            } else {
+                materialIds.add(bomDTO.getMaterialId());
+            }
+        }
+
+        Map<Long, RawMaterial> materials = new HashMap<>();
+        if (!materialIds.isEmpty()) {
+            rawMaterialRepository.findAllById(materialIds)
+                    .forEach(material -> materials.put(material.getIdMaterial(), material));
+        }
+        for (Long materialId : materialIds) {
+            if (!materials.containsKey(materialId)) {
+                throw new ResourceNotFoundException("Matière première non trouvée avec l'ID : " + materialId);
+            }
+        }
+
+        Map<Long, Product> components = new HashMap<>();
+        if (!componentIds.isEmpty()) {
+            productRepository.findAllById(componentIds)
+                    .forEach(component -> components.put(component.getId(), component));
+        }
+        for (Long componentId : componentIds) {
+            if (!components.containsKey(componentId)) {
+                throw new ResourceNotFoundException("Produit composant non trouvé avec l'ID : " + componentId);
+            }
+        }
+        return new BomReferences(materials, components);
+    }
+
+    private static BillOfMaterial newBomLine(Product product, BillOfMaterialDTO bomDTO, BomReferences references) {
+        BillOfMaterial bom = new BillOfMaterial();
+        bom.setProduct(product);
+        bom.setQuantity(bomDTO.getQuantity());
+        if (bomDTO.getComponentId() != null) {
+            bom.setComponent(references.components().get(bomDTO.getComponentId()));
+        } else {
+            bom.setMaterial(references.materials().get(bomDTO.getMaterialId()));
+        }
+        return bom;
+    }
+
+    /**
+     * Refuse un BOM dont un composant contient déjà le produit, directement ou à un niveau plus bas.
+     * Parcours en largeur des composants enregistrés : une requête par niveau.
+     */
+    private void checkNoCycle(Long productId, List<BillOfMaterial> bomList) {
+        Set<Long> visited = new HashSet<>();
+        List<Long> level = bomList.stream()
+                .filter(bom -> bom.getComponent() != null)
+                .map(bom -> bom.getComponent().getId())
+                .distinct()
+                .toList();
+
+        while (!level.isEmpty()) {
+            if (level.contains(productId)) {
+                throw new BomCycleException("Cycle dans la nomenclature : le produit " + productId +
+                        " ne peut pas être son propre composant, directement ou via un sous-ensemble");
+            }
+            visited.addAll(level);
+            level = bomRepository.findComponentIdsByProductIds(level).stream()
+                    .filter(id -> !visited.contains(id))
+                    .toList();
+        }
+    }
+
+    /**
+     * Stock disponible (stock - réservé, jamais négatif) des matières, trié par id. Lecture seule :
+     * partagé sans verrou entre les threads du calcul parallèle.
+     */
+    private static final class AvailableStock {
+
+        private final List<MaterialStockView> materials;
+        private final long[] ids;
+        private final long[] available;
+
+        AvailableStock(List<MaterialStockView> materials) {
+            this.materials = materials;
+            this.ids = materials.stream().mapToLong(MaterialStockView::materialId).toArray();
+            this.available = materials.stream()
+                    .mapToLong(m -> Math.max(0, (long) m.stock() - m.reservedStock()))
+                    .toArray();
+        }
+
+        // min(floor(disponible / quantité)) sur les lignes du BOM éclaté
+        ProducibleQuantityDTO producible(Long productId, String productName, BomRequirements bom) {
+            long producible = Long.MAX_VALUE;
+            int limiting = -1;
+            for (int line = 0; line < bom.size(); line++) {
+                int m = Arrays.binarySearch(ids, bom.materialId(line));
+                if (m < 0) {
+                    throw new IllegalStateException("Matière " + bom.materialId(line) + " introuvable");
+                }
+                long units = available[m] / bom.quantity(line);
+                if (units < producible) {
+                    producible = units;
+                    limiting = m;
+                }
+            }
+            if (limiting < 0) {
+                return new ProducibleQuantityDTO(productId, productName, null, null, null);
+            }
+            MaterialStockView material = materials.get(limiting);
+            return new ProducibleQuantityDTO(productId, productName, producible, material.materialId(), material.name());
+        }
+    }
+
+    private record BomReferences(Map<Long, RawMaterial> materials, Map<Long, Product> components) {
+    }
+
+    // référence d'une ligne de BOM : une matière ou un composant
+    private record BomKey(boolean component, Long id) {
+
+        static BomKey of(BillOfMaterial line) {
+            return line.getComponent() != null
+                    ? new BomKey(true, line.getComponent().getId())
+                    : new BomKey(false, line.getMaterial().getIdMaterial());
+        }
+
+        static BomKey of(BillOfMaterialDTO line) {
+            return line.getComponentId() != null
+                    ? new BomKey(true, line.getComponentId())
+                    : new BomKey(false, line.getMaterialId());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.supplychain.supplychain.service.Production.ProductionOrder;
+
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stock des matières verrouillées, décompté en mémoire puis réécrit une fois par matière.
+ * <p>
+ * Utilisé par {@link ProductionOrderServiceImpl} au démarrage des ordres.
+ */
+final class LockedStock {
+
+    private final List<RawMaterial> materials;
+    private final long[] ids;
+    private final long[] stock;
+
+    // matières triées par id (ordre du verrouillage)
+    LockedStock(List<RawMaterial> materials) {
+        this.materials = materials;
+        this.ids = materials.stream().mapToLong(RawMaterial::getIdMaterial).toArray();
+        this.stock = materials.stream().mapToLong(RawMaterial::getStock).toArray();
+    }
+
+    // message de la première matière manquante, null si tout est couvert
+    String shortage(BomRequirements bom, int quantity) {
+        for (int line = 0; line < bom.size(); line++) {
+            int m = indexOf(bom.materialId(line));
+            long required = bom.required(line, quantity);
+            if (required > stock[m]) {
+                return "Stock insuffisant pour la matière '" + materials.get(m).getName() +
+                        "' (ID " + ids[m] + ") : requis " + required + ", disponible " + stock[m];
+            }
+        }
+        return null;
+    }
+
+    void take(BomRequirements bom, int quantity) {
+        for (int line = 0; line < bom.size(); line++) {
+            stock[indexOf(bom.materialId(line))] -= bom.required(line, quantity);
+        }
+    }
+
+    // reporte le stock sur les entités modifiées, renvoie leurs ids
+    List<Long> write() {
+        List<Long> changed = new ArrayList<>();
+        for (int m = 0; m < ids.length; m++) {
+            RawMaterial material = materials.get(m);
+            if (stock[m] != material.getStock()) {
+                material.setStock((int) stock[m]);
+                changed.add(ids[m]);
+            }
+        }
+        return changed;
+    }
+
+    // stock des matières verrouillées, tel qu'il sera validé (à appeler après write)
+    List<MaterialStockView> views() {
+        List<MaterialStockView> views = new ArrayList<>(materials.size());
+        for (RawMaterial material : materials) {
+            views.add(new MaterialStockView(material.getIdMaterial(), material.getName(), material.getUnit(),
+                    material.getStock(), material.getReservedStock()));
+        }
+        return views;
+    }
+
+    private int indexOf(long materialId) {
+        int m = Arrays.binarySearch(ids, materialId);
+        if (m < 0) {
+            // le BOM en cache ne correspond plus aux matières verrouillées
+            throw new IllegalStateException("Matière " + materialId + " absente du BOM verrouillé");
+        }
+        return m;
+    }
+}
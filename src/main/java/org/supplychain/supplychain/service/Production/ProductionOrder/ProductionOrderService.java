@@ -3,7 +3,12 @@ package org.supplychain.supplychain.service.Production.ProductionOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.supplychain.supplychain.dto.productionorder.ProductionOrderDTO;
+import org.supplychain.supplychain.dto.productionorder.ProductionStartBatchResultDTO;
 import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
+
+import java.util.List;
 
 public interface ProductionOrderService {
 
@@ -20,10 +25,19 @@ public interface ProductionOrderService {
     Page<ProductionOrderDTO> getAllProductionOrders(Pageable pageable);
 
 
+    CursorPageDTO<ProductionOrderDTO> scrollProductionOrders(KeysetRequest request);
+
+
     Page<ProductionOrderDTO> getProductionOrdersByStatus(ProductionOrderStatus status, Pageable pageable);
 
 
     ProductionOrderDTO getProductionOrderById(Long id);
 
     ProductionOrderDTO production(Long id);
+
+    /**
+     * Démarre plusieurs ordres en une transaction : les plus prioritaires sont servis d'abord sur le
+     * stock commun, ceux qu'il ne couvre plus passent BLOQUE.
+     */
+    ProductionStartBatchResultDTO startProductionBatch(List<Long> orderIds);
 }
@@ -6,29 +6,65 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.supplychain.supplychain.dto.productionorder.ProductionOrderDTO;
+import org.supplychain.supplychain.dto.productionorder.ProductionStartBatchResultDTO;
+import org.supplychain.supplychain.dto.productionorder.ProductionStartIssueDTO;
+import org.supplychain.supplychain.enums.OrderNumberType;
 import org.supplychain.supplychain.enums.Priority;
 import org.supplychain.supplychain.enums.ProductionOrderStatus;
 import org.supplychain.supplychain.exception.DuplicateResourceException;
+import org.supplychain.supplychain.exception.InsufficientStockException;
 import org.supplychain.supplychain.exception.ResourceInUseException;
 import org.supplychain.supplychain.exception.ResourceNotFoundException;
 import org.supplychain.supplychain.mapper.Production.ProductionOrderMapper;
-import org.supplychain.supplychain.model.BillOfMaterial;
 import org.supplychain.supplychain.model.Product;
 import org.supplychain.supplychain.model.ProductionOrder;
-import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetPaginator;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.repository.Production.ProductRepository;
 import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
-
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.OrderNumber.OrderNumberAllocator;
+import org.supplychain.supplychain.service.Production.Planning.ProductionScheduleService;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+import org.supplychain.supplychain.service.approvisionnement.RawMaterialCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 
 @Service
 @RequiredArgsConstructor
 public class ProductionOrderServiceImpl implements ProductionOrderService {
 
+    private static final Set<String> SORTABLE = Set.of("idOrder", "orderNumber", "quantity", "status", "priority");
+
+    private static final Set<ProductionOrderStatus> STARTABLE =
+            EnumSet.of(ProductionOrderStatus.EN_ATTENTE, ProductionOrderStatus.BLOQUE);
+
+    // priorité la plus haute d'abord, puis échéance la plus proche, puis ancienneté
+    private static final Comparator<ProductionOrder> START_ORDER = Comparator
+            .comparing(ProductionOrder::getPriority, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ProductionOrder::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ProductionOrder::getIdOrder);
+
     private final ProductionOrderRepository productionOrderRepository;
     private final ProductRepository productRepository;
+    private final RawMaterialRepository rawMaterialRepository;
     private final ProductionOrderMapper productionOrderMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final RawMaterialCache rawMaterialCache;
+    private final BomRequirementCache bomRequirementCache;
+    private final ProductionScheduleService productionScheduleService;
 
     @Override
     @Transactional
@@ -37,7 +73,10 @@ public class ProductionOrderServiceImpl implements ProductionOrderService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Produit non trouvé avec l'ID : " + dto.getProductId()));
 
-        if (productionOrderRepository.existsByOrderNumber(dto.getOrderNumber())) {
+        // numéro attribué par le serveur si le client n'en fournit pas
+        if (dto.getOrderNumber() == null || dto.getOrderNumber().isBlank()) {
+            dto.setOrderNumber(orderNumberAllocator.next(OrderNumberType.PRODUCTION));
+        } else if (productionOrderRepository.existsByOrderNumber(dto.getOrderNumber())) {
             throw new DuplicateResourceException(
                     "Un ordre avec le numéro '" + dto.getOrderNumber() + "' existe déjà");
         }
@@ -55,6 +94,7 @@ public class ProductionOrderServiceImpl implements ProductionOrderService {
         }
 
         ProductionOrder savedOrder = productionOrderRepository.save(productionOrder);
+        productionScheduleService.orderChanged(savedOrder.getIdOrder());
 
         return productionOrderMapper.toDTO(savedOrder);
     }
@@ -66,6 +106,10 @@ public class ProductionOrderServiceImpl implements ProductionOrderService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Ordre de production non trouvé avec l'ID : " + id));
 
+        if (dto.getOrderNumber() == null || dto.getOrderNumber().isBlank()) {
+            dto.setOrderNumber(existingOrder.getOrderNumber());
+        }
+
         if (!existingOrder.getOrderNumber().equals(dto.getOrderNumber()) &&
                 productionOrderRepository.existsByOrderNumber(dto.getOrderNumber())) {
             throw new DuplicateResourceException(
@@ -85,6 +129,7 @@ public class ProductionOrderServiceImpl implements ProductionOrderService {
         productionOrderMapper.updateEntityFromDTO(dto, existingOrder);
 
         ProductionOrder updatedOrder = productionOrderRepository.save(existingOrder);
+        productionScheduleService.orderChanged(id);
 
         return productionOrderMapper.toDTO(updatedOrder);
     }
@@ -104,6 +149,7 @@ public class ProductionOrderServiceImpl implements ProductionOrderService {
         }
 
         productionOrderRepository.delete(order);
+        productionScheduleService.orderRemoved(id);
     }
 
     @Override
@@ -113,6 +159,13 @@ public class ProductionOrderServiceImpl implements ProductionOrderService {
                 .map(productionOrderMapper::toDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductionOrderDTO> scrollProductionOrders(KeysetRequest request) {
+        return keysetPaginator.scroll(productionOrderRepository, ProductionOrder.class, null, SORTABLE, request,
+                productionOrderMapper::toDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProductionOrderDTO> getProductionOrdersByStatus(
@@ -134,22 +187,115 @@ public class ProductionOrderServiceImpl implements ProductionOrderService {
     }
 
     @Override
+    @Transactional
     public ProductionOrderDTO production(Long id) {
-        ProductionOrder order = productionOrderRepository.findById(id)
+        // verrouille l'ordre puis ses matières feuilles (par id croissant) : deux démarrages du même
+        // ordre se suivent, et le second relit son statut à jour
+        ProductionOrder order = productionOrderRepository.lockById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Ordre de production non trouvé avec l'ID : " + id));
 
-        List<BillOfMaterial>billOfMaterials =  order.getProduct().getBillOfMaterials();
-        billOfMaterials.stream().forEach(billOfMaterial -> {
-            if( billOfMaterial.getQuantity() * order.getQuantity() > billOfMaterial.getMaterial().getStock()){
-                throw new RuntimeException("the quatity is not enough");
-            }
-            billOfMaterial.getMaterial().setStock(billOfMaterial.getMaterial().getStock() - order.getQuantity());
+        if (!STARTABLE.contains(order.getStatus())) {
+            throw new ResourceInUseException(notStartable(order));
+        }
+
+        BomRequirements bom = bomRequirementCache.get(order.getProduct().getId());
+        LockedStock stock = lockStock(List.of(bom));
+        String shortage = stock.shortage(bom, order.getQuantity());
+        if (shortage != null) {
+            throw new InsufficientStockException(shortage);
+        }
+        stock.take(bom, order.getQuantity());
+
+        // les mises à jour partent en un seul batch JDBC au commit
+        rawMaterialCache.evict(stock.write());
 
-        });
         order.setStatus(ProductionOrderStatus.EN_PRODUCTION);
+        productionScheduleService.ordersStarted(List.of(id), stock.views());
+
+        return productionOrderMapper.toDTO(order);
+    }
+
+    @Override
+    @Transactional
+    public ProductionStartBatchResultDTO startProductionBatch(List<Long> orderIds) {
+        List<Long> ids = orderIds.stream().distinct().sorted().toList();
+
+        // ------------------------------------------------------------
+        // 1. Verrouiller les ordres (par id croissant), puis trier les démarrables
+        // ------------------------------------------------------------
+        Map<Long, ProductionOrder> found = new HashMap<>();
+        productionOrderRepository.lockAllByIdOrdered(ids)
+                .forEach(order -> found.put(order.getIdOrder(), order));
+
+        ProductionStartBatchResultDTO result = new ProductionStartBatchResultDTO();
+        List<ProductionOrder> startable = new ArrayList<>();
+        for (Long id : ids) {
+            ProductionOrder order = found.get(id);
+            if (order == null) {
+                result.getRejected().add(new ProductionStartIssueDTO(id, null,
+                        "Ordre de production non trouvé avec l'ID : " + id));
+            } else if (!STARTABLE.contains(order.getStatus())) {
+                result.getRejected().add(new ProductionStartIssueDTO(id, order.getOrderNumber(), notStartable(order)));
+            } else {
+                startable.add(order);
+            }
+        }
+
+        // ------------------------------------------------------------
+        // 2. Charger les produits en une requête, verrouiller les matières feuilles de leurs BOM
+        // ------------------------------------------------------------
+        List<Long> productIds = startable.stream().map(order -> order.getProduct().getId()).distinct().toList();
+        if (!productIds.isEmpty()) {
+            productRepository.findAllById(productIds);
+        }
+        Map<Long, BomRequirements> boms = bomRequirementCache.getAll(productIds);
+        LockedStock stock = lockStock(boms.values());
+
+        // ------------------------------------------------------------
+        // 3. Servir les ordres par priorité sur le stock restant, en mémoire
+        // ------------------------------------------------------------
+        startable.sort(START_ORDER);
+        List<Long> started = new ArrayList<>();
+        for (ProductionOrder order : startable) {
+            BomRequirements bom = boms.get(order.getProduct().getId());
+            String shortage = stock.shortage(bom, order.getQuantity());
+            if (shortage == null) {
+                stock.take(bom, order.getQuantity());
+                order.setStatus(ProductionOrderStatus.EN_PRODUCTION);
+                result.getStarted().add(productionOrderMapper.toDTO(order));
+                started.add(order.getIdOrder());
+            } else {
+                order.setStatus(ProductionOrderStatus.BLOQUE);
+                result.getBlocked().add(new ProductionStartIssueDTO(order.getIdOrder(), order.getOrderNumber(), shortage));
+                productionScheduleService.orderRemoved(order.getIdOrder());
+            }
+        }
 
-        return  productionOrderMapper.toDTO(order);
+        // ------------------------------------------------------------
+        // 4. Une seule mise à jour par matière (un batch JDBC au commit)
+        // ------------------------------------------------------------
+        rawMaterialCache.evict(stock.write());
+        productionScheduleService.ordersStarted(started, stock.views());
+
+        return result;
     }
 
+    // verrou sur les matières des BOM éclatés, toutes d'un coup et par id croissant
+    private LockedStock lockStock(Collection<BomRequirements> boms) {
+        Set<Long> materialIds = new TreeSet<>();
+        for (BomRequirements bom : boms) {
+            for (int line = 0; line < bom.size(); line++) {
+                materialIds.add(bom.materialId(line));
+            }
+        }
+        return new LockedStock(materialIds.isEmpty()
+                ? List.of()
+                : rawMaterialRepository.lockAllByIdOrdered(materialIds));
+    }
+
+    private static String notStartable(ProductionOrder order) {
+        return "Impossible de démarrer l'ordre. Seuls les ordres avec le statut EN_ATTENTE ou BLOQUE peuvent être démarrés. " +
+                "Statut actuel : " + order.getStatus();
+    }
 }
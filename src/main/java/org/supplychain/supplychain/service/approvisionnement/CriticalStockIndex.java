@@ -0,0 +1,199 @@
+package org.supplychain.supplychain.service.approvisionnement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.dto.rawmaterial.RawMaterialSummaryDTO;
+import org.supplychain.supplychain.mapper.RawMaterialMapper;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory set of the raw materials below {@code stockMin}, ordered by id.
+ * <p>
+ * Seeded from {@code findCriticalStockMaterials} at startup, then kept current by Hibernate
+ * post-commit events: every committed insert, update or delete of a {@link RawMaterial} re-evaluates
+ * that one material, and rolled back changes are never seen. Writes that bypass the session (bulk
+ * JPQL or JDBC updates, another application node) are not seen either; {@link #check()} diffs the
+ * index against the SQL query on a schedule and repairs what drifted. Until the index has been
+ * loaded once ({@link #isReady()}), callers should ask the database.
+ */
+@Component
+@Slf4j
+public class CriticalStockIndex implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final RawMaterialMapper mapper;
+    private final TransactionTemplate readTransaction;
+    private final Counter drift;
+    private final NavigableMap<Long, RawMaterialSummaryDTO> critical = new ConcurrentSkipListMap<>();
+    private volatile boolean ready;
+
+    public CriticalStockIndex(EntityManagerFactory entityManagerFactory,
+                              RawMaterialRepository rawMaterialRepository,
+                              RawMaterialMapper mapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.mapper = mapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.drift = Counter.builder("critical.stock.index.drift")
+                .description("Entries repaired by the consistency check")
+                .register(meterRegistry);
+        Gauge.builder("critical.stock.index.size", critical, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        // listen first: a commit racing the seed is applied again afterwards, never lost
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        try {
+            check();
+            log.info("Critical stock index seeded with {} materials", critical.size());
+        } catch (DataAccessException ex) {
+            // schema not there yet; the scheduled check loads the index later
+            log.warn("Critical stock index not seeded: {}", ex.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<RawMaterialSummaryDTO> snapshot() {
+        return new ArrayList<>(critical.values());
+    }
+
+    public Page<RawMaterialSummaryDTO> page(Pageable pageable) {
+        List<RawMaterialSummaryDTO> all = snapshot();
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    /**
+     * Compares the index with {@code findCriticalStockMaterials} and fixes every entry that differs.
+     * A commit landing between the query and the repair can be overwritten; the next check restores it.
+     *
+     * @return number of repaired entries
+     */
+    @Scheduled(initialDelayString = "${inventory.critical-index.check-interval-ms:60000}",
+            fixedDelayString = "${inventory.critical-index.check-interval-ms:60000}")
+    public int check() {
+        Map<Long, RawMaterialSummaryDTO> expected = new HashMap<>();
+        readTransaction.executeWithoutResult(status -> rawMaterialRepository.findCriticalStockMaterials()
+                .forEach(material -> expected.put(material.getIdMaterial(), mapper.toSummaryDTO(material))));
+
+        Set<Long> ids = new HashSet<>(expected.keySet());
+        ids.addAll(critical.keySet());
+        int repaired = 0;
+        for (Long id : ids) {
+            RawMaterialSummaryDTO actual = critical.get(id);
+            RawMaterialSummaryDTO wanted = expected.get(id);
+            if (Objects.equals(actual, wanted)) {
+                continue;
+            }
+            if (wanted == null) {
+                critical.remove(id);
+            } else {
+                critical.put(id, wanted);
+            }
+            repaired++;
+        }
+        if (!ready) {
+            ready = true;
+        } else if (repaired > 0) {
+            drift.increment(repaired);
+            log.warn("Critical stock index drifted from the database, repaired {} entries", repaired);
+        }
+        return repaired;
+    }
+
+    // requiresPostCommitHandling only opts in: actions queued after completion for another reason
+    // (second-level cache) go through every post-commit listener, whatever their entity
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof RawMaterial material) {
+            apply(material);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof RawMaterial material) {
+            apply(material);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof RawMaterial) {
+            critical.remove((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == RawMaterial.class;
+    }
+
+    private void apply(RawMaterial material) {
+        if (material.getStock() < material.getStockMin()) {
+            critical.put(material.getIdMaterial(), mapper.toSummaryDTO(material));
+        } else {
+            critical.remove(material.getIdMaterial());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.supplychain.supplychain.service.approvisionnement;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalidation of the {@value #NAME} cache filled by {@link RawMaterialService#getRawMaterialById}.
+ * <p>
+ * Anything that changes a material, its stock or its suppliers evicts the material's id. Inside a
+ * transaction the id is evicted right away and again once the transaction completes: a reader that
+ * loaded the old row while the write was in flight cannot leave it in the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class RawMaterialCache {
+
+    public static final String NAME = "rawMaterials";
+
+    private final CacheManager cacheManager;
+
+    public void evict(Long materialId) {
+        evict(List.of(materialId));
+    }
+
+    public void evict(Collection<Long> materialIds) {
+        if (materialIds.isEmpty()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(NAME);
+        if (cache == null) {
+            return;
+        }
+        List<Long> ids = List.copyOf(materialIds);
+        ids.forEach(cache::evict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(cache::evict);
+                }
+            });
+        }
+    }
+}
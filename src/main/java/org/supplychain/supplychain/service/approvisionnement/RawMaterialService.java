@@ -2,9 +2,13 @@ package org.supplychain.supplychain.service.approvisionnement;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialRequestDTO;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialResponseDTO;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialSummaryDTO;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
+import org.supplychain.supplychain.search.SearchMatchDTO;
 
 import java.util.List;
 
@@ -20,11 +24,19 @@ public interface RawMaterialService {
 
     Page<RawMaterialSummaryDTO> getAllRawMaterials(Pageable pageable);
 
+    CursorPageDTO<RawMaterialSummaryDTO> scrollRawMaterials(KeysetRequest request);
+
     Page<RawMaterialSummaryDTO> searchRawMaterials(String name, Pageable pageable);
 
+    List<SearchMatchDTO<RawMaterialSummaryDTO>> fuzzySearchRawMaterials(String query, int limit);
+
     List<RawMaterialSummaryDTO> getCriticalStockMaterials();
 
     Page<RawMaterialSummaryDTO> getCriticalStockMaterialsWithPagination(Pageable pageable);
 
     boolean isMaterialUsed(Long id);
+
+    ResourceStamp getRawMaterialStamp(Long id);
+
+    ResourceStamp getRawMaterialsStamp();
 }
\ No newline at end of file
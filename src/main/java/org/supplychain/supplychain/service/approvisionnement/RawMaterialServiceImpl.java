@@ -2,20 +2,31 @@ package org.supplychain.supplychain.service.approvisionnement;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialRequestDTO;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialResponseDTO;
 import org.supplychain.supplychain.dto.rawmaterial.RawMaterialSummaryDTO;
 import org.supplychain.supplychain.mapper.RawMaterialMapper;
 import org.supplychain.supplychain.model.RawMaterial;
 import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetPaginator;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
 import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.search.FuzzySearch;
+import org.supplychain.supplychain.search.SearchHit;
+import org.supplychain.supplychain.search.SearchMatchDTO;
+import org.supplychain.supplychain.search.SearchTarget;
+import org.supplychain.supplychain.service.Production.Planning.ProductionScheduleService;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,9 +34,17 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class RawMaterialServiceImpl implements RawMaterialService {
 
+    private static final Set<String> SORTABLE =
+            Set.of("idMaterial", "name", "stock", "reservedStock", "stockMin", "unitPrice", "unit");
+
     private final RawMaterialRepository rawMaterialRepository;
     private final SupplierRepository supplierRepository;
     private final RawMaterialMapper mapper;
+    private final KeysetPaginator keysetPaginator;
+    private final RawMaterialCache rawMaterialCache;
+    private final CriticalStockIndex criticalStockIndex;
+    private final FuzzySearch fuzzySearch;
+    private final ProductionScheduleService productionScheduleService;
 
     @Override
     @Transactional
@@ -51,6 +70,7 @@ public class RawMaterialServiceImpl implements RawMaterialService {
         }
 
         RawMaterial saved = rawMaterialRepository.save(rawMaterial);
+        rawMaterialCache.evict(saved.getIdMaterial());
         log.info("Raw material created with ID: {}", saved.getIdMaterial());
 
         return mapper.toResponseDTO(saved);
@@ -89,6 +109,8 @@ public class RawMaterialServiceImpl implements RawMaterialService {
         }
 
         RawMaterial updated = rawMaterialRepository.save(existing);
+        rawMaterialCache.evict(id);
+        productionScheduleService.stockChanged(List.of(id));
         log.info("Raw material updated: {}", updated.getIdMaterial());
 
         return mapper.toResponseDTO(updated);
@@ -111,10 +133,12 @@ public class RawMaterialServiceImpl implements RawMaterialService {
         }
 
         rawMaterialRepository.delete(rawMaterial);
+        rawMaterialCache.evict(id);
         log.info("Raw material deleted: {}", id);
     }
 
     @Override
+    @Cacheable(cacheNames = RawMaterialCache.NAME)
     public RawMaterialResponseDTO getRawMaterialById(Long id) {
         log.debug("Fetching raw material with ID: {}", id);
 
@@ -124,6 +148,26 @@ public class RawMaterialServiceImpl implements RawMaterialService {
         return mapper.toResponseDTO(rawMaterial);
     }
 
+    /**
+     * The material row plus its suppliers, which the detail view lists.
+     *
+     * @return {@code null} if the material does not exist
+     */
+    @Override
+    public ResourceStamp getRawMaterialStamp(Long id) {
+        ResourceStamp material = rawMaterialRepository.findStampById(id);
+        if (material.rows() == 0) {
+            return null;
+        }
+        return material.and(rawMaterialRepository.findSuppliersStampById(id));
+    }
+
+    // summaries carry no supplier, the material table alone decides
+    @Override
+    public ResourceStamp getRawMaterialsStamp() {
+        return rawMaterialRepository.findTableStamp();
+    }
+
     @Override
     public Page<RawMaterialSummaryDTO> getAllRawMaterials(Pageable pageable) {
         log.debug("Fetching all raw materials with pagination");
@@ -132,6 +176,14 @@ public class RawMaterialServiceImpl implements RawMaterialService {
         return materialsPage.map(mapper::toSummaryDTO);
     }
 
+    @Override
+    public CursorPageDTO<RawMaterialSummaryDTO> scrollRawMaterials(KeysetRequest request) {
+        log.debug("Scrolling raw materials after cursor");
+
+        return keysetPaginator.scroll(rawMaterialRepository, RawMaterial.class, null, SORTABLE, request,
+                mapper::toSummaryDTO);
+    }
+
     @Override
     public Page<RawMaterialSummaryDTO> searchRawMaterials(String name, Pageable pageable) {
         log.debug("Searching raw materials by name: {}", name);
@@ -140,18 +192,32 @@ public class RawMaterialServiceImpl implements RawMaterialService {
         return materialsPage.map(mapper::toSummaryDTO);
     }
 
+    @Override
+    public List<SearchMatchDTO<RawMaterialSummaryDTO>> fuzzySearchRawMaterials(String query, int limit) {
+        log.debug("Fuzzy search of raw materials: {}", query);
+
+        List<SearchHit> hits = fuzzySearch.search(SearchTarget.RAW_MATERIALS, query, limit);
+        return FuzzySearch.matches(hits, rawMaterialRepository.findAllById(hits.stream().map(SearchHit::id).toList()),
+                RawMaterial::getIdMaterial, mapper::toSummaryDTO);
+    }
+
     @Override
     public List<RawMaterialSummaryDTO> getCriticalStockMaterials() {
         log.debug("Fetching critical stock materials");
 
-        List<RawMaterial> criticalMaterials = rawMaterialRepository.findCriticalStockMaterials();
-        return mapper.toSummaryDTOList(criticalMaterials);
+        if (criticalStockIndex.isReady()) {
+            return criticalStockIndex.snapshot();
+        }
+        return mapper.toSummaryDTOList(rawMaterialRepository.findCriticalStockMaterials());
     }
 
     @Override
     public Page<RawMaterialSummaryDTO> getCriticalStockMaterialsWithPagination(Pageable pageable) {
         log.debug("Fetching critical stock materials with pagination");
 
+        if (criticalStockIndex.isReady()) {
+            return criticalStockIndex.page(pageable);
+        }
         Page<RawMaterial> materialsPage = rawMaterialRepository.findCriticalStockMaterialsWithPagination(pageable);
         return materialsPage.map(mapper::toSummaryDTO);
     }
@@ -0,0 +1,10 @@
+package org.supplychain.supplychain.service.approvisionnement;
+
+import org.supplychain.supplychain.dto.supplyOrder.ReplenishmentRunDTO;
+
+public interface ReplenishmentService {
+
+    ReplenishmentRunDTO runReplenishment();
+
+    ReplenishmentRunDTO getLastRun();
+}
@@ -0,0 +1,191 @@
+package org.supplychain.supplychain.service.approvisionnement;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.dto.supplyOrder.ReplenishmentRunDTO;
+import org.supplychain.supplychain.enums.OrderNumberType;
+import org.supplychain.supplychain.enums.SupplyOrderStatus;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.model.SupplyOrder;
+import org.supplychain.supplychain.model.SupplyOrderLine;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierOrderRepository;
+import org.supplychain.supplychain.service.OrderNumber.OrderNumberAllocator;
+import org.supplychain.supplychain.service.Production.Planning.ProductionScheduleService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Turns critical raw materials into supply orders, one consolidated order per supplier.
+ * <p>
+ * A run reads every material below {@code stockMin} that has no pending supply order, suppliers
+ * included, in one query; picks each material's preferred supplier; and saves all orders in one
+ * transaction, so lines and the {@code reservedStock} updates go out as JDBC batches. Materials that
+ * got an order drop out of the next run's query until that order is delivered or cancelled.
+ * Runs on one instance at a time; several nodes should leave {@code replenishment.cron} on one.
+ */
+@Service
+@Slf4j
+public class ReplenishmentServiceImpl implements ReplenishmentService {
+
+    // shortest lead time first, then best rating, then the oldest supplier
+    static final Comparator<Supplier> PREFERRED = Comparator
+            .comparing(Supplier::getLeadTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Supplier::getRating, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Supplier::getIdSupplier);
+
+    private final RawMaterialRepository rawMaterialRepository;
+    private final SupplierOrderRepository supplyOrderRepository;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final RawMaterialCache rawMaterialCache;
+    private final ProductionScheduleService productionScheduleService;
+    private final TransactionTemplate transactionTemplate;
+    private final int coverDays;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private volatile ReplenishmentRunDTO lastRun;
+
+    public ReplenishmentServiceImpl(RawMaterialRepository rawMaterialRepository,
+                                    SupplierOrderRepository supplyOrderRepository,
+                                    OrderNumberAllocator orderNumberAllocator,
+                                    RawMaterialCache rawMaterialCache,
+                                    ProductionScheduleService productionScheduleService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${replenishment.stock-min-cover-days:30}") int coverDays) {
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.supplyOrderRepository = supplyOrderRepository;
+        this.orderNumberAllocator = orderNumberAllocator;
+        this.rawMaterialCache = rawMaterialCache;
+        this.productionScheduleService = productionScheduleService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.coverDays = coverDays;
+    }
+
+    @Scheduled(cron = "${replenishment.cron:-}")
+    public void scheduledRun() {
+        ReplenishmentRunDTO run = runReplenishment();
+        if (run.getOrdersCreated() > 0) {
+            log.info("Replenishment created {} supply orders for {} materials in {} ms",
+                    run.getOrdersCreated(), run.getLinesCreated(), run.getDurationMs());
+        }
+    }
+
+    @Override
+    public ReplenishmentRunDTO runReplenishment() {
+        // the lock is held until commit, so a second run sees the orders of the first
+        runLock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            ReplenishmentRunDTO run = transactionTemplate.execute(status -> replenish());
+            run.setStartedAt(startedAt);
+            run.setDurationMs((System.nanoTime() - start) / 1_000_000);
+            lastRun = run;
+            return run;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @Override
+    public ReplenishmentRunDTO getLastRun() {
+        return lastRun;
+    }
+
+    private ReplenishmentRunDTO replenish() {
+        List<RawMaterial> critical = rawMaterialRepository.findCriticalMaterialsWithoutPendingOrders();
+
+        // ---------------------------
+        // 1. Group shortages by preferred supplier
+        // ---------------------------
+        // keyed by id: the entities' Lombok hashCode would walk their lazy collections
+        Map<Long, Supplier> suppliers = new LinkedHashMap<>();
+        Map<Long, List<RawMaterial>> bySupplier = new LinkedHashMap<>();
+        int unsourced = 0;
+        for (RawMaterial material : critical) {
+            Supplier supplier = material.getSuppliers().stream().min(PREFERRED).orElse(null);
+            if (supplier == null) {
+                unsourced++;
+                continue;
+            }
+            suppliers.putIfAbsent(supplier.getIdSupplier(), supplier);
+            bySupplier.computeIfAbsent(supplier.getIdSupplier(), id -> new ArrayList<>()).add(material);
+        }
+
+        // ---------------------------
+        // 2. One order per supplier, one line per material
+        // ---------------------------
+        List<SupplyOrder> orders = new ArrayList<>(bySupplier.size());
+        List<Long> ordered = new ArrayList<>(critical.size());
+        long units = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        LocalDate today = LocalDate.now();
+        for (Map.Entry<Long, List<RawMaterial>> entry : bySupplier.entrySet()) {
+            Supplier supplier = suppliers.get(entry.getKey());
+            SupplyOrder order = new SupplyOrder();
+            order.setOrderNumber(orderNumberAllocator.next(OrderNumberType.SUPPLY));
+            order.setSupplier(supplier);
+            order.setOrderDate(today);
+            order.setStatus(SupplyOrderStatus.EN_ATTENTE);
+
+            BigDecimal amount = BigDecimal.ZERO;
+            for (RawMaterial material : entry.getValue()) {
+                int quantity = orderQuantity(material, supplier);
+
+                SupplyOrderLine line = new SupplyOrderLine();
+                line.setSupplyOrder(order);
+                line.setRawMaterial(material);
+                line.setQuantity(quantity);
+                line.setUnitPrice(material.getUnitPrice());
+                order.getOrderLines().add(line);
+
+                // same bookkeeping as a manual supply order
+                material.setReservedStock(material.getReservedStock() + quantity);
+                ordered.add(material.getIdMaterial());
+
+                amount = amount.add(material.getUnitPrice().multiply(BigDecimal.valueOf(quantity)));
+                units += quantity;
+            }
+            order.setTotalAmount(amount);
+            total = total.add(amount);
+            orders.add(order);
+        }
+
+        // ---------------------------
+        // 3. Save everything in one flush (batched inserts and updates)
+        // ---------------------------
+        supplyOrderRepository.saveAll(orders);
+        rawMaterialCache.evict(ordered);
+        productionScheduleService.stockChanged(ordered);
+
+        return new ReplenishmentRunDTO(null, 0, critical.size(), unsourced, orders.size(),
+                critical.size() - unsourced, units, total);
+    }
+
+    /**
+     * Brings available stock ({@code stock - reservedStock}) back to {@code stockMin}, plus what is
+     * used while the order is on its way: {@code stockMin} is taken to cover
+     * {@code replenishment.stock-min-cover-days} of consumption, so a supplier lead time of
+     * {@code leadTime} days adds {@code stockMin * leadTime / coverDays}.
+     */
+    int orderQuantity(RawMaterial material, Supplier supplier) {
+        int available = material.getStock() - material.getReservedStock();
+        int leadTime = supplier.getLeadTime() == null ? 0 : supplier.getLeadTime();
+        long leadTimeDemand = ((long) material.getStockMin() * leadTime + coverDays - 1) / coverDays;
+        long quantity = material.getStockMin() - available + leadTimeDemand;
+        return (int) Math.max(1, Math.min(quantity, Integer.MAX_VALUE));
+    }
+}
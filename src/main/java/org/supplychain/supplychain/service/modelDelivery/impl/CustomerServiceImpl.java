@@ -4,21 +4,37 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.dto.modelDelivery.CustomerDto;
 import org.supplychain.supplychain.exception.DuplicateResourceException;
 import org.supplychain.supplychain.exception.ResourceNotFoundException;
 import org.supplychain.supplychain.mapper.modelDelivery.CustomerMapper;
 import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetPaginator;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
 import org.supplychain.supplychain.service.modelDelivery.interfaces.ICustomerService;
+import org.supplychain.supplychain.search.FuzzySearch;
+import org.supplychain.supplychain.search.SearchHit;
+import org.supplychain.supplychain.search.SearchMatchDTO;
+import org.supplychain.supplychain.search.SearchTarget;
+
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements ICustomerService {
 
+    private static final Set<String> SORTABLE = Set.of("idCustomer", "name", "email", "address");
+
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FuzzySearch fuzzySearch;
 
     @Override
     public CustomerDto createCustomer(CustomerDto dto) {
@@ -49,6 +65,26 @@ public class CustomerServiceImpl implements ICustomerService {
         return customersPage.map(customerMapper::toDto);
     }
 
+    @Override
+    public CursorPageDTO<CustomerDto> scrollCustomers(KeysetRequest request, String filter) {
+        Specification<Customer> spec = null;
+        if (filter != null && !filter.isEmpty()) {
+            String pattern = "%" + filter.toLowerCase() + "%";
+            spec = (root, query, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern),
+                    cb.like(cb.lower(root.get("email")), pattern));
+        }
+        return keysetPaginator.scroll(customerRepository, Customer.class, spec, SORTABLE, request, customerMapper::toDto);
+    }
+
+    // recherche tolérante aux fautes sur le nom et l'email, meilleurs résultats d'abord
+    @Override
+    public List<SearchMatchDTO<CustomerDto>> fuzzySearchCustomers(String query, int limit) {
+        List<SearchHit> hits = fuzzySearch.search(SearchTarget.CUSTOMERS, query, limit);
+        return FuzzySearch.matches(hits, customerRepository.findAllById(hits.stream().map(SearchHit::id).toList()),
+                Customer::getIdCustomer, customerMapper::toDto);
+    }
+
     @Override
     public CustomerDto getCustomerById(Long id) {
         return customerRepository.findById(id)
@@ -56,6 +92,18 @@ public class CustomerServiceImpl implements ICustomerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec ID = " + id));
     }
 
+    // null si le client n'existe pas : la requête suit alors son cours normal (404)
+    @Override
+    public ResourceStamp getCustomerStamp(Long id) {
+        ResourceStamp stamp = customerRepository.findStampById(id);
+        return stamp.rows() == 0 ? null : stamp;
+    }
+
+    @Override
+    public ResourceStamp getCustomersStamp() {
+        return customerRepository.findTableStamp();
+    }
+
     @Override
     public CustomerDto updateCustomer(Long id, CustomerDto dto) {
         Customer customer = customerRepository.findById(id)
@@ -2,12 +2,22 @@ package org.supplychain.supplychain.service.modelDelivery.interfaces;
 
 
 import org.springframework.data.domain.Page;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.dto.modelDelivery.CustomerDto;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
+import org.supplychain.supplychain.search.SearchMatchDTO;
+
+import java.util.List;
 
 public interface ICustomerService {
     CustomerDto createCustomer(CustomerDto dto);
     Page<CustomerDto> getAllCustomers(int page, int size, String filter);
+    CursorPageDTO<CustomerDto> scrollCustomers(KeysetRequest request, String filter);
+    List<SearchMatchDTO<CustomerDto>> fuzzySearchCustomers(String query, int limit);
     CustomerDto getCustomerById(Long id);
     CustomerDto updateCustomer(Long id, CustomerDto dto);
     void deleteCustomer(Long id);
+    ResourceStamp getCustomerStamp(Long id);
+    ResourceStamp getCustomersStamp();
 }
\ No newline at end of file
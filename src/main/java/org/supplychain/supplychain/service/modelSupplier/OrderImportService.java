@@ -0,0 +1,15 @@
+package org.supplychain.supplychain.service.modelSupplier;
+
+import org.supplychain.supplychain.dto.order.OrderImportResultDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+public interface OrderImportService {
+
+    /**
+     * Reads one OrderDTO per line and reports one result per non-blank line.
+     */
+    void importOrders(BufferedReader reader, Consumer<OrderImportResultDTO> results) throws IOException;
+}
@@ -2,6 +2,8 @@ package org.supplychain.supplychain.service.modelSupplier;
 
 import org.springframework.data.domain.Page;
 import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 
 
 import org.springframework.data.domain.Pageable;
@@ -13,5 +15,6 @@ public interface OrderServiec {
     OrderDTO updateOrder(Long id, OrderDTO dto);
     void deleteOrder(Long id);
     Page<OrderDTO> getAllOrders(Pageable pageable);
+    CursorPageDTO<OrderDTO> scrollOrders(KeysetRequest request);
     OrderDTO getOrderById(Long id);
 }
@@ -1,7 +1,11 @@
 package org.supplychain.supplychain.service.modelSupplier;
 
 import org.springframework.data.domain.Page;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.dto.supplier.SupplierDTO;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetRequest;
+import org.supplychain.supplychain.search.SearchMatchDTO;
 import java.util.List;
 
 public interface SupplierService {
@@ -10,8 +14,15 @@ public interface SupplierService {
     void deleteSupplier(Long id);
 //    List<SupplierDTO> getAllSuppliers();
     Page<SupplierDTO> getAllSuppliers(int page, int size);
+    CursorPageDTO<SupplierDTO> scrollSuppliers(KeysetRequest request);
 
     List<SupplierDTO> searchSupplierByName(String name);
 
+    List<SearchMatchDTO<SupplierDTO>> fuzzySearchSuppliers(String query, int limit);
+
     SupplierDTO getSupplierById(Long id);
+
+    ResourceStamp getSupplierStamp(Long id);
+
+    ResourceStamp getSuppliersStamp();
 }
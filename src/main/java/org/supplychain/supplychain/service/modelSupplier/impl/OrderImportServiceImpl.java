@@ -0,0 +1,226 @@
+package org.supplychain.supplychain.service.modelSupplier.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.dto.order.OrderImportResultDTO;
+import org.supplychain.supplychain.dto.order.ProductOrderDTO;
+import org.supplychain.supplychain.enums.OrderNumberType;
+import org.supplychain.supplychain.enums.OrderStatus;
+import org.supplychain.supplychain.mapper.Production.ProductOrderMapper;
+import org.supplychain.supplychain.mapper.modelSupplier.OrderMapper;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Order;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductOrder;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.OrderRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+import org.supplychain.supplychain.service.OrderNumber.OrderNumberAllocator;
+import org.supplychain.supplychain.service.Production.Inventory.ProductStockService;
+import org.supplychain.supplychain.service.modelSupplier.OrderImportService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk order intake. Lines are parsed and validated one at a time and persisted in chunks of
+ * {@code orders.import.chunk-size}, each chunk in its own transaction with JDBC batching, and the
+ * persistence context is cleared after every chunk so memory does not grow with the file.
+ */
+@Service
+@Slf4j
+public class OrderImportServiceImpl implements OrderImportService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ProductOrderMapper productOrderMapper;
+    private final ProductStockService productStockService;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderImportServiceImpl(ObjectMapper objectMapper,
+                                  Validator validator,
+                                  TransactionTemplate transactionTemplate,
+                                  CustomerRepository customerRepository,
+                                  ProductRepository productRepository,
+                                  OrderRepository orderRepository,
+                                  OrderMapper orderMapper,
+                                  ProductOrderMapper productOrderMapper,
+                                  ProductStockService productStockService,
+                                  OrderNumberAllocator orderNumberAllocator,
+                                  @Value("${orders.import.chunk-size:500}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.customerRepository = customerRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.productOrderMapper = productOrderMapper;
+        this.productStockService = productStockService;
+        this.orderNumberAllocator = orderNumberAllocator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void importOrders(BufferedReader reader, Consumer<OrderImportResultDTO> results) throws IOException {
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            OrderDTO dto;
+            try {
+                dto = objectMapper.readValue(line, OrderDTO.class);
+            } catch (JsonProcessingException ex) {
+                results.accept(OrderImportResultDTO.rejected(lineNumber, "Malformed JSON: " + ex.getOriginalMessage()));
+                continue;
+            }
+
+            Set<ConstraintViolation<OrderDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                results.accept(OrderImportResultDTO.rejected(lineNumber, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+                continue;
+            }
+
+            chunk.add(new ImportLine(lineNumber, dto));
+            if (chunk.size() == chunkSize) {
+                persist(chunk, results);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            persist(chunk, results);
+        }
+    }
+
+    private void persist(List<ImportLine> chunk, Consumer<OrderImportResultDTO> results) {
+        List<OrderImportResultDTO> created;
+        try {
+            created = transactionTemplate.execute(status -> saveChunk(chunk));
+        } catch (RuntimeException ex) {
+            // one bad order fails the whole chunk: replay it one order per transaction
+            log.debug("Order import chunk failed ({}), retrying line by line", ex.getMessage());
+            for (ImportLine line : chunk) {
+                try {
+                    transactionTemplate.execute(status -> saveChunk(List.of(line))).forEach(results);
+                } catch (RuntimeException lineEx) {
+                    results.accept(OrderImportResultDTO.rejected(line.number(), lineEx.getMessage()));
+                }
+            }
+            return;
+        }
+        created.forEach(results);
+    }
+
+    private List<OrderImportResultDTO> saveChunk(List<ImportLine> chunk) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+
+        // ---------------------------
+        // 1. Load customers and products of the whole chunk in one query each
+        // ---------------------------
+        Set<Long> customerIds = new HashSet<>();
+        Map<Long, Integer> requested = new TreeMap<>();
+        for (ImportLine line : chunk) {
+            customerIds.add(line.order().getCustomerId());
+            for (ProductOrderDTO poDTO : line.order().getProductOrders()) {
+                requested.merge(poDTO.getProductId(), poDTO.getQuantity(), Integer::sum);
+            }
+        }
+
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getIdCustomer, Function.identity()));
+        Map<Long, Product> products = productRepository.findAllById(requested.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // ---------------------------
+        // 2. Build the orders
+        // ---------------------------
+        List<Order> orders = new ArrayList<>(chunk.size());
+        for (ImportLine line : chunk) {
+            orders.add(toOrder(line.order(), customers, products));
+        }
+
+        // ---------------------------
+        // 3. Take the whole chunk out of stock, then insert in batches
+        // ---------------------------
+        productStockService.reserve(requested);
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+
+        List<OrderImportResultDTO> created = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            created.add(OrderImportResultDTO.created(chunk.get(i).number(), orders.get(i).getIdOrder()));
+        }
+        entityManager.clear();
+        return created;
+    }
+
+    private Order toOrder(OrderDTO dto, Map<Long, Customer> customers, Map<Long, Product> products) {
+        Customer customer = customers.get(dto.getCustomerId());
+        if (customer == null) {
+            throw new IllegalArgumentException("Customer not found: " + dto.getCustomerId());
+        }
+
+        Order order = orderMapper.toEntity(dto);
+        order.setCustomer(customer);
+        order.setOrderNumber(orderNumberAllocator.next(OrderNumberType.CUSTOMER));
+        order.setStatus(dto.getStatus() != null ? dto.getStatus() : OrderStatus.EN_PREPARATION);
+
+        List<ProductOrder> productOrders = new ArrayList<>(dto.getProductOrders().size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (ProductOrderDTO poDTO : dto.getProductOrders()) {
+            Product product = products.get(poDTO.getProductId());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + poDTO.getProductId());
+            }
+
+            ProductOrder productOrder = productOrderMapper.toEntity(poDTO);
+            productOrder.setOrder(order);
+            productOrder.setProduct(product);
+            productOrder.setUnitPrice(product.getCost());
+            productOrder.setTotalPrice(product.getCost().multiply(BigDecimal.valueOf(poDTO.getQuantity())));
+            productOrders.add(productOrder);
+            totalAmount = totalAmount.add(productOrder.getTotalPrice());
+        }
+
+        order.setProductOrders(productOrders);
+        order.setTotalAmount(totalAmount);
+        return order;
+    }
+
+    private record ImportLine(long number, OrderDTO order) {
+    }
+}
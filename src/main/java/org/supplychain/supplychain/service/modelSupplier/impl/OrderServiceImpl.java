@@ -1,39 +1,76 @@
 package org.supplychain.supplychain.service.modelSupplier.impl;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
 import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.dto.order.OrderHeaderView;
+import org.supplychain.supplychain.dto.order.OrderLineView;
 import org.supplychain.supplychain.dto.order.ProductOrderDTO;
+import org.supplychain.supplychain.enums.OrderNumberType;
 import org.supplychain.supplychain.enums.OrderStatus;
 import org.supplychain.supplychain.mapper.Production.ProductOrderMapper;
 import org.supplychain.supplychain.mapper.modelSupplier.OrderMapper;
 import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Delivery;
 import org.supplychain.supplychain.model.Order;
 import org.supplychain.supplychain.model.Product;
 import org.supplychain.supplychain.model.ProductOrder;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetPaginator;
+import org.supplychain.supplychain.pagination.KeysetRequest;
 import org.supplychain.supplychain.repository.Production.ProductRepository;
 import org.supplychain.supplychain.repository.approvisionnement.OrderRepository;
 import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+import org.supplychain.supplychain.service.OrderNumber.OrderNumberAllocator;
+import org.supplychain.supplychain.service.Production.Inventory.ProductStockService;
 import org.supplychain.supplychain.service.modelSupplier.OrderServiec;
 
 
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderServiec {
 
+    private static final Set<String> SORTABLE = Set.of("idOrder", "totalAmount", "status");
+
+    // the columns of OrderRepository.findOrderHeaders, for the keyset listing
+    private static final BiFunction<Root<Order>, CriteriaBuilder, Selection<OrderHeaderView>> HEADER = (root, cb) -> {
+        Join<Order, Delivery> delivery = root.join("delivery", JoinType.LEFT);
+        return cb.construct(OrderHeaderView.class,
+                root.get("idOrder"), root.get("orderNumber"), root.get("customer").get("idCustomer"),
+                root.get("status"), root.get("totalAmount"),
+                delivery.get("idDelivery"), delivery.get("deliveryAddress"), delivery.get("driver"),
+                delivery.get("status"), delivery.get("DeliveryDate"), delivery.get("deliveryCost"));
+    };
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final ProductOrderMapper productOrderMapper;
     private final OrderMapper orderMapper;
     private final ProductRepository productRepository;
+    private final ProductStockService productStockService;
+    private final KeysetPaginator keysetPaginator;
+    private final OrderNumberAllocator orderNumberAllocator;
 
 //    @Override
 //    public OrderDTO createOrder(OrderDTO dto) {
@@ -105,77 +142,82 @@ public OrderDTO createOrder(OrderDTO dto) {
     // ---------------------------
     Order order = orderMapper.toEntity(dto);
     order.setCustomer(customer);
+    order.setOrderNumber(orderNumberAllocator.next(OrderNumberType.CUSTOMER));
 
     // Set default status if not provided
     order.setStatus(dto.getStatus() != null ? dto.getStatus() : OrderStatus.EN_PREPARATION);
 
-    final Order finalOrder = order; // for lambda reference in streams
+    // ---------------------------
+    // 3. Sum requested quantities per product
+    //    (sorted by id so concurrent orders lock rows in the same order)
+    // ---------------------------
+    Map<Long, Integer> requested = requestedQuantities(dto.getProductOrders());
 
     // ---------------------------
-    // 3. Map ProductOrders from DTO
-    //    and check stock
+    // 4. Load every product in one query
     // ---------------------------
-    List<ProductOrder> productOrders = dto.getProductOrders().stream().map(poDTO -> {
-        // Fetch product from DB
-        Product product = productRepository.findById(poDTO.getProductId())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + poDTO.getProductId()));
-
-        // ---------------------------
-        // 3a. Check available stock
-        // ---------------------------
-        // Example:
-        // product.getStock() = 10
-        // poDTO.getQuantity() = 5
-        if (poDTO.getQuantity() > product.getStock()) {
-            // Stock not enough → stop this order and return warning
-            throw new IllegalArgumentException(
-                    "Not enough stock for product: " + product.getName() +
-                            ". Available: " + product.getStock() + ", requested: " + poDTO.getQuantity()
-            );
+    Map<Long, Product> products = productRepository.findAllById(requested.keySet()).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+    for (Long productId : requested.keySet()) {
+        if (!products.containsKey(productId)) {
+            throw new IllegalArgumentException("Product not found: " + productId);
         }
+    }
+
+    // ---------------------------
+    // 5. Take the quantities out of stock (all or nothing),
+    //    the whole order rolls back if a product is short
+    // ---------------------------
+    productStockService.reserve(requested);
+
+    // ---------------------------
+    // 6. Build ProductOrder lines
+    // ---------------------------
+    final Order finalOrder = order; // for lambda reference in streams
+    List<ProductOrder> productOrders = dto.getProductOrders().stream().map(poDTO -> {
+        Product product = products.get(poDTO.getProductId());
 
-        // ---------------------------
-        // 3b. Create ProductOrder entity
-        // ---------------------------
         ProductOrder productOrder = productOrderMapper.toEntity(poDTO);
         productOrder.setOrder(finalOrder); // link to parent Order
         productOrder.setProduct(product);
         productOrder.setUnitPrice(product.getCost()); // price per unit
         productOrder.setTotalPrice(product.getCost().multiply(BigDecimal.valueOf(poDTO.getQuantity())));
-
-        // ---------------------------
-        // 3c. Deduct stock for product
-        // ---------------------------
-        product.setStock(product.getStock() - poDTO.getQuantity());
-        productRepository.save(product); // update product stock in DB
-
         return productOrder;
-    }).toList();
+    }).collect(Collectors.toCollection(ArrayList::new));
 
     // ---------------------------
-    // 4. Attach productOrders to Order
+    // 7. Attach productOrders to Order and calculate totalAmount
     // ---------------------------
     order.setProductOrders(productOrders);
 
-    // ---------------------------
-    // 5. Calculate totalAmount before saving
-    // ---------------------------
     BigDecimal totalAmount = productOrders.stream()
             .map(ProductOrder::getTotalPrice)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     order.setTotalAmount(totalAmount); // assign totalAmount
 
     // ---------------------------
-    // 6. Save order to DB
+    // 8. Save order to DB
     // ---------------------------
     order = orderRepository.save(order);
 
     // ---------------------------
-    // 7. Return OrderDTO
+    // 9. Return OrderDTO
     // ---------------------------
     return orderMapper.toDto(order);
 }
 
+    // quantity requested per product, summed over the order lines and sorted by product id
+    static Map<Long, Integer> requestedQuantities(List<ProductOrderDTO> lines) {
+        Map<Long, Integer> requested = new TreeMap<>();
+        for (ProductOrderDTO poDTO : lines) {
+            if (poDTO.getQuantity() == null || poDTO.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Invalid quantity for product: " + poDTO.getProductId());
+            }
+            requested.merge(poDTO.getProductId(), poDTO.getQuantity(), Integer::sum);
+        }
+        return requested;
+    }
+
     @Override
     public OrderDTO updateOrder(Long id, OrderDTO dto) {
         Order existing = orderRepository.findById(id)
@@ -199,13 +241,42 @@ public OrderDTO createOrder(OrderDTO dto) {
             throw new RuntimeException("Impossible de supprimer : livraison existante");
         }
 
+        // the quantities reserved by createOrder go back to stock with the order
+        Map<Long, Integer> reserved = new TreeMap<>();
+        existing.getProductOrders().forEach(line ->
+                reserved.merge(line.getProduct().getId(), line.getQuantity(), Integer::sum));
+
         orderRepository.delete(existing);
+        if (!reserved.isEmpty()) {
+            productStockService.release(reserved);
+        }
     }
 
     @Override
     public Page<OrderDTO> getAllOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable)
-                .map(orderMapper::toDto);
+        // headers (with delivery) in one query, then the lines of the whole page in one more;
+        // mapping entities here would lazy-load delivery and lines once per order
+        Page<OrderHeaderView> headers = orderRepository.findOrderHeaders(pageable);
+        return new PageImpl<>(withLines(headers.getContent()), pageable, headers.getTotalElements());
+    }
+
+    @Override
+    public CursorPageDTO<OrderDTO> scrollOrders(KeysetRequest request) {
+        return keysetPaginator.scroll(Order.class, OrderHeaderView.class, HEADER, SORTABLE, request, this::withLines);
+    }
+
+    private List<OrderDTO> withLines(List<OrderHeaderView> headers) {
+        if (headers.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> orderIds = headers.stream().map(OrderHeaderView::id).toList();
+        Map<Long, List<ProductOrderDTO>> lines = orderRepository.findLinesByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderLineView::orderId,
+                        Collectors.mapping(productOrderMapper::toDto, Collectors.toList())));
+
+        return headers.stream()
+                .map(header -> orderMapper.toDto(header, lines.getOrDefault(header.id(), new ArrayList<>())))
+                .toList();
     }
 
 
@@ -5,13 +5,25 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import org.supplychain.supplychain.conditional.ResourceStamp;
 import org.supplychain.supplychain.dto.supplier.SupplierDTO;
 import org.supplychain.supplychain.mapper.modelSupplier.SupplierMapper;
+import org.supplychain.supplychain.model.RawMaterial;
 import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.pagination.CursorPageDTO;
+import org.supplychain.supplychain.pagination.KeysetPaginator;
+import org.supplychain.supplychain.pagination.KeysetRequest;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
 import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.service.approvisionnement.RawMaterialCache;
 import org.supplychain.supplychain.service.modelSupplier.SupplierService;
+import org.supplychain.supplychain.search.FuzzySearch;
+import org.supplychain.supplychain.search.SearchHit;
+import org.supplychain.supplychain.search.SearchMatchDTO;
+import org.supplychain.supplychain.search.SearchTarget;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -21,8 +33,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class SupplierServiceImpl implements SupplierService {
 
+    private static final Set<String> SORTABLE = Set.of("idSupplier", "name", "contact", "email");
+
     private final SupplierRepository supplierRepository;
+    private final RawMaterialRepository rawMaterialRepository;
     private final SupplierMapper supplierMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final RawMaterialCache rawMaterialCache;
+    private final FuzzySearch fuzzySearch;
 
     @Override
     public SupplierDTO createSupplier(SupplierDTO dto) {
@@ -43,6 +61,8 @@ public class SupplierServiceImpl implements SupplierService {
         existing.setPhone(dto.getPhone());
         existing.setRating(dto.getRating());
         existing.setLeadTime(dto.getLeadTime());
+        // cached material details embed a summary of their suppliers
+        rawMaterialCache.evict(existing.getMaterials().stream().map(RawMaterial::getIdMaterial).toList());
         return supplierMapper.toDTO(supplierRepository.save(existing));
     }
 
@@ -90,6 +110,11 @@ public Page<SupplierDTO> getAllSuppliers(int page, int size) {
     return supplierPage.map(supplierMapper::toDTO); // تحويل لكل Supplier إلى SupplierDTO
 }
 
+    @Override
+    public CursorPageDTO<SupplierDTO> scrollSuppliers(KeysetRequest request) {
+        return keysetPaginator.scroll(supplierRepository, Supplier.class, null, SORTABLE, request, supplierMapper::toDTO);
+    }
+
     @Override
     public List<SupplierDTO> searchSupplierByName(String name) {
         return supplierRepository.findByNameContainingIgnoreCase(name)
@@ -98,9 +123,39 @@ public Page<SupplierDTO> getAllSuppliers(int page, int size) {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchMatchDTO<SupplierDTO>> fuzzySearchSuppliers(String query, int limit) {
+        List<SearchHit> hits = fuzzySearch.search(SearchTarget.SUPPLIERS, query, limit);
+        return FuzzySearch.matches(hits, supplierRepository.findAllById(hits.stream().map(SearchHit::id).toList()),
+                Supplier::getIdSupplier, supplierMapper::toDTO);
+    }
+
     @Override
     public SupplierDTO getSupplierById(Long id) {
         Supplier supplier =  supplierRepository.findById(id).orElseThrow(()-> new RuntimeException("Supplier not found"));
         return supplierMapper.toDTO(supplier);
     }
+
+    /**
+     * The supplier row plus its materials: the links belong to the materials and move their version.
+     *
+     * @return {@code null} if the supplier does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceStamp getSupplierStamp(Long id) {
+        ResourceStamp supplier = supplierRepository.findStampById(id);
+        if (supplier.rows() == 0) {
+            return null;
+        }
+        return supplier.and(supplierRepository.findMaterialsStampById(id));
+    }
+
+    // material ids are listed per supplier, a link change moves the material table
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceStamp getSuppliersStamp() {
+        return supplierRepository.findTableStamp().and(rawMaterialRepository.findTableStamp());
+    }
 }
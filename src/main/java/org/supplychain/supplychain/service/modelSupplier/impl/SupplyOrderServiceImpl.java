@@ -4,6 +4,8 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.supplychain.supplychain.dto.supplyOrder.SupplyOrderDTO;
+import org.supplychain.supplychain.dto.supplyOrder.SupplyOrderLineDTO;
+import org.supplychain.supplychain.enums.OrderNumberType;
 import org.supplychain.supplychain.enums.SupplyOrderStatus;
 import org.supplychain.supplychain.mapper.modelSupplier.SupplierOrderMapper;
 import org.supplychain.supplychain.model.RawMaterial;
@@ -13,11 +15,18 @@ import org.supplychain.supplychain.model.SupplyOrderLine;
 import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
 import org.supplychain.supplychain.repository.approvisionnement.SupplierOrderRepository;
 import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.service.OrderNumber.OrderNumberAllocator;
+import org.supplychain.supplychain.service.Production.Planning.ProductionScheduleService;
+import org.supplychain.supplychain.service.approvisionnement.RawMaterialCache;
 import org.supplychain.supplychain.service.modelSupplier.SupplierOrderService;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +37,9 @@ public class SupplyOrderServiceImpl implements SupplierOrderService {
     private final SupplierOrderMapper mapper;
     private final SupplierRepository supplierRepository;
     private final RawMaterialRepository rawMaterialRepository;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final RawMaterialCache rawMaterialCache;
+    private final ProductionScheduleService productionScheduleService;
 
 //    @Override
 //    public SupplyOrderDTO createOrder(SupplyOrderDTO dto) {
@@ -58,8 +70,8 @@ public SupplyOrderDTO createOrder(SupplyOrderDTO dto) {
     // 1. Set default values if DTO fields are null
     // ---------------------------
     if (dto.getOrderNumber() == null) {
-        // Example: "SO-1700000000000"
-        dto.setOrderNumber("SO-" + System.currentTimeMillis());
+        // Example: "SO-00-00000101"
+        dto.setOrderNumber(orderNumberAllocator.next(OrderNumberType.SUPPLY));
     }
     if (dto.getStatus() == null) {
         // Default status: "EN_ATTENTE" (pending)
@@ -85,10 +97,19 @@ public SupplyOrderDTO createOrder(SupplyOrderDTO dto) {
     // 4. Map order lines from DTO to entity
     // ---------------------------
     if (dto.getOrderLines() != null && !dto.getOrderLines().isEmpty()) {
+        // Fetch the raw materials of all lines in one query
+        Map<Long, RawMaterial> materials = rawMaterialRepository.findAllById(dto.getOrderLines().stream()
+                        .map(SupplyOrderLineDTO::getRawMaterialId)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(RawMaterial::getIdMaterial, Function.identity()));
+
         dto.getOrderLines().forEach(lineDTO -> {
-            // Fetch the raw material from DB
-            RawMaterial material = rawMaterialRepository.findById(lineDTO.getRawMaterialId())
-                    .orElseThrow(() -> new RuntimeException("Raw material not found"));
+            RawMaterial material = materials.get(lineDTO.getRawMaterialId());
+            if (material == null) {
+                throw new RuntimeException("Raw material not found");
+            }
 
             // ---------------------------
             // 4a. Check available stock before creating order line
@@ -115,12 +136,15 @@ public SupplyOrderDTO createOrder(SupplyOrderDTO dto) {
             // ---------------------------
             material.setReservedStock(material.getReservedStock() + lineDTO.getQuantity());
             rawMaterialRepository.save(material); // Save updated reservedStock
+            rawMaterialCache.evict(material.getIdMaterial());
 
             // ---------------------------
             // 4d. Add this line to the order
             // ---------------------------
             order.getOrderLines().add(line);
         });
+        // reserved stock is taken out of what the production schedule can use
+        productionScheduleService.stockChanged(materials.keySet());
     }
 
     // ---------------------------
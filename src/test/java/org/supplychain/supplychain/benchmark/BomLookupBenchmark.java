@@ -0,0 +1,149 @@
+package org.supplychain.supplychain.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.SupplychainApplication;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading one product's BOM: the JPA path ({@code findByProductId}, one query and one entity per
+ * line, material ids through the lazy proxies) against {@link BomRequirementCache}.
+ * <p>
+ * Runs against the in-memory H2 of the {@code test} profile. Start it with {@link #main} from the
+ * IDE, or {@code java -cp <test classpath> org.openjdk.jmh.Main BomLookupBenchmark}; the JMH
+ * annotation processor generates the harness at test-compile time. Not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BomLookupBenchmark {
+
+    private static final int PRODUCTS = 200;
+    private static final int LINES = 20;
+
+    private ConfigurableApplicationContext context;
+    private BillOfMaterialRepository billOfMaterialRepository;
+    private BomRequirementCache bomRequirementCache;
+    private TransactionTemplate readOnly;
+    // boxed once here: the entity ids callers hold are Longs already
+    private Long[] productIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SupplychainApplication.class)
+                .profiles("test")
+                .properties("spring.main.web-application-type=none",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        billOfMaterialRepository = context.getBean(BillOfMaterialRepository.class);
+        bomRequirementCache = context.getBean(BomRequirementCache.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        RawMaterialRepository rawMaterialRepository = context.getBean(RawMaterialRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int m = 0; m < 500; m++) {
+            RawMaterial material = new RawMaterial();
+            material.setName("Benchmark material " + m);
+            material.setStock(1000);
+            material.setStockMin(1);
+            material.setUnitPrice(BigDecimal.ONE);
+            material.setUnit("kg");
+            materials.add(material);
+        }
+        materials = rawMaterialRepository.saveAll(materials);
+
+        productIds = new Long[PRODUCTS];
+        List<BillOfMaterial> lines = new ArrayList<>();
+        for (int p = 0; p < PRODUCTS; p++) {
+            Product product = new Product();
+            product.setName("Benchmark product " + p);
+            product.setUnit("pcs");
+            product.setCost(BigDecimal.TEN);
+            product.setProductionTime(1);
+            product = productRepository.save(product);
+            productIds[p] = product.getId();
+            for (int l = 0; l < LINES; l++) {
+                BillOfMaterial line = new BillOfMaterial();
+                line.setProduct(product);
+                line.setMaterial(materials.get((p * 7 + l * 13) % materials.size()));
+                line.setQuantity(1 + l % 4);
+                lines.add(line);
+            }
+        }
+        billOfMaterialRepository.saveAll(lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public void jpaEntities(Blackhole blackhole) {
+        Long productId = nextProduct();
+        readOnly.executeWithoutResult(status -> {
+            for (BillOfMaterial line : billOfMaterialRepository.findByProductId(productId)) {
+                blackhole.consume(line.getMaterial().getIdMaterial());
+                blackhole.consume(line.getQuantity());
+            }
+        });
+    }
+
+    @Benchmark
+    public void requirementCache(Blackhole blackhole) {
+        BomRequirements requirements = bomRequirementCache.get(nextProduct());
+        for (int line = 0; line < requirements.size(); line++) {
+            blackhole.consume(requirements.materialId(line));
+            blackhole.consume(requirements.quantity(line));
+        }
+    }
+
+    private Long nextProduct() {
+        next = next + 1 == productIds.length ? 0 : next + 1;
+        return productIds[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BomLookupBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
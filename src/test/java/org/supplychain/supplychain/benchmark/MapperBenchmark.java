@@ -0,0 +1,156 @@
+package org.supplychain.supplychain.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.dto.supplyOrder.SupplyOrderLineDTO;
+import org.supplychain.supplychain.enums.DeliveryStatus;
+import org.supplychain.supplychain.enums.OrderStatus;
+import org.supplychain.supplychain.mapper.Production.ProductOrderMapperImpl;
+import org.supplychain.supplychain.mapper.RawMaterialMapper;
+import org.supplychain.supplychain.mapper.RawMaterialMapperImpl;
+import org.supplychain.supplychain.mapper.modelSupplier.OrderMapper;
+import org.supplychain.supplychain.mapper.modelSupplier.OrderMapperImpl;
+import org.supplychain.supplychain.mapper.modelSupplier.SupplierOrderMapper;
+import org.supplychain.supplychain.mapper.modelSupplier.SupplierOrderMapperImpl;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Delivery;
+import org.supplychain.supplychain.model.Order;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.SupplyOrder;
+import org.supplychain.supplychain.model.SupplyOrderLine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MapStruct mappers on the hottest read paths, on detached entities built in memory:
+ * a supply order's lines, a page of raw material summaries, a customer order with its delivery.
+ * <p>
+ * {@code lines} is the number of supply order lines, customer order lines and materials per page;
+ * 20 is a typical order, 200 a large import. Run with {@code mvn -Pbenchmark verify}, see pom.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20", "200"})
+    private int lines;
+
+    private SupplierOrderMapper supplierOrderMapper;
+    private RawMaterialMapper rawMaterialMapper;
+    private OrderMapper orderMapper;
+
+    private SupplyOrder supplyOrder;
+    private List<RawMaterial> materials;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void start() {
+        supplierOrderMapper = new SupplierOrderMapperImpl();
+        rawMaterialMapper = new RawMaterialMapperImpl();
+        orderMapper = new OrderMapperImpl();
+        ReflectionTestUtils.setField(orderMapper, "productOrderMapper", new ProductOrderMapperImpl());
+
+        materials = new ArrayList<>();
+        for (int m = 0; m < lines; m++) {
+            RawMaterial material = new RawMaterial();
+            material.setIdMaterial(1_000L + m);
+            material.setName("Benchmark material " + m);
+            material.setStock(500 + m * 7 % 300);
+            material.setReservedStock(m % 40);
+            material.setStockMin(100);
+            material.setUnitPrice(new BigDecimal("12.50"));
+            material.setUnit("kg");
+            materials.add(material);
+        }
+
+        supplyOrder = new SupplyOrder();
+        supplyOrder.setIdOrder(7L);
+        for (int l = 0; l < lines; l++) {
+            SupplyOrderLine line = new SupplyOrderLine();
+            line.setIdLine(10_000L + l);
+            line.setSupplyOrder(supplyOrder);
+            line.setRawMaterial(materials.get(l));
+            line.setQuantity(1 + l % 50);
+            line.setUnitPrice(new BigDecimal("12.50"));
+            supplyOrder.getOrderLines().add(line);
+        }
+
+        Customer customer = new Customer();
+        customer.setIdCustomer(3L);
+        order = new Order();
+        order.setIdOrder(11L);
+        order.setOrderNumber("CO-00-000011");
+        order.setCustomer(customer);
+        order.setStatus(OrderStatus.EN_PREPARATION);
+        for (int l = 0; l < lines; l++) {
+            Product product = new Product();
+            product.setId(2_000L + l);
+            ProductOrder productOrder = new ProductOrder();
+            productOrder.setOrder(order);
+            productOrder.setProduct(product);
+            productOrder.setQuantity(1 + l % 5);
+            productOrder.setUnitPrice(new BigDecimal("40.00"));
+            productOrder.setTotalPrice(new BigDecimal("40.00").multiply(BigDecimal.valueOf(1 + l % 5)));
+            order.getProductOrders().add(productOrder);
+        }
+        Delivery delivery = new Delivery();
+        delivery.setIdDelivery(5L);
+        delivery.setOrder(order);
+        delivery.setDeliveryAddress("12 rue des Benchmarks");
+        delivery.setDriver("Driver");
+        delivery.setStatus(DeliveryStatus.PLANIFIEE);
+        delivery.setDeliveryDate(LocalDate.of(2026, 1, 15));
+        delivery.setDeliveryCost(new BigDecimal("25.00"));
+        order.setDelivery(delivery);
+    }
+
+    @Benchmark
+    public List<SupplyOrderLineDTO> supplyOrderLines() {
+        return supplierOrderMapper.mapOrderLines(supplyOrder.getOrderLines());
+    }
+
+    @Benchmark
+    public void rawMaterialSummaries(Blackhole blackhole) {
+        for (RawMaterial material : materials) {
+            blackhole.consume(rawMaterialMapper.toSummaryDTO(material));
+        }
+    }
+
+    @Benchmark
+    public OrderDTO customerOrder() {
+        return orderMapper.toDto(order);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package org.supplychain.supplychain.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+import org.supplychain.supplychain.monitoring.MethodMetricsAspect;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link MethodMetricsAspect} per call: the same trivial repository method behind a
+ * pass-through around advice (what a repository or transactional service proxy costs anyway) and
+ * behind the timing aspect. The difference is the instrumentation overhead, meant to stay under 1 µs.
+ * <p>
+ * Start it with {@link #main} from the IDE, or
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main MethodMetricsBenchmark}. Not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodMetricsBenchmark {
+
+    public interface ProbeRepository extends Repository<Object, Long> {
+        int next(int value);
+    }
+
+    static class Probe implements ProbeRepository {
+        @Override
+        public int next(int value) {
+            return value + 1;
+        }
+    }
+
+    @Aspect
+    public static class PassThroughAspect {
+        @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+        public Object proceed(ProceedingJoinPoint joinPoint) throws Throwable {
+            return joinPoint.proceed();
+        }
+    }
+
+    private ProbeRepository proxied;
+    private ProbeRepository timed;
+    private int value;
+
+    @Setup(Level.Trial)
+    public void start() {
+        proxied = probe(new PassThroughAspect());
+        timed = probe(new MethodMetricsAspect(new SimpleMeterRegistry()));
+    }
+
+    private static ProbeRepository probe(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Probe());
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public int proxied() {
+        return value = proxied.next(value);
+    }
+
+    @Benchmark
+    public int timed() {
+        return value = timed.next(value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MethodMetricsBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.supplychain.supplychain.dto.BOM.BillOfMaterialDTO;
+import org.supplychain.supplychain.dto.product.ProductDTO;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+import org.supplychain.supplychain.service.Production.Product.ProductService;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BomRequirementCacheIntegrationTest {
+
+    @Autowired
+    private BomRequirementCache bomRequirementCache;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Test
+    void requirementsAreCachedAndFollowProductWrites() {
+        Long glue = rawMaterialRepository.save(material("Cache glue")).getIdMaterial();
+        Long board = rawMaterialRepository.save(material("Cache board")).getIdMaterial();
+
+        ProductDTO shelf = new ProductDTO();
+        shelf.setName("Cache shelf");
+        shelf.setUnit("pcs");
+        shelf.setCost(new BigDecimal("15.00"));
+        shelf.setProductionTime(1);
+        shelf.setStock(0);
+        shelf.setMinimumStock(0);
+        // the same material on two lines is summed
+        shelf.setBillOfMaterials(List.of(line(board, 2), line(glue, 1), line(board, 3)));
+        Long productId = productService.createProduct(shelf).getId();
+
+        BomRequirements requirements = bomRequirementCache.get(productId);
+        assertEquals(2, requirements.size());
+        assertEquals(Math.min(glue, board), requirements.materialId(0));
+        assertEquals(board, requirements.materialId(glue < board ? 1 : 0));
+        assertEquals(5, requirements.quantity(glue < board ? 1 : 0));
+
+        long before = JdbcStatementCounter.count();
+        assertSame(requirements, bomRequirementCache.get(productId));
+        assertEquals(0, JdbcStatementCounter.count() - before);
+
+        shelf.setBillOfMaterials(List.of(line(glue, 4)));
+        productService.updateProduct(productId, shelf);
+        requirements = bomRequirementCache.get(productId);
+        assertEquals(1, requirements.size());
+        assertEquals(glue, requirements.materialId(0));
+        assertEquals(4, requirements.quantity(0));
+
+        productService.deleteProduct(productId);
+        assertEquals(0, bomRequirementCache.get(productId).size());
+    }
+
+    private RawMaterial material(String name) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(100);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("kg");
+        return material;
+    }
+
+    private BillOfMaterialDTO line(Long materialId, int quantity) {
+        BillOfMaterialDTO line = new BillOfMaterialDTO();
+        line.setMaterialId(materialId);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,164 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.supplychain.supplychain.dto.BOM.BillOfMaterialDTO;
+import org.supplychain.supplychain.dto.product.ProductDTO;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+import org.supplychain.supplychain.service.Production.Product.ProductService;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET endpoints answer 304 from version and audit-date aggregates, without loading the entities,
+ * and change their validators whenever a row the representation is built from changes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void productDetailIsRevalidatedFromItsStamp() throws Exception {
+        RawMaterial material = rawMaterialRepository.save(material("Conditional oak"));
+        ProductDTO product = product("Conditional table", material.getIdMaterial(), 4);
+        Long id = productService.createProduct(product).getId();
+
+        String etag = mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"product-" + id + "-"), etag);
+
+        long before = JdbcStatementCounter.count();
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        long statements = JdbcStatementCounter.count() - before;
+
+        // product stamp, BOM references stamp; neither the product nor its BOM is loaded
+        assertTrue(statements <= 2, "304 issued " + statements + " statements");
+
+        // a BOM quantity change is part of the product
+        product.setBillOfMaterials(List.of(line(material.getIdMaterial(), 5)));
+        productService.updateProduct(id, product);
+        String afterBomChange = revalidate("/api/products/" + id, etag);
+        assertNotEquals(etag, afterBomChange);
+
+        // so is the name of a material its BOM shows
+        material = rawMaterialRepository.findById(material.getIdMaterial()).orElseThrow();
+        material.setName("Conditional walnut");
+        rawMaterialRepository.save(material);
+        assertNotEquals(afterBomChange, revalidate("/api/products/" + id, afterBomChange));
+
+        mockMvc.perform(get("/api/products/{id}", Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void listsFollowTheTableWatermark() throws Exception {
+        rawMaterialRepository.save(material("Conditional listed pine"));
+
+        String etag = mockMvc.perform(get("/api/raw-materials").param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        long before = JdbcStatementCounter.count();
+        mockMvc.perform(get("/api/raw-materials").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(1, JdbcStatementCounter.count() - before);
+
+        // a new row anywhere in the table moves the watermark
+        rawMaterialRepository.save(material("Conditional listed birch"));
+        assertNotEquals(etag, revalidate("/api/raw-materials?size=5", etag));
+    }
+
+    @Test
+    void lastModifiedAloneIsEnough() throws Exception {
+        Customer customer = new Customer();
+        customer.setName("Conditional customer");
+        customer.setEmail("conditional.customer@example.com");
+        customer.setAddress("1 rue des Tests");
+        Long id = customerRepository.save(customer).getIdCustomer();
+
+        String lastModified = mockMvc.perform(get("/api/customers/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get("/api/customers/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    // a stale ETag gets the full body and a new ETag
+    private String revalidate(String uri, String etag) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ProductDTO product(String name, Long materialId, int quantity) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("80.00"));
+        product.setProductionTime(2);
+        product.setStock(0);
+        product.setMinimumStock(0);
+        product.setBillOfMaterials(List.of(line(materialId, quantity)));
+        return product;
+    }
+
+    private BillOfMaterialDTO line(Long materialId, int quantity) {
+        BillOfMaterialDTO line = new BillOfMaterialDTO();
+        line.setMaterialId(materialId);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private RawMaterial material(String name) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(100);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("kg");
+        return material;
+    }
+}
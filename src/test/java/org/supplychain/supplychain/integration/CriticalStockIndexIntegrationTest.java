@@ -0,0 +1,89 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.dto.rawmaterial.RawMaterialSummaryDTO;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.approvisionnement.CriticalStockIndex;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CriticalStockIndexIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CriticalStockIndex criticalStockIndex;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void indexFollowsCommittedChangesWithoutQueryingTheDatabase() throws Exception {
+        RawMaterial material = new RawMaterial();
+        material.setName("Indexed material");
+        material.setStock(2);
+        material.setStockMin(5);
+        material.setUnitPrice(new BigDecimal("1.00"));
+        material.setUnit("kg");
+        material = rawMaterialRepository.save(material);
+        int id = material.getIdMaterial().intValue();
+
+        long before = JdbcStatementCounter.count();
+        mockMvc.perform(get("/api/raw-materials/critical-stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(id)));
+        assertEquals(0, JdbcStatementCounter.count() - before);
+
+        material.setStock(50);
+        material = rawMaterialRepository.save(material);
+        mockMvc.perform(get("/api/raw-materials/critical-stock"))
+                .andExpect(jsonPath("$[*].id", not(hasItem(id))));
+
+        // a rolled back change never reaches the index
+        Long materialId = material.getIdMaterial();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            rawMaterialRepository.findById(materialId).orElseThrow().setStock(0);
+            rawMaterialRepository.flush();
+            status.setRollbackOnly();
+        });
+        assertFalse(indexed(materialId));
+
+        // a write behind Hibernate's back is found by the consistency check
+        jdbcTemplate.update("UPDATE raw_materials SET stock = 1 WHERE idMaterial = ?", materialId);
+        assertFalse(indexed(materialId));
+        assertTrue(criticalStockIndex.check() >= 1);
+        assertTrue(indexed(materialId));
+        assertEquals(0, criticalStockIndex.check());
+    }
+
+    private boolean indexed(Long id) {
+        return criticalStockIndex.snapshot().stream().map(RawMaterialSummaryDTO::getId).anyMatch(id::equals);
+    }
+}
@@ -0,0 +1,130 @@
+package org.supplychain.supplychain.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.seed.SyntheticDataGenerator;
+
+import javax.sql.DataSource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * JDBC round trips per endpoint, on a seeded database: pages of 25 rows whose lines, deliveries,
+ * BOMs and suppliers are all populated, so an N+1 shows up as dozens of statements. A budget
+ * that no longer holds means a new query per row or an extra round trip; lower it when a change
+ * makes an endpoint cheaper.
+ * <p>
+ * Writes also pay for sequence blocks: pooled-lo ids fetch one block of 50 per table, so a POST
+ * may or may not hit the sequences depending on the previous inserts.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:budgettest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class EndpointQueryBudgetTest {
+
+    private static final String PAGE = "?page=0&size=25";
+
+    // one context per class: seeded once
+    private static boolean seeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private QueryBudget budget;
+
+    @BeforeEach
+    void seed() throws Exception {
+        if (!seeded) {
+            // 50 suppliers, 250 materials, 100 products, 250 customers, 500 orders, 150 supply orders...
+            new SyntheticDataGenerator(dataSource, entityManagerFactory, 0.0005, 11, 2, 500).generate();
+            seeded = true;
+            // first request of the context: DispatcherServlet and Jackson setup stay out of the budgets
+            mockMvc.perform(get("/api/orders" + PAGE));
+        }
+        budget = new QueryBudget(mockMvc, entityManagerFactory);
+    }
+
+    @Test
+    void customerOrders() throws Exception {
+        // headers with delivery, lines of the page, count
+        budget.expect(get("/api/orders" + PAGE), 3);
+        // header projection with delivery, lines of the page
+        budget.expect(get("/api/orders").param("after", "").param("size", "25"), 2);
+        // order with delivery, lines
+        budget.expect(get("/api/orders/" + min("idOrder", "orders")), 2);
+
+        long customer = min("idCustomer", "customers");
+        long product = min("id", "products");
+        jdbcTemplate.update("UPDATE products SET stock = 1000 WHERE id IN (?, ?)", product, product + 1);
+        // customer, products, order number, order, lines batch; one conditional stock update per
+        // product; 2 sequence blocks
+        budget.expect(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content("""
+                {"customerId": %d, "productOrders": [{"productId": %d, "quantity": 1}, {"productId": %d, "quantity": 2}]}
+                """.formatted(customer, product, product + 1)), 5 + 2 + 2);
+    }
+
+    @Test
+    void supplyOrders() throws Exception {
+        // orders, then their lines for 50 orders at a time
+        budget.expect(get("/api/supplier-orders"), 4);
+        // order, lines
+        budget.expect(get("/api/supplier-orders/" + min("idOrder", "supply_orders")), 2);
+
+        long supplier = min("idSupplier", "suppliers");
+        long material = min("idMaterial", "raw_materials");
+        jdbcTemplate.update("UPDATE raw_materials SET stock = 0, reservedStock = 0 WHERE idMaterial BETWEEN ? AND ?",
+                material, material + 7);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            lines.append(i == 0 ? "" : ", ").append("{\"rawMaterialId\": ").append(material + i).append(", \"quantity\": 5}");
+        }
+        // supplier, the 8 materials, order number, order; 1 batch of lines, 1 of reserved stock
+        // updates; 2 sequence blocks
+        budget.expect(post("/api/supplier-orders").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"supplierId\": " + supplier + ", \"orderLines\": [" + lines + "]}"), 4 + 2 + 2);
+    }
+
+    @Test
+    void catalog() throws Exception {
+        // ETag stamps of suppliers and of their materials, page, count, materials of the whole page
+        budget.expect(get("/api/suppliers" + PAGE), 5);
+        // the same for one supplier, without count
+        budget.expect(get("/api/suppliers/" + min("idSupplier", "suppliers")), 4);
+        // stamp, page, count
+        budget.expect(get("/api/raw-materials" + PAGE), 3);
+        // stamps of products and materials, page, count, BOM lines of the page, then their
+        // materials 50 at a time
+        budget.expect(get("/api/products" + PAGE), 8);
+        budget.expect(get("/api/customers" + PAGE), 3);
+    }
+
+    @Test
+    void productionAndDeliveries() throws Exception {
+        // page, count, products of the page
+        budget.expect(get("/api/production-orders" + PAGE), 3);
+        // every delivery with its order: one query
+        budget.expect(get("/api/deliveries"), 1);
+    }
+
+    private long min(String id, String table) {
+        return jdbcTemplate.queryForObject("SELECT MIN(" + id + ") FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,109 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fuzzy search through the in-memory n-gram engine of the test profile; the PostgreSQL engine
+ * runs the same contract against pg_trgm.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class FuzzySearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void materialsAreRankedAndTypoTolerant() throws Exception {
+        Long exact = rawMaterialRepository.save(material("Galvanized zinc sheet")).getIdMaterial();
+        Long partial = rawMaterialRepository.save(material("Zinced wire")).getIdMaterial();
+
+        mockMvc.perform(get("/api/raw-materials/search/fuzzy").param("q", "galvanised"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.id").value(exact))
+                .andExpect(jsonPath("$[0].item.name").value("Galvanized zinc sheet"));
+
+        mockMvc.perform(get("/api/raw-materials/search/fuzzy").param("q", "zinc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.id").value(exact))
+                .andExpect(jsonPath("$[0].similarity").value(1.0))
+                .andExpect(jsonPath("$[1].item.id").value(partial));
+
+        // the index follows the table
+        Long added = rawMaterialRepository.save(material("Zinc anode")).getIdMaterial();
+        mockMvc.perform(get("/api/raw-materials/search/fuzzy").param("q", "zinc anode").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].item.id").value(added));
+
+        mockMvc.perform(get("/api/raw-materials/search/fuzzy").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/raw-materials/search/fuzzy").param("q", "zinc").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void suppliersAndCustomersAreSearchable() throws Exception {
+        Supplier supplier = new Supplier();
+        supplier.setName("Fuzzwerk Metallbau");
+        supplier.setContact("Contact");
+        supplier.setEmail("fuzzwerk@example.com");
+        supplier.setLeadTime(5);
+        Long supplierId = supplierRepository.save(supplier).getIdSupplier();
+
+        mockMvc.perform(get("/api/suppliers/search/fuzzy").param("q", "fuzwerk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.id").value(supplierId));
+
+        Customer customer = new Customer();
+        customer.setName("Quentin Fuzzard");
+        customer.setEmail("qfz.orders@fuzzard-shop.example");
+        customer.setAddress("3 rue des Essais");
+        customerRepository.save(customer);
+
+        // matched through the email
+        mockMvc.perform(get("/api/customers/search/fuzzy").param("q", "qfz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].item.email").value("qfz.orders@fuzzard-shop.example"));
+        mockMvc.perform(get("/api/customers/search/fuzzy").param("q", "fuzard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].item.name").value("Quentin Fuzzard"));
+    }
+
+    private RawMaterial material(String name) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(10);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("kg");
+        return material;
+    }
+}
@@ -0,0 +1,176 @@
+package org.supplychain.supplychain.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.enums.OrderStatus;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Order;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.OrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class KeysetPaginationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void testScrollRawMaterials_VisitsEveryRowOnceInOrder() throws Exception {
+        Set<Long> seeded = new HashSet<>();
+        for (int i = 0; i < 23; i++) {
+            RawMaterial material = new RawMaterial();
+            material.setName("Keyset material " + i);
+            material.setStock(i % 4); // many ties on the sort column
+            material.setStockMin(1);
+            material.setUnitPrice(new BigDecimal("1.25"));
+            material.setUnit("kg");
+            seeded.add(rawMaterialRepository.save(material).getIdMaterial());
+        }
+
+        List<JsonNode> rows = new ArrayList<>();
+        String after = "";
+        int pages = 0;
+        do {
+            String body = mockMvc.perform(get("/api/raw-materials")
+                            .param("after", after)
+                            .param("size", "5")
+                            .param("sortBy", "stock")
+                            .param("sortDirection", "DESC"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(rows::add);
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (after != null && pages < 1000);
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            assertTrue(seen.add(rows.get(i).get("id").asLong()), "row returned twice");
+            if (i > 0) {
+                int previousStock = rows.get(i - 1).get("stock").asInt();
+                int stock = rows.get(i).get("stock").asInt();
+                assertTrue(previousStock > stock
+                        || previousStock == stock && rows.get(i - 1).get("id").asLong() > rows.get(i).get("id").asLong());
+            }
+        }
+        assertTrue(seen.containsAll(seeded));
+    }
+
+    @Test
+    void testScrollOrders_ReadsHeadersAndLinesOfEveryPage() throws Exception {
+        Customer customer = new Customer();
+        customer.setName("Keyset customer");
+        customer.setEmail("keyset.customer@example.com");
+        customer.setAddress("1 Keyset street");
+        customer = customerRepository.save(customer);
+
+        Product product = new Product();
+        product.setName("Keyset product");
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("4.00"));
+        product.setProductionTime(1);
+        product = productRepository.save(product);
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (int i = 0; i < 11; i++) {
+            Order order = new Order();
+            order.setOrderNumber("KEYSET-" + i);
+            order.setCustomer(customer);
+            order.setStatus(OrderStatus.values()[i % 3]); // ties on the sort column
+            order.setTotalAmount(new BigDecimal("4.00").multiply(BigDecimal.valueOf(i + 1)));
+            ProductOrder line = new ProductOrder();
+            line.setOrder(order);
+            line.setProduct(product);
+            line.setQuantity(i + 1);
+            line.setUnitPrice(new BigDecimal("4.00"));
+            line.setTotalPrice(order.getTotalAmount());
+            order.getProductOrders().add(line);
+            quantities.put(orderRepository.save(order).getIdOrder(), i + 1);
+        }
+
+        List<JsonNode> rows = new ArrayList<>();
+        String after = "";
+        int pages = 0;
+        do {
+            String body = mockMvc.perform(get("/api/orders")
+                            .param("after", after)
+                            .param("size", "4")
+                            .param("sortBy", "status"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(rows::add);
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (after != null && pages < 1000);
+
+        Set<Long> seen = new HashSet<>();
+        Set<String> finishedStatuses = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            JsonNode row = rows.get(i);
+            assertTrue(seen.add(row.get("id").asLong()), "row returned twice");
+            if (i > 0 && !rows.get(i - 1).get("status").equals(row.get("status"))) {
+                assertTrue(finishedStatuses.add(rows.get(i - 1).get("status").asText()), "statuses not grouped");
+            } else if (i > 0) {
+                assertTrue(rows.get(i - 1).get("id").asLong() < row.get("id").asLong());
+            }
+            Integer quantity = quantities.get(row.get("id").asLong());
+            if (quantity != null) {
+                assertEquals(quantity, row.get("productOrders").get(0).get("quantity").asInt());
+            }
+        }
+        assertTrue(seen.containsAll(quantities.keySet()));
+    }
+
+    @Test
+    void testScroll_RejectsUnknownSortColumnAndForgedCursor() throws Exception {
+        mockMvc.perform(get("/api/production-orders").param("after", "").param("sortBy", "StartDate"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/suppliers").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+}
@@ -0,0 +1,129 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.exception.InsufficientStockException;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.service.Production.Inventory.LedgerProductStockService;
+import org.supplychain.supplychain.service.Production.Inventory.ProductStockCache;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The ledger against its journal and {@code products.stock}; the scheduled flush is pushed out so
+ * each test decides when it runs.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledgertest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "inventory.ledger.enabled=true",
+        "inventory.ledger.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class LedgerProductStockServiceIntegrationTest {
+
+    @Autowired
+    private LedgerProductStockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductStockCache productStockCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reservationIsGivenBackWhenTheTransactionRollsBack() {
+        Long productId = product("Ledger rollback", 10);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            stockService.reserve(Map.of(productId, 4));
+            assertThrows(InsufficientStockException.class, () -> stockService.reserve(Map.of(productId, 7)));
+            status.setRollbackOnly();
+        });
+
+        assertAvailable(stockService, productId, 10);
+        assertEquals(0, movements(productId));
+    }
+
+    @Test
+    void flushFoldsTheJournalIntoProducts() {
+        Long productId = product("Ledger flush", 10);
+
+        stockService.reserve(Map.of(productId, 3));
+        stockService.release(Map.of(productId, 5));
+        assertAvailable(stockService, productId, 12);
+        // nothing written to the product row before the flush
+        assertEquals(10, stock(productId));
+        assertEquals(2, movements(productId));
+
+        stockService.scheduledFlush();
+
+        assertEquals(12, stock(productId));
+        assertEquals(0, movements(productId));
+        assertAvailable(stockService, productId, 12);
+    }
+
+    @Test
+    void startupAppliesLeftoverMovementsBeforeLoading() {
+        Long productId = product("Ledger restart", 10);
+        // journal rows of a node that stopped before its flush
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO stock_movements (product_id, delta, created_at) VALUES (?, ?, ?)", productId, -4, now);
+        jdbcTemplate.update("INSERT INTO stock_movements (product_id, delta, created_at) VALUES (?, ?, ?)", productId, 1, now);
+
+        LedgerProductStockService restarted =
+                new LedgerProductStockService(jdbcTemplate, transactionManager, productStockCache, 8);
+        restarted.reconcile();
+
+        assertEquals(7, stock(productId));
+        assertEquals(0, movements(productId));
+        assertAvailable(restarted, productId, 7);
+    }
+
+    // the ledger lets the whole quantity through, and not one more
+    private void assertAvailable(LedgerProductStockService service, Long productId, int quantity) {
+        assertThrows(InsufficientStockException.class, () -> service.reserve(Map.of(productId, quantity + 1)));
+        transactionTemplate.executeWithoutResult(status -> {
+            service.reserve(Map.of(productId, quantity));
+            status.setRollbackOnly();
+        });
+    }
+
+    private Long product(String name, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("10.00"));
+        product.setProductionTime(1);
+        product.setStock(stock);
+        return productRepository.save(product).getId();
+    }
+
+    private int stock(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    private int movements(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_movements WHERE product_id = ?", Integer.class, productId);
+    }
+}
@@ -0,0 +1,92 @@
+package org.supplychain.supplychain.integration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.MethodMetricsAspect;
+import org.supplychain.supplychain.monitoring.RequestStatementsFilter;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.approvisionnement.RawMaterialService;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Service and repository methods are timed, each request records its JDBC statements, and
+ * {@code /actuator/hotpaths} ranks both.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class MethodMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RawMaterialService rawMaterialService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Test
+    void servicesRepositoriesAndRequestsAreMeasured() throws Exception {
+        RawMaterial material = new RawMaterial();
+        material.setName("Metered copper");
+        material.setStock(10);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("kg");
+        Long id = rawMaterialRepository.save(material).getIdMaterial();
+
+        long before = calls("service", "RawMaterialServiceImpl", "getRawMaterialById");
+        rawMaterialService.getRawMaterialById(id);
+        assertEquals(before + 1, calls("service", "RawMaterialServiceImpl", "getRawMaterialById"));
+
+        // inherited CrudRepository methods are named after the application repository
+        assertTrue(calls("repository", "RawMaterialRepository", "save") >= 1);
+
+        assertThrows(IllegalArgumentException.class, () -> rawMaterialService.getRawMaterialById(Long.MAX_VALUE));
+        assertTrue(meterRegistry.get(MethodMetricsAspect.ERRORS)
+                .tags("class", "RawMaterialServiceImpl", "method", "getRawMaterialById",
+                        "exception", "IllegalArgumentException")
+                .counter().count() >= 1);
+
+        mockMvc.perform(get("/api/raw-materials/{id}", id))
+                .andExpect(status().isOk());
+        DistributionSummary statements = meterRegistry.get(RequestStatementsFilter.STATEMENTS)
+                .tags("method", "GET", "uri", "/api/raw-materials/{id}")
+                .summary();
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.max() >= 1);
+
+        mockMvc.perform(get("/actuator/hotpaths").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.methods[?(@.type == 'RawMaterialServiceImpl' && @.method == 'getRawMaterialById')].errors")
+                        .isNotEmpty())
+                .andExpect(jsonPath("$.requests[?(@.uri == '/api/raw-materials/{id}')].maxStatements").isNotEmpty());
+    }
+
+    private long calls(String layer, String type, String method) {
+        Timer timer = meterRegistry.find(MethodMetricsAspect.CALLS)
+                .tags("layer", layer, "class", type, "method", method)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
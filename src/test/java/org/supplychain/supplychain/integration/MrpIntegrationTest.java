@@ -0,0 +1,139 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.enums.SupplyOrderStatus;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductionOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.model.SupplyOrder;
+import org.supplychain.supplychain.model.SupplyOrderLine;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class MrpIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+
+    @Autowired
+    private ProductionOrderRepository productionOrderRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private SupplierOrderRepository supplierOrderRepository;
+
+    @Test
+    void mrpExplodesPendingOrdersAndNetsStockAndOpenSupply() throws Exception {
+        RawMaterial steel = rawMaterialRepository.save(material("MRP steel", 40, 10));
+        RawMaterial paint = rawMaterialRepository.save(material("MRP paint", 500, 0));
+
+        Product chair = new Product();
+        chair.setName("MRP chair");
+        chair.setUnit("pcs");
+        chair.setCost(new BigDecimal("20.00"));
+        chair.setProductionTime(2);
+        chair = productRepository.save(chair);
+        billOfMaterialRepository.save(bom(chair, steel, 4));
+        billOfMaterialRepository.save(bom(chair, paint, 1));
+
+        productionOrderRepository.save(order(chair, "MRP-1", 15, ProductionOrderStatus.EN_ATTENTE));
+        productionOrderRepository.save(order(chair, "MRP-2", 5, ProductionOrderStatus.EN_PRODUCTION));
+        productionOrderRepository.save(order(chair, "MRP-3", 100, ProductionOrderStatus.TERMINE));
+
+        Supplier supplier = new Supplier();
+        supplier.setName("MRP supplier");
+        supplier.setContact("Contact");
+        supplier.setEmail("mrp.supplier@example.com");
+        supplier = supplierRepository.save(supplier);
+        SupplyOrder supplyOrder = new SupplyOrder();
+        supplyOrder.setOrderNumber("SO-MRP-1");
+        supplyOrder.setSupplier(supplier);
+        supplyOrder.setOrderDate(LocalDate.now());
+        supplyOrder.setStatus(SupplyOrderStatus.EN_COURS);
+        SupplyOrderLine line = new SupplyOrderLine();
+        line.setSupplyOrder(supplyOrder);
+        line.setRawMaterial(steel);
+        line.setQuantity(12);
+        line.setUnitPrice(BigDecimal.ONE);
+        supplyOrder.getOrderLines().add(line);
+        supplierOrderRepository.save(supplyOrder);
+
+        // started and finished orders already took their materials
+        // steel: 15 chairs x 4 = 60 needed, 40 - 10 available, 12 on order -> 18 to buy
+        String steelLine = "$.data.materials[?(@.materialId == " + steel.getIdMaterial() + ")]";
+        String paintLine = "$.data.materials[?(@.materialId == " + paint.getIdMaterial() + ")]";
+        mockMvc.perform(get("/api/planning/mrp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(steelLine + ".grossRequirement").value(60))
+                .andExpect(jsonPath(steelLine + ".availableStock").value(30))
+                .andExpect(jsonPath(steelLine + ".onOrder").value(12))
+                .andExpect(jsonPath(steelLine + ".netRequirement").value(18))
+                .andExpect(jsonPath(paintLine + ".netRequirement").value(0));
+
+        mockMvc.perform(get("/api/planning/mrp").param("shortagesOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(steelLine + ".netRequirement").value(18))
+                .andExpect(jsonPath(paintLine).isEmpty());
+    }
+
+    private RawMaterial material(String name, int stock, int reserved) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(stock);
+        material.setReservedStock(reserved);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("kg");
+        return material;
+    }
+
+    private BillOfMaterial bom(Product product, RawMaterial material, int quantity) {
+        BillOfMaterial bom = new BillOfMaterial();
+        bom.setProduct(product);
+        bom.setMaterial(material);
+        bom.setQuantity(quantity);
+        return bom;
+    }
+
+    private ProductionOrder order(Product product, String number, int quantity, ProductionOrderStatus status) {
+        ProductionOrder order = new ProductionOrder();
+        order.setOrderNumber(number);
+        order.setProduct(product);
+        order.setQuantity(quantity);
+        order.setStatus(status);
+        return order;
+    }
+}
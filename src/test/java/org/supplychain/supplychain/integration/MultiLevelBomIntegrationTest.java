@@ -0,0 +1,171 @@
+package org.supplychain.supplychain.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.dto.BOM.BillOfMaterialDTO;
+import org.supplychain.supplychain.dto.product.ProductDTO;
+import org.supplychain.supplychain.enums.Priority;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.model.ProductionOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+import org.supplychain.supplychain.service.Production.Product.ProductService;
+import org.supplychain.supplychain.service.Production.ProductionOrder.ProductionOrderService;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class MultiLevelBomIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductionOrderService productionOrderService;
+
+    @Autowired
+    private BomRequirementCache bomRequirementCache;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductionOrderRepository productionOrderRepository;
+
+    @Test
+    void subAssembliesExplodeToLeafMaterialsAndFollowChanges() throws Exception {
+        Long wood = rawMaterialRepository.save(material("Multi-level wood")).getIdMaterial();
+        Long screws = rawMaterialRepository.save(material("Multi-level screw")).getIdMaterial();
+
+        // drawer = 2 wood + 4 screws; cabinet = 3 drawers + 5 wood
+        ProductDTO drawer = product("Multi-level drawer", List.of(materialLine(wood, 2), materialLine(screws, 4)));
+        Long drawerId = productService.createProduct(drawer).getId();
+        ProductDTO cabinet = product("Multi-level cabinet", List.of(componentLine(drawerId, 3), materialLine(wood, 5)));
+        Long cabinetId = productService.createProduct(cabinet).getId();
+
+        BomRequirements requirements = bomRequirementCache.get(cabinetId);
+        assertEquals(11, quantityOf(requirements, wood));
+        assertEquals(12, quantityOf(requirements, screws));
+
+        mockMvc.perform(get("/api/products/" + cabinetId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.billOfMaterials[?(@.componentId == " + drawerId + ")].componentName")
+                        .value("Multi-level drawer"));
+
+        // starting the cabinet consumes the leaf materials of its drawers
+        ProductionOrder order = new ProductionOrder();
+        order.setOrderNumber("PO-MULTI-1");
+        order.setProduct(productRepository.findById(cabinetId).orElseThrow());
+        order.setQuantity(2);
+        order.setPriority(Priority.STANDARD);
+        order.setStatus(ProductionOrderStatus.EN_ATTENTE);
+        Long orderId = productionOrderRepository.save(order).getIdOrder();
+        productionOrderService.production(orderId);
+        assertEquals(100 - 22, rawMaterialRepository.findById(wood).orElseThrow().getStock());
+        assertEquals(100 - 24, rawMaterialRepository.findById(screws).orElseThrow().getStock());
+
+        // a change one level down reaches the cabinet
+        drawer.setBillOfMaterials(List.of(materialLine(wood, 1), materialLine(screws, 4)));
+        productService.updateProduct(drawerId, drawer);
+        assertEquals(8, quantityOf(bomRequirementCache.get(cabinetId), wood));
+
+        // the drawer cannot contain the cabinet, nor itself
+        drawer.setBillOfMaterials(List.of(componentLine(cabinetId, 1)));
+        mockMvc.perform(put("/api/products/" + drawerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(drawer)))
+                .andExpect(status().isBadRequest());
+        drawer.setBillOfMaterials(List.of(componentLine(drawerId, 1)));
+        mockMvc.perform(put("/api/products/" + drawerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(drawer)))
+                .andExpect(status().isBadRequest());
+        assertEquals(8, quantityOf(bomRequirementCache.get(cabinetId), wood));
+
+        // a line naming both a material and a component is invalid
+        BillOfMaterialDTO both = materialLine(wood, 1);
+        both.setComponentId(cabinetId);
+        drawer.setBillOfMaterials(List.of(both));
+        mockMvc.perform(put("/api/products/" + drawerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(drawer)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/api/products/" + drawerId))
+                .andExpect(status().isConflict());
+    }
+
+    private static int quantityOf(BomRequirements requirements, Long materialId) {
+        for (int line = 0; line < requirements.size(); line++) {
+            if (requirements.materialId(line) == materialId) {
+                return requirements.quantity(line);
+            }
+        }
+        return 0;
+    }
+
+    private ProductDTO product(String name, List<BillOfMaterialDTO> lines) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("30.00"));
+        product.setProductionTime(1);
+        product.setStock(0);
+        product.setMinimumStock(0);
+        product.setBillOfMaterials(lines);
+        return product;
+    }
+
+    private RawMaterial material(String name) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(100);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("pcs");
+        return material;
+    }
+
+    private BillOfMaterialDTO materialLine(Long materialId, int quantity) {
+        BillOfMaterialDTO line = new BillOfMaterialDTO();
+        line.setMaterialId(materialId);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private BillOfMaterialDTO componentLine(Long componentId, int quantity) {
+        BillOfMaterialDTO line = new BillOfMaterialDTO();
+        line.setComponentId(componentId);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
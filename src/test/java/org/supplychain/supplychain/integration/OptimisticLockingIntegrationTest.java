@@ -0,0 +1,91 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two writers of the same row: the one holding the older version loses, and the API answers 409.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class OptimisticLockingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Test
+    void secondEditOfTheSameProductVersionIsRejected() {
+        Product product = new Product();
+        product.setName("Locking chair");
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("30.00"));
+        product.setProductionTime(2);
+        Long id = productRepository.save(product).getId();
+
+        // both editors read version 0
+        Product first = productRepository.findById(id).orElseThrow();
+        Product second = productRepository.findById(id).orElseThrow();
+
+        first.setCost(new BigDecimal("32.00"));
+        productRepository.save(first);
+        second.setCost(new BigDecimal("35.00"));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> productRepository.save(second));
+
+        Product stored = productRepository.findById(id).orElseThrow();
+        assertEquals(0, new BigDecimal("32.00").compareTo(stored.getCost()));
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void materialUpdateThatLostTheRaceAnswersConflict() throws Exception {
+        RawMaterial material = new RawMaterial();
+        material.setName("Locking beech");
+        material.setStock(10);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("kg");
+        Long id = rawMaterialRepository.save(material).getIdMaterial();
+        // cached at version 0
+        rawMaterialRepository.findById(id).orElseThrow();
+
+        // another writer commits behind this node's entity cache
+        jdbcTemplate.update("UPDATE raw_materials SET stock = 7, version = version + 1 WHERE idMaterial = ?", id);
+
+        mockMvc.perform(put("/api/raw-materials/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Locking beech\",\"stock\":12,\"stockMin\":1,\"unit\":\"kg\",\"unitPrice\":\"1\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflict"));
+
+        assertEquals(7, jdbcTemplate.queryForObject("SELECT stock FROM raw_materials WHERE idMaterial = ?", Integer.class, id));
+    }
+}
@@ -0,0 +1,87 @@
+package org.supplychain.supplychain.integration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.supplychain.supplychain.dto.order.OrderImportResultDTO;
+import org.supplychain.supplychain.enums.ImportStatus;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+import org.supplychain.supplychain.service.modelSupplier.OrderImportService;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements per order for a bulk import of {@value #ORDERS} orders with {@value #LINES} lines each.
+ * With IDENTITY ids every order and line is its own INSERT (about 4 statements per order);
+ * with pooled sequences and ordered batch inserts it drops well below one.
+ */
+@Slf4j
+@SpringBootTest(properties = "orders.import.chunk-size=" + OrderInsertBatchingTest.ORDERS)
+@ActiveProfiles("test")
+class OrderInsertBatchingTest {
+
+    static final int ORDERS = 200;
+    static final int LINES = 3;
+
+    @Autowired
+    private OrderImportService orderImportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void bulkImportBatchesInserts() throws Exception {
+        Customer customer = new Customer();
+        customer.setName("Batch customer");
+        customer.setEmail("batch@example.com");
+        customer.setAddress("2 rue du Port");
+        customer = customerRepository.save(customer);
+
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Product product = new Product();
+            product.setName("Batch product " + i);
+            product.setUnit("pcs");
+            product.setCost(new BigDecimal("1.00"));
+            product.setProductionTime(1);
+            product.setStock(ORDERS);
+            productIds.add(productRepository.save(product).getId());
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ORDERS; i++) {
+            body.append("{\"customerId\":").append(customer.getIdCustomer()).append(",\"productOrders\":[");
+            for (int l = 0; l < LINES; l++) {
+                body.append(l == 0 ? "" : ",")
+                        .append("{\"productId\":").append(productIds.get(l)).append(",\"quantity\":1}");
+            }
+            body.append("]}\n");
+        }
+
+        List<OrderImportResultDTO> results = new ArrayList<>();
+        long before = JdbcStatementCounter.count();
+        orderImportService.importOrders(new BufferedReader(new StringReader(body.toString())), results::add);
+        long statements = JdbcStatementCounter.count() - before;
+
+        log.info("Imported {} orders x {} lines in {} statements ({} per order)",
+                ORDERS, LINES, statements, (double) statements / ORDERS);
+        assertEquals(ORDERS, results.stream().filter(r -> r.getStatus() == ImportStatus.CREATED).count());
+        assertTrue(statements < ORDERS / 4, "expected batched inserts, got " + statements + " statements");
+    }
+}
@@ -6,12 +6,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
 
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
-@SpringBootTest
+@SpringBootTest(properties = "orders.import.chunk-size=2")
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
  class OrderIntegrationTest {
@@ -19,11 +29,56 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
     @Test
     void testGetAllOrders() throws Exception {
 
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk());
     }
-}
 
+    @Test
+    void testImportOrders_KeepsValidLinesOfAFailingChunk() throws Exception {
+        Customer customer = new Customer();
+        customer.setName("Import customer");
+        customer.setEmail("import@example.com");
+        customer.setAddress("1 rue du Port");
+        customer = customerRepository.save(customer);
+
+        Product product = new Product();
+        product.setName("Import product");
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("2.50"));
+        product.setProductionTime(1);
+        product.setStock(5);
+        product = productRepository.save(product);
+
+        String line = "{\"customerId\":%d,\"productOrders\":[{\"productId\":%d,\"quantity\":%d}]}\n";
+        String body = line.formatted(customer.getIdCustomer(), product.getId(), 3)
+                + "not json\n"
+                + line.formatted(customer.getIdCustomer(), product.getId(), 3)
+                + "\n"
+                + line.formatted(customer.getIdCustomer(), product.getId(), 2);
+
+        String results = mockMvc.perform(post("/api/orders/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        // lines 1 and 3 share a chunk that is short as a whole: line 1 still goes through alone
+        String[] lines = results.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{\"line\":2,\"status\":\"REJECTED\""));
+        assertTrue(lines[1].startsWith("{\"line\":1,\"status\":\"CREATED\""));
+        assertTrue(lines[2].startsWith("{\"line\":3,\"status\":\"REJECTED\""));
+        assertTrue(lines[3].startsWith("{\"line\":5,\"status\":\"CREATED\""));
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,102 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.enums.DeliveryStatus;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Delivery;
+import org.supplychain.supplychain.model.Order;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.OrderRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+import org.supplychain.supplychain.repository.modelDelivery.DeliveryRepository;
+import org.supplychain.supplychain.service.modelSupplier.OrderImportService;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/orders must cost the same number of statements whatever the page holds:
+ * headers, lines of the page, and the total count. Own database, so the newest orders are the ones
+ * imported here whatever other contexts have written.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:listingtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class OrderListingQueryCountTest {
+
+    private static final int MAX_STATEMENTS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderImportService orderImportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Test
+    void listingPageUsesConstantNumberOfStatements() throws Exception {
+        Customer customer = new Customer();
+        customer.setName("Listing customer");
+        customer.setEmail("listing@example.com");
+        customer.setAddress("3 rue du Port");
+        customer = customerRepository.save(customer);
+
+        Product product = new Product();
+        product.setName("Listing product");
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("4.00"));
+        product.setProductionTime(1);
+        product.setStock(1000);
+        product = productRepository.save(product);
+
+        String line = "{\"customerId\":%d,\"productOrders\":[{\"productId\":%d,\"quantity\":1},{\"productId\":%d,\"quantity\":2}]}\n"
+                .formatted(customer.getIdCustomer(), product.getId(), product.getId());
+        orderImportService.importOrders(new BufferedReader(new StringReader(line.repeat(30))), result -> { });
+
+        Order delivered = orderRepository.findAll(Sort.by(Sort.Direction.DESC, "idOrder")).get(0);
+        Delivery delivery = new Delivery();
+        delivery.setOrder(delivered);
+        delivery.setDeliveryAddress("3 rue du Port");
+        delivery.setDriver("Driver");
+        delivery.setStatus(DeliveryStatus.PLANIFIEE);
+        delivery.setDeliveryDate(LocalDate.now());
+        delivery.setDeliveryCost(new BigDecimal("9.90"));
+        deliveryRepository.save(delivery);
+
+        long before = JdbcStatementCounter.count();
+        mockMvc.perform(get("/api/orders").param("page", "0").param("size", "25").param("sort", "idOrder,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(25))
+                .andExpect(jsonPath("$.content[0].productOrders.length()").value(2))
+                .andExpect(jsonPath("$.content[0].delivery.driver").value("Driver"));
+        long statements = JdbcStatementCounter.count() - before;
+
+        assertTrue(statements <= MAX_STATEMENTS, "GET /api/orders issued " + statements + " statements");
+    }
+}
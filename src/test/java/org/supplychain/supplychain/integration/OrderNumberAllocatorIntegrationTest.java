@@ -0,0 +1,60 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.supplychain.supplychain.enums.OrderNumberType;
+import org.supplychain.supplychain.service.OrderNumber.OrderNumberAllocator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderNumberAllocatorIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 250;
+
+    @Autowired
+    private OrderNumberAllocator orderNumberAllocator;
+
+    @Test
+    void concurrentCallersNeverGetTheSameNumber() throws Exception {
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        numbers.add(orderNumberAllocator.next(OrderNumberType.SUPPLY));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(THREADS * PER_THREAD, numbers.size());
+        assertTrue(numbers.stream().allMatch(n -> n.matches("SO-00-\\d{8}")));
+    }
+
+    @Test
+    void eachTypeUsesItsOwnPrefix() {
+        assertTrue(orderNumberAllocator.next(OrderNumberType.PRODUCTION).startsWith("PO-"));
+        assertTrue(orderNumberAllocator.next(OrderNumberType.CUSTOMER).startsWith("CO-"));
+    }
+}
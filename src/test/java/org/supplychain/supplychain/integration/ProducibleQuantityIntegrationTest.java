@@ -0,0 +1,155 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.dto.product.ProducibleQuantityDTO;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Product.ProductService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ProducibleQuantityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+
+    @Test
+    void producibleIsBoundByTheScarcestLeafMaterial() throws Exception {
+        // 90 planks available once the reservation is taken out, 20 hinges
+        RawMaterial planks = rawMaterialRepository.save(material("Producible plank", 100, 10));
+        RawMaterial hinges = rawMaterialRepository.save(material("Producible hinge", 20, 0));
+
+        // door = 3 planks + 4 hinges; wardrobe = 2 doors + 1 plank
+        Product door = productRepository.save(product("Producible door"));
+        billOfMaterialRepository.save(materialLine(door, planks, 3));
+        billOfMaterialRepository.save(materialLine(door, hinges, 4));
+        Product wardrobe = productRepository.save(product("Producible wardrobe"));
+        BillOfMaterial doors = new BillOfMaterial();
+        doors.setProduct(wardrobe);
+        doors.setComponent(door);
+        doors.setQuantity(2);
+        billOfMaterialRepository.save(doors);
+        billOfMaterialRepository.save(materialLine(wardrobe, planks, 1));
+
+        mockMvc.perform(get("/api/products/" + door.getId() + "/producible"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.producible").value(5))
+                .andExpect(jsonPath("$.data.limitingMaterialId").value(hinges.getIdMaterial()));
+
+        // the wardrobe needs 7 planks (12 possible) and 8 hinges (2 possible)
+        long before = JdbcStatementCounter.count();
+        mockMvc.perform(post("/api/products/producible")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[" + wardrobe.getId() + "," + door.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].productName").value("Producible wardrobe"))
+                .andExpect(jsonPath("$.data[0].producible").value(2))
+                .andExpect(jsonPath("$.data[0].limitingMaterialName").value("Producible hinge"))
+                .andExpect(jsonPath("$.data[1].producible").value(5));
+        long statements = JdbcStatementCounter.count() - before;
+
+        // products, the wardrobe's BOM (the door's is cached), all materials at once
+        assertTrue(statements <= 3, "producible issued " + statements + " statements");
+
+        mockMvc.perform(get("/api/products/" + Long.MAX_VALUE + "/producible"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/products/producible")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void largeListsAreComputedInParallelInRequestOrder() {
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int m = 0; m < 10; m++) {
+            materials.add(material("Producible bulk material " + m, 1_000 * (m + 1), 0));
+        }
+        materials = rawMaterialRepository.saveAll(materials);
+
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < 1_500; p++) {
+            products.add(product("Producible bulk product " + p));
+        }
+        products = productRepository.saveAll(products);
+        List<BillOfMaterial> lines = new ArrayList<>();
+        for (int p = 0; p < products.size(); p++) {
+            lines.add(materialLine(products.get(p), materials.get(p % 10), 1 + p % 7));
+        }
+        billOfMaterialRepository.saveAll(lines);
+
+        List<Long> ids = products.stream().map(Product::getId).collect(Collectors.toList());
+        List<ProducibleQuantityDTO> result = productService.getProducibleQuantities(ids);
+
+        assertEquals(ids.size(), result.size());
+        for (int p = 0; p < ids.size(); p++) {
+            assertEquals(ids.get(p), result.get(p).getProductId());
+            assertEquals(1_000L * (p % 10 + 1) / (1 + p % 7), result.get(p).getProducible());
+        }
+    }
+
+    private Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("40.00"));
+        product.setProductionTime(1);
+        return product;
+    }
+
+    private RawMaterial material(String name, int stock, int reserved) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(stock);
+        material.setReservedStock(reserved);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("pcs");
+        return material;
+    }
+
+    private BillOfMaterial materialLine(Product product, RawMaterial material, int quantity) {
+        BillOfMaterial bom = new BillOfMaterial();
+        bom.setProduct(product);
+        bom.setMaterial(material);
+        bom.setQuantity(quantity);
+        return bom;
+    }
+}
@@ -0,0 +1,106 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.supplychain.supplychain.dto.BOM.BillOfMaterialDTO;
+import org.supplychain.supplychain.dto.product.ProductDTO;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Product.ProductService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Updating a product writes only the BOM lines that changed: re-sending the same BOM costs the
+ * reads alone, and every material is resolved in one query whatever the BOM size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductBomUpdateIntegrationTest {
+
+    private static final int LINES = 30;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+
+    @Test
+    void updateWritesOnlyChangedLines() {
+        List<Long> materials = new ArrayList<>();
+        for (int i = 0; i <= LINES; i++) {
+            RawMaterial material = new RawMaterial();
+            material.setName("Diff material " + i);
+            material.setStock(100);
+            material.setStockMin(1);
+            material.setUnitPrice(BigDecimal.ONE);
+            material.setUnit("kg");
+            materials.add(rawMaterialRepository.save(material).getIdMaterial());
+        }
+
+        List<BillOfMaterialDTO> lines = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            lines.add(line(materials.get(i), 1 + i % 3));
+        }
+        ProductDTO product = new ProductDTO();
+        product.setName("Diff product");
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("12.00"));
+        product.setProductionTime(1);
+        product.setStock(0);
+        product.setMinimumStock(0);
+        product.setBillOfMaterials(lines);
+
+        long before = JdbcStatementCounter.count();
+        Long productId = productService.createProduct(product).getId();
+        long createStatements = JdbcStatementCounter.count() - before;
+
+        // name check, product, materials in one query, BOM lines in one batch (ids from pooled sequences)
+        assertTrue(createStatements <= 6, "create issued " + createStatements + " statements");
+
+        before = JdbcStatementCounter.count();
+        productService.updateProduct(productId, product);
+        long unchangedStatements = JdbcStatementCounter.count() - before;
+
+        // product with its BOM, name check; nothing written
+        assertTrue(unchangedStatements <= 2, "unchanged update issued " + unchangedStatements + " statements");
+
+        // one quantity changed, one line removed, one line added
+        List<BillOfMaterialDTO> changed = new ArrayList<>(lines.subList(0, LINES - 1));
+        changed.set(0, line(materials.get(0), 9));
+        changed.add(line(materials.get(LINES), 4));
+        product.setBillOfMaterials(changed);
+
+        before = JdbcStatementCounter.count();
+        productService.updateProduct(productId, product);
+        long changedStatements = JdbcStatementCounter.count() - before;
+
+        // product with its BOM, name check, new material, one insert, one update, one delete,
+        // the product's version and updated date
+        assertTrue(changedStatements <= 7, "changed update issued " + changedStatements + " statements");
+        assertEquals(LINES, billOfMaterialRepository.findByProductId(productId).size());
+        assertEquals(9, billOfMaterialRepository.findLinesByProductId(productId).stream()
+                .filter(l -> l.materialId().equals(materials.get(0)))
+                .findFirst().orElseThrow().quantity());
+    }
+
+    private BillOfMaterialDTO line(Long materialId, int quantity) {
+        BillOfMaterialDTO line = new BillOfMaterialDTO();
+        line.setMaterialId(materialId);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
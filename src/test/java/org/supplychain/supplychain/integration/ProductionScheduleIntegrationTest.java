@@ -0,0 +1,172 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.dto.productionorder.ProductionOrderDTO;
+import org.supplychain.supplychain.enums.Priority;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductionOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.ProductionOrder.ProductionOrderService;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orders are urgent and overdue so they lead the schedule whatever else the shared database holds.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ProductionScheduleIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductionOrderService productionOrderService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+
+    @Autowired
+    private ProductionOrderRepository productionOrderRepository;
+
+    @Test
+    void scheduleIsBuiltThenShiftedByAnUrgentOrder() throws Exception {
+        RawMaterial wood = new RawMaterial();
+        wood.setName("Schedule wood");
+        wood.setStock(1_000);
+        wood.setStockMin(1);
+        wood.setUnitPrice(BigDecimal.ONE);
+        wood.setUnit("kg");
+        wood = rawMaterialRepository.save(wood);
+
+        // 4 h per table, two tables fill one 8 h working day
+        Product table = new Product();
+        table.setName("Schedule table");
+        table.setUnit("pcs");
+        table.setCost(new BigDecimal("50.00"));
+        table.setProductionTime(4);
+        table = productRepository.save(table);
+        BillOfMaterial bom = new BillOfMaterial();
+        bom.setProduct(table);
+        bom.setMaterial(wood);
+        bom.setQuantity(3);
+        billOfMaterialRepository.save(bom);
+
+        Long first = create(table, LocalDate.of(2000, 1, 2));
+        Long second = create(table, LocalDate.of(2000, 1, 3));
+
+        mockMvc.perform(post("/api/planning/schedule")).andExpect(status().isOk());
+
+        LocalDate day1 = workingDayOnOrAfter(LocalDate.now());
+        LocalDate day2 = workingDayOnOrAfter(day1.plusDays(1));
+        LocalDate day3 = workingDayOnOrAfter(day2.plusDays(1));
+        assertDates(first, day1);
+        assertDates(second, day2);
+
+        // an earlier due date goes first, the others move one day
+        Long urgent = create(table, LocalDate.of(2000, 1, 1));
+        assertDates(urgent, day1);
+        assertDates(first, day2);
+        assertDates(second, day3);
+
+        productionOrderService.cancelProductionOrder(urgent);
+        assertDates(first, day1);
+        assertDates(second, day2);
+    }
+
+    @Test
+    void startedOrderTakesItsMaterialOutOfTheSchedule() throws Exception {
+        RawMaterial steel = new RawMaterial();
+        steel.setName("Schedule steel");
+        steel.setStock(12);
+        steel.setStockMin(1);
+        steel.setUnitPrice(BigDecimal.ONE);
+        steel.setUnit("kg");
+        steel = rawMaterialRepository.save(steel);
+
+        Product frame = new Product();
+        frame.setName("Schedule frame");
+        frame.setUnit("pcs");
+        frame.setCost(new BigDecimal("20.00"));
+        frame.setProductionTime(1);
+        frame = productRepository.save(frame);
+        BillOfMaterial bom = new BillOfMaterial();
+        bom.setProduct(frame);
+        bom.setMaterial(steel);
+        bom.setQuantity(3);
+        billOfMaterialRepository.save(bom);
+
+        // 12 kg cover both waiting orders (2 x 3 kg each)
+        Long first = create(frame, LocalDate.of(2000, 1, 2));
+        Long second = create(frame, LocalDate.of(2000, 1, 3));
+        mockMvc.perform(post("/api/planning/schedule")).andExpect(status().isOk());
+        assertNotNull(productionOrderRepository.findById(second).orElseThrow().getStartDate());
+
+        // a blocked order is not in the schedule, but starting it still takes 6 kg
+        ProductionOrder blocked = new ProductionOrder();
+        blocked.setOrderNumber("SCHEDULE-BLOCKED-" + frame.getId());
+        blocked.setProduct(frame);
+        blocked.setQuantity(2);
+        blocked.setStatus(ProductionOrderStatus.BLOQUE);
+        blocked = productionOrderRepository.save(blocked);
+        productionOrderService.production(blocked.getIdOrder());
+
+        // only one order is covered now: the first keeps its dates, the next one loses them
+        assertNotNull(productionOrderRepository.findById(first).orElseThrow().getStartDate());
+        ProductionOrder next = productionOrderRepository.findById(second).orElseThrow();
+        assertNull(next.getStartDate());
+        assertNull(next.getEndtDate());
+
+        // starting the first order frees nothing: the stock it consumed is gone for the next one too
+        productionOrderService.production(first);
+        assertNull(productionOrderRepository.findById(second).orElseThrow().getStartDate());
+    }
+
+    private Long create(Product product, LocalDate dueDate) {
+        ProductionOrderDTO dto = new ProductionOrderDTO();
+        dto.setProductId(product.getId());
+        dto.setQuantity(2);
+        dto.setPriority(Priority.URGENT);
+        dto.setDueDate(dueDate);
+        return productionOrderService.createProductionOrder(dto).getIdOrder();
+    }
+
+    private void assertDates(Long orderId, LocalDate day) {
+        ProductionOrder order = productionOrderRepository.findById(orderId).orElseThrow();
+        assertEquals(day, order.getStartDate());
+        assertEquals(day, order.getEndtDate());
+    }
+
+    private static LocalDate workingDayOnOrAfter(LocalDate date) {
+        while (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            date = date.plusDays(1);
+        }
+        return date;
+    }
+}
@@ -0,0 +1,162 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.enums.Priority;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductionOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ProductionStartBatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+
+    @Autowired
+    private ProductionOrderRepository productionOrderRepository;
+
+    @Test
+    void batchStartServesPrioritiesFirstAndBlocksTheRest() throws Exception {
+        // each order takes 10 frames and 4 screws: the stock covers five of them
+        RawMaterial frames = rawMaterialRepository.save(material("Batch frame", 50));
+        RawMaterial screws = rawMaterialRepository.save(material("Batch screw", 20));
+        Product bike = new Product();
+        bike.setName("Batch bike");
+        bike.setUnit("pcs");
+        bike.setCost(new BigDecimal("120.00"));
+        bike.setProductionTime(3);
+        bike = productRepository.save(bike);
+        billOfMaterialRepository.save(bom(bike, frames, 5));
+        billOfMaterialRepository.save(bom(bike, screws, 2));
+
+        List<Long> standard = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            standard.add(order(bike, "PO-BATCH-S" + i, Priority.STANDARD, null, ProductionOrderStatus.EN_ATTENTE));
+        }
+        Long urgent = order(bike, "PO-BATCH-U", Priority.URGENT, null, ProductionOrderStatus.EN_ATTENTE);
+        Long high = order(bike, "PO-BATCH-H", Priority.HIGH, LocalDate.now().plusDays(2), ProductionOrderStatus.EN_ATTENTE);
+        Long finished = order(bike, "PO-BATCH-T", Priority.URGENT, null, ProductionOrderStatus.TERMINE);
+
+        List<Long> ids = new ArrayList<>(standard);
+        ids.add(urgent);
+        ids.add(high);
+        ids.add(finished);
+        ids.add(Long.MAX_VALUE);
+
+        long before = JdbcStatementCounter.count();
+        mockMvc.perform(post("/api/production-orders/start-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":" + json(ids) + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.started.length()").value(5))
+                .andExpect(jsonPath("$.data.started[0].idOrder").value(urgent))
+                .andExpect(jsonPath("$.data.started[1].idOrder").value(high))
+                .andExpect(jsonPath("$.data.blocked.length()").value(1))
+                .andExpect(jsonPath("$.data.blocked[0].idOrder").value(standard.get(3)))
+                .andExpect(jsonPath("$.data.rejected.length()").value(2));
+        long statements = JdbcStatementCounter.count() - before;
+
+        // orders lock, products, BOMs, materials lock, one batch for the materials, one for the orders
+        assertTrue(statements <= 6, "batch start issued " + statements + " statements");
+        assertEquals(0, rawMaterialRepository.findById(frames.getIdMaterial()).orElseThrow().getStock());
+        assertEquals(0, rawMaterialRepository.findById(screws.getIdMaterial()).orElseThrow().getStock());
+        assertEquals(ProductionOrderStatus.BLOQUE, statusOf(standard.get(3)));
+        assertEquals(ProductionOrderStatus.EN_PRODUCTION, statusOf(standard.get(0)));
+        assertEquals(ProductionOrderStatus.TERMINE, statusOf(finished));
+
+        // once restocked, the blocked order can start (the starts moved the materials' version)
+        frames = rawMaterialRepository.findById(frames.getIdMaterial()).orElseThrow();
+        screws = rawMaterialRepository.findById(screws.getIdMaterial()).orElseThrow();
+        frames.setStock(10);
+        screws.setStock(4);
+        rawMaterialRepository.save(frames);
+        rawMaterialRepository.save(screws);
+        mockMvc.perform(post("/api/production-orders/start-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[" + standard.get(3) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.started.length()").value(1));
+        assertEquals(ProductionOrderStatus.EN_PRODUCTION, statusOf(standard.get(3)));
+    }
+
+    @Test
+    void batchStartRejectsEmptyList() throws Exception {
+        mockMvc.perform(post("/api/production-orders/start-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ProductionOrderStatus statusOf(Long id) {
+        return productionOrderRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private Long order(Product product, String number, Priority priority, LocalDate dueDate, ProductionOrderStatus status) {
+        ProductionOrder order = new ProductionOrder();
+        order.setOrderNumber(number);
+        order.setProduct(product);
+        order.setQuantity(2);
+        order.setPriority(priority);
+        order.setDueDate(dueDate);
+        order.setStatus(status);
+        return productionOrderRepository.save(order).getIdOrder();
+    }
+
+    private RawMaterial material(String name, int stock) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(stock);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("pcs");
+        return material;
+    }
+
+    private BillOfMaterial bom(Product product, RawMaterial material, int quantity) {
+        BillOfMaterial bom = new BillOfMaterial();
+        bom.setProduct(product);
+        bom.setMaterial(material);
+        bom.setQuantity(quantity);
+        return bom;
+    }
+
+    private static String json(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,191 @@
+package org.supplychain.supplychain.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.supplychain.supplychain.enums.ProductionOrderStatus;
+import org.supplychain.supplychain.exception.InsufficientStockException;
+import org.supplychain.supplychain.exception.ResourceInUseException;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductionOrder;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.Production.ProductionOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
+import org.supplychain.supplychain.service.Production.ProductionOrder.ProductionOrderService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two products use the same materials, their BOM lines written in opposite orders. Every order is
+ * started twice, from concurrent threads: no start may deadlock or oversell a material.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductionStartConcurrencyTest {
+
+    private static final int MATERIALS = 5;
+    private static final int STOCK = 100;
+    private static final int ORDERS = 40;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ProductionOrderService productionOrderService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+
+    @Autowired
+    private ProductionOrderRepository productionOrderRepository;
+
+    @Autowired
+    private BomRequirementCache bomRequirementCache;
+
+    @Test
+    void concurrentStartsNeitherDeadlockNorOversell() throws Exception {
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int i = 0; i < MATERIALS; i++) {
+            RawMaterial material = new RawMaterial();
+            material.setName("Concurrent material " + i);
+            material.setStock(STOCK);
+            material.setStockMin(1);
+            material.setUnitPrice(BigDecimal.ONE);
+            material.setUnit("kg");
+            materials.add(rawMaterialRepository.save(material));
+        }
+        Product forward = product("Concurrent product A", materials);
+        List<RawMaterial> reversed = new ArrayList<>(materials);
+        Collections.reverse(reversed);
+        Product backward = product("Concurrent product B", reversed);
+
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            ProductionOrder order = new ProductionOrder();
+            order.setOrderNumber("PO-CONCURRENT-" + i);
+            order.setProduct(i % 2 == 0 ? forward : backward);
+            order.setQuantity(2);
+            order.setStatus(ProductionOrderStatus.EN_ATTENTE);
+            orderIds.add(productionOrderRepository.save(order).getIdOrder());
+        }
+
+        // each start takes 3 x 2 = 6 of every material: 16 fit in a stock of 100
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger shortOfStock = new AtomicInteger();
+        AtomicInteger alreadyStarted = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        List<Callable<Void>> starts = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                starts.add(() -> {
+                    go.await();
+                    try {
+                        productionOrderService.production(orderId);
+                        started.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        shortOfStock.incrementAndGet();
+                    } catch (ResourceInUseException ex) {
+                        alreadyStarted.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        Collections.shuffle(starts, new Random(3));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            starts.forEach(start -> results.add(pool.submit(start)));
+            go.countDown();
+            for (Future<Void> result : results) {
+                result.get(60, TimeUnit.SECONDS); // anything else, a deadlock or lock timeout included, fails here
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(STOCK / 6, started.get());
+        assertEquals(2 * ORDERS, started.get() + shortOfStock.get() + alreadyStarted.get());
+        for (RawMaterial material : materials) {
+            assertEquals(STOCK - 6 * started.get(),
+                    rawMaterialRepository.findById(material.getIdMaterial()).orElseThrow().getStock());
+        }
+        long inProduction = orderIds.stream()
+                .map(id -> productionOrderRepository.findById(id).orElseThrow().getStatus())
+                .filter(status -> status == ProductionOrderStatus.EN_PRODUCTION)
+                .count();
+        assertEquals(started.get(), inProduction);
+    }
+
+    @Test
+    void startIssuesConstantStatements() {
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            RawMaterial material = new RawMaterial();
+            material.setName("Single query material " + i);
+            material.setStock(STOCK);
+            material.setStockMin(1);
+            material.setUnitPrice(BigDecimal.ONE);
+            material.setUnit("kg");
+            materials.add(rawMaterialRepository.save(material));
+        }
+        Product product = product("Single query product", materials);
+        ProductionOrder order = new ProductionOrder();
+        order.setOrderNumber("PO-SINGLE-QUERY");
+        order.setProduct(product);
+        order.setQuantity(4);
+        order.setStatus(ProductionOrderStatus.EN_ATTENTE);
+        Long orderId = productionOrderRepository.save(order).getIdOrder();
+
+        bomRequirementCache.get(product.getId());
+        long before = JdbcStatementCounter.count();
+        productionOrderService.production(orderId);
+        long statements = JdbcStatementCounter.count() - before;
+
+        // order lock, materials lock, product, one batch for the materials, one update of the order;
+        // exploded BOM from the cache
+        assertTrue(statements <= 5, "starting production issued " + statements + " statements");
+        assertEquals(STOCK - 12, rawMaterialRepository.findById(materials.get(9).getIdMaterial()).orElseThrow().getStock());
+    }
+
+    private Product product(String name, List<RawMaterial> materials) {
+        Product product = new Product();
+        product.setName(name);
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("10.00"));
+        product.setProductionTime(1);
+        product = productRepository.save(product);
+        for (RawMaterial material : materials) {
+            BillOfMaterial line = new BillOfMaterial();
+            line.setProduct(product);
+            line.setMaterial(material);
+            line.setQuantity(3);
+            billOfMaterialRepository.save(line);
+        }
+        return product;
+    }
+}
@@ -0,0 +1,81 @@
+package org.supplychain.supplychain.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs one MockMvc request and checks it against a budget of JDBC round trips and milliseconds.
+ * <p>
+ * Round trips come from {@link JdbcStatementCounter}, where a whole JDBC batch is one; the Hibernate
+ * statistics of the request (queries, entity loads, collection fetches) only go into the failure
+ * message, to tell an N+1 from an extra query.
+ */
+public final class QueryBudget {
+
+    // catches an endpoint gone from milliseconds to seconds, not a few percent
+    private static final long DEFAULT_MAX_MILLIS = 2_000;
+
+    private final MockMvc mockMvc;
+    private final Statistics statistics;
+
+    public QueryBudget(MockMvc mockMvc, EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * What one request cost.
+     */
+    public record Measurement(String request, int status, long statements, long queries, long entityLoads,
+                              long collectionFetches, long millis) {
+
+        @Override
+        public String toString() {
+            return request + " -> " + status + ": " + statements + " statements (" + queries + " queries, "
+                    + entityLoads + " entity loads, " + collectionFetches + " collection fetches), " + millis + " ms";
+        }
+    }
+
+    public Measurement expect(RequestBuilder request, long maxStatements) throws Exception {
+        return expect(request, maxStatements, DEFAULT_MAX_MILLIS);
+    }
+
+    /**
+     * Performs the request and fails unless it succeeds within {@code maxStatements} round trips
+     * and {@code maxMillis} milliseconds.
+     */
+    public Measurement expect(RequestBuilder request, long maxStatements, long maxMillis) throws Exception {
+        Measurement measurement = measure(request);
+        assertTrue(measurement.status() >= 200 && measurement.status() < 300, measurement::toString);
+        assertTrue(measurement.statements() <= maxStatements,
+                () -> "over budget of " + maxStatements + " statements: " + measurement);
+        assertTrue(measurement.millis() <= maxMillis,
+                () -> "over budget of " + maxMillis + " ms: " + measurement);
+        return measurement;
+    }
+
+    public Measurement measure(RequestBuilder request) throws Exception {
+        statistics.clear();
+        long before = JdbcStatementCounter.count();
+        long start = System.nanoTime();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long statements = JdbcStatementCounter.count() - before;
+
+        MockHttpServletRequest servletRequest = result.getRequest();
+        String query = servletRequest.getQueryString();
+        return new Measurement(servletRequest.getMethod() + " " + servletRequest.getRequestURI()
+                + (query == null ? "" : "?" + query),
+                result.getResponse().getStatus(), statements, statistics.getQueryExecutionCount(),
+                statistics.getEntityLoadCount(), statistics.getCollectionFetchCount(), millis);
+    }
+}
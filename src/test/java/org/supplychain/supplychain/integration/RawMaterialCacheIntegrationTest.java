@@ -0,0 +1,118 @@
+package org.supplychain.supplychain.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.supplychain.supplychain.dto.supplier.SupplierDTO;
+import org.supplychain.supplychain.dto.supplyOrder.SupplyOrderDTO;
+import org.supplychain.supplychain.dto.supplyOrder.SupplyOrderLineDTO;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.service.approvisionnement.RawMaterialCache;
+import org.supplychain.supplychain.service.modelSupplier.SupplierOrderService;
+import org.supplychain.supplychain.service.modelSupplier.SupplierService;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class RawMaterialCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private SupplierOrderService supplierOrderService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Test
+    void detailIsServedFromCacheUntilMaterialOrSupplierChanges() throws Exception {
+        Supplier supplier = new Supplier();
+        supplier.setName("Cached supplier");
+        supplier.setContact("Contact");
+        supplier.setEmail("cached.supplier@example.com");
+        supplier.setLeadTime(4);
+        supplier = supplierRepository.save(supplier);
+
+        RawMaterial material = new RawMaterial();
+        material.setName("Cached material");
+        material.setStock(5);
+        material.setStockMin(10);
+        material.setUnitPrice(new BigDecimal("3.00"));
+        material.setUnit("kg");
+        material.getSuppliers().add(supplier);
+        Long id = rawMaterialRepository.save(material).getIdMaterial();
+
+        mockMvc.perform(get("/api/raw-materials/{id}", id)).andExpect(status().isOk());
+        double hits = cacheGets("hit");
+
+        long before = JdbcStatementCounter.count();
+        mockMvc.perform(get("/api/raw-materials/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservedStock").value(0));
+        // the conditional-GET stamp of the material and its suppliers; the body comes from the cache
+        assertEquals(2, JdbcStatementCounter.count() - before);
+        assertEquals(hits + 1, cacheGets("hit"));
+
+        // stock change through the supply flow
+        SupplyOrderLineDTO line = new SupplyOrderLineDTO();
+        line.setRawMaterialId(id);
+        line.setQuantity(20);
+        SupplyOrderDTO order = new SupplyOrderDTO();
+        order.setSupplierId(supplier.getIdSupplier());
+        order.setOrderLines(List.of(line));
+        supplierOrderService.createOrder(order);
+
+        mockMvc.perform(get("/api/raw-materials/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservedStock").value(20));
+
+        // supplier summary embedded in the detail
+        SupplierDTO renamed = new SupplierDTO();
+        renamed.setName("Renamed supplier");
+        renamed.setContact("Contact");
+        renamed.setEmail("cached.supplier@example.com");
+        renamed.setLeadTime(4);
+        supplierService.updateSupplier(supplier.getIdSupplier(), renamed);
+
+        mockMvc.perform(get("/api/raw-materials/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suppliers[0].name").value("Renamed supplier"));
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:" + RawMaterialCache.NAME))
+                .andExpect(status().isOk());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", RawMaterialCache.NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
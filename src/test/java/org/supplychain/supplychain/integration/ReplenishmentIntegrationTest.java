@@ -0,0 +1,118 @@
+package org.supplychain.supplychain.integration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.supplychain.supplychain.dto.supplyOrder.ReplenishmentRunDTO;
+import org.supplychain.supplychain.enums.SupplyOrderStatus;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.model.SupplyOrder;
+import org.supplychain.supplychain.model.SupplyOrderLine;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierOrderRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.service.approvisionnement.ReplenishmentService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReplenishmentIntegrationTest {
+
+    private static final int FAST_MATERIALS = 1500;
+    private static final int SLOW_ONLY_MATERIALS = 300;
+
+    @Autowired
+    private ReplenishmentService replenishmentService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private SupplierOrderRepository supplyOrderRepository;
+
+    @Test
+    void runOrdersEveryCriticalMaterialFromItsPreferredSupplierOnce() {
+        Supplier fast = supplierRepository.save(supplier("Fast supplier", 3, 4.0));
+        Supplier slow = supplierRepository.save(supplier("Slow supplier", 10, 5.0));
+
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int i = 0; i < FAST_MATERIALS; i++) {
+            materials.add(material("Replenish fast " + i, fast, slow));
+        }
+        for (int i = 0; i < SLOW_ONLY_MATERIALS; i++) {
+            materials.add(material("Replenish slow " + i, slow));
+        }
+        RawMaterial healthy = material("Replenish healthy", fast);
+        healthy.setStock(500);
+        materials.add(healthy);
+        rawMaterialRepository.saveAll(materials);
+
+        ReplenishmentRunDTO run = replenishmentService.runReplenishment();
+        log.info("Replenishment run: {}", run);
+
+        SupplyOrder fastOrder = orderOf(fast);
+        SupplyOrder slowOrder = orderOf(slow);
+        assertEquals(FAST_MATERIALS, fastOrder.getOrderLines().size());
+        assertEquals(SLOW_ONLY_MATERIALS, slowOrder.getOrderLines().size());
+        assertEquals(SupplyOrderStatus.EN_ATTENTE, fastOrder.getStatus());
+        assertTrue(fastOrder.getOrderNumber().startsWith("SO-"));
+
+        // stockMin 100, stock 20: 80 missing + 100 * 3 / 30 used during the lead time
+        SupplyOrderLine line = fastOrder.getOrderLines().get(0);
+        assertEquals(90, line.getQuantity());
+        assertEquals(90, line.getRawMaterial().getReservedStock());
+        assertEquals(new BigDecimal("2.00").multiply(BigDecimal.valueOf(90L * FAST_MATERIALS)),
+                fastOrder.getTotalAmount());
+        assertEquals(0, healthy.getReservedStock());
+        assertTrue(run.getOrdersCreated() >= 2);
+        assertTrue(run.getLinesCreated() >= FAST_MATERIALS + SLOW_ONLY_MATERIALS);
+
+        ReplenishmentRunDTO second = replenishmentService.runReplenishment();
+        assertEquals(0, second.getOrdersCreated());
+        assertEquals(1, supplyOrderRepository.findAll().stream()
+                .filter(o -> o.getSupplier().getIdSupplier().equals(fast.getIdSupplier())).count());
+        assertSame(second, replenishmentService.getLastRun());
+    }
+
+    private SupplyOrder orderOf(Supplier supplier) {
+        return supplyOrderRepository.findAll().stream()
+                .filter(o -> o.getSupplier().getIdSupplier().equals(supplier.getIdSupplier()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Supplier supplier(String name, int leadTime, double rating) {
+        Supplier supplier = new Supplier();
+        supplier.setName(name);
+        supplier.setContact("Contact");
+        supplier.setEmail(name.replace(' ', '.') + "@example.com");
+        supplier.setLeadTime(leadTime);
+        supplier.setRating(rating);
+        return supplier;
+    }
+
+    private RawMaterial material(String name, Supplier... suppliers) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(20);
+        material.setStockMin(100);
+        material.setUnitPrice(new BigDecimal("2.00"));
+        material.setUnit("kg");
+        material.getSuppliers().addAll(List.of(suppliers));
+        return material;
+    }
+}
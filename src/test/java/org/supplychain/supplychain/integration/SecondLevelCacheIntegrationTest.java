@@ -0,0 +1,133 @@
+package org.supplychain.supplychain.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.model.BillOfMaterial;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.service.Production.Inventory.ProductStockService;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BillOfMaterialRepository billOfMaterialRepository;
+
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void referenceEntitiesAreCachedAndStockIsNeverServedStale() {
+        Supplier supplier = new Supplier();
+        supplier.setName("L2 supplier");
+        supplier.setContact("Contact");
+        supplier.setEmail("l2.supplier@example.com");
+        supplier.setLeadTime(3);
+        supplier = supplierRepository.save(supplier);
+
+        RawMaterial material = new RawMaterial();
+        material.setName("L2 material");
+        material.setStock(50);
+        material.setStockMin(5);
+        material.setUnitPrice(new BigDecimal("2.00"));
+        material.setUnit("kg");
+        material.getSuppliers().add(supplier);
+        material = rawMaterialRepository.save(material);
+
+        Product reserved = product("L2 reserved product", material);
+        Product untouched = product("L2 untouched product", material);
+        productStockService.release(Map.of(reserved.getId(), 10));
+
+        // first reads fill the regions
+        read(reserved.getId(), untouched.getId(), material.getIdMaterial(), supplier.getIdSupplier());
+
+        long before = JdbcStatementCounter.count();
+        read(reserved.getId(), untouched.getId(), material.getIdMaterial(), supplier.getIdSupplier());
+        // entities and BOM / supplier collections all come from the second-level cache
+        assertEquals(0, JdbcStatementCounter.count() - before);
+
+        // conditional UPDATE behind Hibernate: only the reserved product is evicted
+        productStockService.reserve(Map.of(reserved.getId(), 4));
+        before = JdbcStatementCounter.count();
+        assertEquals(6, stock(reserved.getId()));
+        assertEquals(1, JdbcStatementCounter.count() - before);
+        before = JdbcStatementCounter.count();
+        assertEquals(0, stock(untouched.getId()));
+        assertEquals(0, JdbcStatementCounter.count() - before);
+
+        // a BOM line saved on its own evicts the product's cached collection
+        BillOfMaterial line = new BillOfMaterial();
+        line.setProduct(untouched);
+        line.setMaterial(material);
+        line.setQuantity(1);
+        billOfMaterialRepository.save(line);
+        int lines = transactionTemplate.execute(status ->
+                productRepository.findById(untouched.getId()).orElseThrow().getBillOfMaterials().size());
+        assertEquals(2, lines);
+
+        assertNotNull(meterRegistry.find("cache.evictions")
+                .tag("cache.manager", "hibernate")
+                .tag("cache", "products")
+                .functionCounter());
+    }
+
+    private void read(Long firstProduct, Long secondProduct, Long material, Long supplier) {
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.findById(firstProduct).orElseThrow().getBillOfMaterials().size();
+            productRepository.findById(secondProduct).orElseThrow().getBillOfMaterials().size();
+            rawMaterialRepository.findById(material).orElseThrow().getSuppliers().size();
+            supplierRepository.findById(supplier).orElseThrow();
+        });
+    }
+
+    private int stock(Long productId) {
+        return transactionTemplate.execute(status -> productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    private Product product(String name, RawMaterial material) {
+        Product product = new Product();
+        product.setName(name);
+        product.setUnit("pcs");
+        product.setCost(new BigDecimal("10.00"));
+        product.setProductionTime(1);
+        product = productRepository.save(product);
+        BillOfMaterial line = new BillOfMaterial();
+        line.setProduct(product);
+        line.setMaterial(material);
+        line.setQuantity(2);
+        billOfMaterialRepository.save(line);
+        return product;
+    }
+}
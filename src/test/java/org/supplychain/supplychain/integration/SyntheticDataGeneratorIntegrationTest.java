@@ -0,0 +1,89 @@
+package org.supplychain.supplychain.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.seed.SyntheticDataGenerator;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A tiny scale of the load-test dataset, in its own H2 database so the other tests never see it.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:seedtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class SyntheticDataGeneratorIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Test
+    void generatesConsistentDeterministicRowsAndRealignsSequences() throws Exception {
+        // 20 suppliers, 100 materials, 40 products, 100 customers, 200 orders, 60 supply orders, 80 production orders
+        SyntheticDataGenerator generator =
+                new SyntheticDataGenerator(dataSource, entityManagerFactory, 0.0002, 7, 2, 64);
+
+        Map<String, Long> rows = generator.generate();
+        assertEquals(20L, rows.get("suppliers"));
+        assertEquals(200L, rows.get("orders"));
+        assertEquals(count("product_orders"), rows.get("product_orders"));
+        assertTrue(rows.get("product_orders") >= 200 && rows.get("product_orders") <= 800);
+        assertTrue(rows.get("material_suppliers") >= 100 && rows.get("material_suppliers") <= 300);
+        assertEquals(200L, count("orders"));
+
+        // totals are the sum of their lines
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM orders o
+                WHERE o.totalAmount <> (SELECT SUM(p.totalPrice) FROM product_orders p WHERE p.order_id = o.idOrder)
+                """, Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM supply_orders s
+                WHERE s.totalAmount <> (SELECT SUM(l.quantity * l.unitPrice) FROM supply_order_lines l
+                                        WHERE l.supply_order_id = s.idOrder)
+                """, Integer.class));
+        // every BOM has 3 to 12 materials, deliveries only exist for their own order
+        assertEquals(40, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT product_id) FROM bill_of_materials", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM deliveries d JOIN orders o ON o.idOrder = d.order_id
+                WHERE o.status = 'EN_PREPARATION' AND d.status <> 'PLANIFIEE'
+                """, Integer.class));
+
+        // the same seed appends the same rows after the existing ones
+        generator.generate();
+        List<String> names = jdbcTemplate.queryForList("SELECT name FROM suppliers ORDER BY idSupplier", String.class);
+        assertEquals(40, names.size());
+        assertEquals(names.subList(0, 20), names.subList(20, 40));
+
+        // the sequences moved past the generated ids
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(idSupplier) FROM suppliers", Long.class);
+        Supplier supplier = new Supplier();
+        supplier.setName("After seed");
+        supplier.setContact("Contact");
+        supplier.setEmail("after.seed@example.com");
+        assertTrue(supplierRepository.save(supplier).getIdSupplier() > maxId);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,177 @@
+package org.supplychain.supplychain.integration;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.model.Supplier;
+import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.repository.approvisionnement.SupplierRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+import org.supplychain.supplychain.search.SearchHit;
+import org.supplychain.supplychain.search.SearchTarget;
+import org.supplychain.supplychain.search.TrigramFuzzySearch;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The pg_trgm engine against a real PostgreSQL, with the changelog applied; the same contract as
+ * {@link FuzzySearchIntegrationTest}, which runs the n-gram engine on H2. Skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=update",
+        "search.fuzzy.engine=trigram",
+        "replenishment.cron=-",
+        "production.schedule.cron=-"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class TrigramFuzzySearchPostgresIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TrigramFuzzySearch search;
+
+    @Autowired
+    private SpringLiquibase liquibase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    // on a fresh database the index changesets wait for Hibernate's tables: run the changelog
+    // again, as the next start of the application would
+    @BeforeEach
+    void applyChangelog() throws Exception {
+        liquibase.afterPropertiesSet();
+    }
+
+    @Test
+    void changelogIndexesTheSearchedColumns() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE indexname LIKE '%_trgm' ORDER BY indexname", String.class);
+        assertEquals(List.of("idx_customers_email_trgm", "idx_customers_name_trgm",
+                "idx_raw_materials_name_trgm", "idx_suppliers_name_trgm"), indexes);
+
+        // <% is answered by the GIN indexes, one per side of the customers OR
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT id_customer FROM customers WHERE 'fuzard' <% name OR 'fuzard' <% email", String.class));
+        });
+        assertTrue(plan.contains("idx_customers_name_trgm"), plan);
+        assertTrue(plan.contains("idx_customers_email_trgm"), plan);
+    }
+
+    @Test
+    void materialsAreRankedAndTypoTolerant() {
+        Long exact = rawMaterialRepository.save(material("Galvanized zinc sheet")).getIdMaterial();
+        Long partial = rawMaterialRepository.save(material("Zinced wire")).getIdMaterial();
+        rawMaterialRepository.save(material("Copper pipe"));
+
+        assertEquals(List.of(exact), ids(search.search(SearchTarget.RAW_MATERIALS, "galvanised", 10)));
+
+        List<SearchHit> hits = search.search(SearchTarget.RAW_MATERIALS, "Zinc", 10);
+        assertEquals(List.of(exact, partial), ids(hits));
+        assertEquals(1.0, hits.get(0).similarity(), 1e-6);
+        assertTrue(hits.get(1).similarity() < 1.0);
+
+        assertEquals(List.of(exact), ids(search.search(SearchTarget.RAW_MATERIALS, "zinc", 1)));
+    }
+
+    @Test
+    void suppliersAreTypoTolerant() {
+        Long fuzzwerk = supplierRepository.save(supplier("Fuzzwerk Metallbau", "fuzzwerk@example.com")).getIdSupplier();
+        supplierRepository.save(supplier("Acme Supplies", "acme@example.com"));
+
+        assertEquals(List.of(fuzzwerk), ids(search.search(SearchTarget.SUPPLIERS, "fuzwerk", 10)));
+    }
+
+    @Test
+    void customersMatchOnNameOrEmail() {
+        Long quentin = customerRepository.save(customer("Quentin Fuzzard", "qfz.orders@fuzzard-shop.example")).getIdCustomer();
+        Long retail = customerRepository.save(customer("Fuzard Retail", "contact@retail.example")).getIdCustomer();
+
+        // matched through the email only
+        assertEquals(List.of(quentin), ids(search.search(SearchTarget.CUSTOMERS, "qfz", 10)));
+        // the exact word first, the misspelt one after
+        assertEquals(List.of(retail, quentin), ids(search.search(SearchTarget.CUSTOMERS, "fuzard", 10)));
+    }
+
+    @Test
+    void thresholdOnlyLastsForTheSearchTransaction() {
+        search.search(SearchTarget.SUPPLIERS, "acme", 10);
+
+        // set_config(..., true): the next transaction is back to the server default (the first
+        // pg_trgm call loads the extension's settings on a connection that never used it)
+        String threshold = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT word_similarity('acme', 'acme')", Double.class);
+            return jdbcTemplate.queryForObject("SHOW pg_trgm.word_similarity_threshold", String.class);
+        });
+        assertEquals("0.6", threshold);
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+
+    private RawMaterial material(String name) {
+        RawMaterial material = new RawMaterial();
+        material.setName(name);
+        material.setStock(10);
+        material.setStockMin(1);
+        material.setUnitPrice(BigDecimal.ONE);
+        material.setUnit("kg");
+        return material;
+    }
+
+    private Supplier supplier(String name, String email) {
+        Supplier supplier = new Supplier();
+        supplier.setName(name);
+        supplier.setContact("Contact");
+        supplier.setEmail(email);
+        supplier.setLeadTime(5);
+        return supplier;
+    }
+
+    private Customer customer(String name, String email) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setAddress("3 rue des Essais");
+        return customer;
+    }
+}
@@ -0,0 +1,133 @@
+package org.supplychain.supplychain.service.Production.ProductionOrder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.supplychain.supplychain.dto.planning.BomLineView;
+import org.supplychain.supplychain.model.RawMaterial;
+import org.supplychain.supplychain.service.Production.Product.BomExplosion;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory stock checks of production starts, without the database round trips around them:
+ * <ul>
+ *     <li>{@code productionStart}: {@code ProductionOrderServiceImpl.production} checking and
+ *     taking one exploded BOM from the {@link LockedStock};</li>
+ *     <li>{@code productionBatchStart}: {@code startProductionBatch} serving 200 orders from a
+ *     shared stock of 500 materials.</li>
+ * </ul>
+ * {@code lines} is the number of lines per BOM, drawn from a fixed seed. In the package of
+ * {@link LockedStock}, which stays package-private. Run with {@code mvn -Pbenchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductionStartBenchmark {
+
+    private static final int MATERIALS = 500;
+    private static final int BATCH_ORDERS = 200;
+    // large enough never to run short within one iteration
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"5", "40"})
+    private int lines;
+
+    private List<RawMaterial> materials;
+    private List<BomRequirements> boms;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        materials = new ArrayList<>();
+        for (int m = 0; m < MATERIALS; m++) {
+            RawMaterial material = new RawMaterial();
+            material.setIdMaterial(1L + m);
+            material.setName("Benchmark material " + m);
+            material.setUnitPrice(BigDecimal.ONE);
+            materials.add(material);
+        }
+
+        List<BomLineView> bomLines = new ArrayList<>();
+        List<Long> products = new ArrayList<>();
+        for (long p = 1; p <= BATCH_ORDERS; p++) {
+            for (int l = 0; l < lines; l++) {
+                bomLines.add(new BomLineView(p, 1L + random.nextInt(MATERIALS), null, 1 + random.nextInt(8)));
+            }
+            products.add(p);
+        }
+        Map<Long, BomRequirements> byProduct =
+                BomExplosion.explode(products, BomExplosion.nodesFromLines(bomLines), id -> null);
+        boms = new ArrayList<>();
+        for (long p = 1; p <= BATCH_ORDERS; p++) {
+            boms.add(byProduct.get(p));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        for (RawMaterial material : materials) {
+            material.setStock(STOCK);
+        }
+    }
+
+    @Benchmark
+    public List<Long> productionStart() {
+        BomRequirements bom = boms.get(next++ % BATCH_ORDERS);
+        // production() locks only the materials of its BOM, by ascending id
+        List<RawMaterial> locked = new ArrayList<>(bom.size());
+        for (int line = 0; line < bom.size(); line++) {
+            locked.add(materials.get((int) bom.materialId(line) - 1));
+        }
+        LockedStock stock = new LockedStock(locked);
+        if (stock.shortage(bom, 1) != null) {
+            throw new IllegalStateException("restock() did not leave enough stock");
+        }
+        stock.take(bom, 1);
+        return stock.write();
+    }
+
+    @Benchmark
+    public void productionBatchStart(Blackhole blackhole) {
+        LockedStock stock = new LockedStock(materials);
+        for (BomRequirements bom : boms) {
+            String shortage = stock.shortage(bom, 1);
+            if (shortage == null) {
+                stock.take(bom, 1);
+            }
+            blackhole.consume(shortage);
+        }
+        blackhole.consume(stock.write());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductionStartBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
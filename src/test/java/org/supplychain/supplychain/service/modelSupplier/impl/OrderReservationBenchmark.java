@@ -0,0 +1,90 @@
+package org.supplychain.supplychain.service.modelSupplier.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.supplychain.supplychain.dto.order.ProductOrderDTO;
+import org.supplychain.supplychain.service.Production.Inventory.InventoryLedger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory stock check of {@code OrderServiceImpl.createOrder}, without the database round
+ * trips around it: summing the lines per product and reserving them all-or-nothing in the
+ * {@link InventoryLedger} ({@code inventory.ledger.enabled=true}).
+ * <p>
+ * {@code lines} is the number of lines per customer order. The catalog holds 10 000 products;
+ * orders pick them at random from a fixed seed. In the package of {@link OrderServiceImpl}, whose
+ * quantity merge stays package-private. Run with {@code mvn -Pbenchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReservationBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int ORDERS = 64;
+    // large enough never to run short within one iteration
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"5", "40"})
+    private int lines;
+
+    private InventoryLedger ledger;
+    private List<List<ProductOrderDTO>> orders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        SplittableRandom random = new SplittableRandom(42);
+        ledger = new InventoryLedger(64);
+
+        orders = new ArrayList<>();
+        for (int o = 0; o < ORDERS; o++) {
+            List<ProductOrderDTO> order = new ArrayList<>();
+            for (int l = 0; l < lines; l++) {
+                order.add(new ProductOrderDTO(1 + random.nextInt(PRODUCTS), 1 + random.nextInt(5), null, null));
+            }
+            orders.add(order);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        for (long p = 1; p <= PRODUCTS; p++) {
+            ledger.put(p, STOCK);
+        }
+    }
+
+    @Benchmark
+    public long orderReservation() {
+        Map<Long, Integer> requested = OrderServiceImpl.requestedQuantities(orders.get(next++ & (ORDERS - 1)));
+        return ledger.reserve(requested, productId -> 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderReservationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
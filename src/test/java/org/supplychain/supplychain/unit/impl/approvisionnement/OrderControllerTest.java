@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.supplychain.supplychain.controller.approvisionnement.OrderController;
 import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.dto.order.OrderImportResultDTO;
+import org.supplychain.supplychain.service.modelSupplier.OrderImportService;
 import org.supplychain.supplychain.service.modelSupplier.OrderServiec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -16,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,6 +37,9 @@ class OrderControllerTest {
     @MockBean
     private OrderServiec orderService;
 
+    @MockBean
+    private OrderImportService orderImportService;
+
     @Test
     void testCreateOrder() throws Exception {
         OrderDTO request = new OrderDTO();
@@ -99,4 +105,24 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.content[0].id").value(1L));
 
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportOrders_StreamsOneResultPerLine() throws Exception {
+        Mockito.doAnswer(inv -> {
+            Consumer<OrderImportResultDTO> results = inv.getArgument(1);
+            results.accept(OrderImportResultDTO.created(1, 42L));
+            results.accept(OrderImportResultDTO.rejected(2, "customerId: Customer ID is required"));
+            return null;
+        }).when(orderImportService).importOrders(any(), any());
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType("application/x-ndjson")
+                        .content("{\"customerId\":1,\"productOrders\":[{\"productId\":1,\"quantity\":2}]}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(
+                        "{\"line\":1,\"status\":\"CREATED\",\"orderId\":42}\n" +
+                        "{\"line\":2,\"status\":\"REJECTED\",\"message\":\"customerId: Customer ID is required\"}\n"));
+    }
 }
@@ -8,6 +8,8 @@ import org.supplychain.supplychain.exception.DuplicateResourceException;
 import org.supplychain.supplychain.exception.ResourceNotFoundException;
 import org.supplychain.supplychain.mapper.modelDelivery.CustomerMapper;
 import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.pagination.KeysetPaginator;
+import org.supplychain.supplychain.search.FuzzySearch;
 import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
 import org.supplychain.supplychain.service.modelDelivery.impl.CustomerServiceImpl;
 import org.springframework.data.domain.*;
@@ -30,7 +32,8 @@ class CustomerServiceImplTest {
         customerRepository = mock(CustomerRepository.class);
         customerMapper = mock(CustomerMapper.class);
 
-        customerService = new CustomerServiceImpl(customerRepository, customerMapper);
+        customerService = new CustomerServiceImpl(customerRepository, customerMapper, mock(KeysetPaginator.class),
+                mock(FuzzySearch.class));
     }
 
 
@@ -0,0 +1,68 @@
+package org.supplychain.supplychain.unit.impl.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.supplychain.supplychain.monitoring.JdbcStatementCounter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcStatementCounterTest {
+
+    private static HikariDataSource pool() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:statementcounter;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+
+    @Test
+    void testWrappedPool_IsClosedWithTheWrapper() throws Exception {
+        HikariDataSource pool = pool();
+        Object wrapped = new JdbcStatementCounter().postProcessAfterInitialization(pool, "dataSource");
+
+        // still unwrappable to the pool, and closeable for the context's inferred destroy method
+        assertInstanceOf(DelegatingDataSource.class, wrapped);
+        assertSame(pool, ((DataSource) wrapped).unwrap(HikariDataSource.class));
+        ((AutoCloseable) wrapped).close();
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    void testCount_OneRoundTripPerExecuteOrBatch_OnTheCallingThreadOnly() throws Exception {
+        try (HikariDataSource pool = pool()) {
+            DataSource dataSource = (DataSource) new JdbcStatementCounter().postProcessAfterInitialization(pool, "dataSource");
+
+            long before = JdbcStatementCounter.count();
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE IF NOT EXISTS counted (id INT)");
+                }
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO counted VALUES (?)")) {
+                    for (int i = 0; i < 3; i++) {
+                        insert.setInt(1, i);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+            assertEquals(2, JdbcStatementCounter.count() - before);
+
+            long mark = JdbcStatementCounter.count();
+            CompletableFuture.runAsync(() -> {
+                try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT COUNT(*) FROM counted");
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }).get();
+            assertEquals(mark, JdbcStatementCounter.count());
+        }
+    }
+}
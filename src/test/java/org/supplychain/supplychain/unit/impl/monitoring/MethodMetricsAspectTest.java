@@ -0,0 +1,56 @@
+package org.supplychain.supplychain.unit.impl.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+import org.supplychain.supplychain.monitoring.MethodMetricsAspect;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodMetricsAspectTest {
+
+    interface ProbeRepository extends Repository<Object, Long> {
+        int next(int value);
+
+        void fail();
+    }
+
+    static class Probe implements ProbeRepository {
+        @Override
+        public int next(int value) {
+            return value + 1;
+        }
+
+        @Override
+        public void fail() {
+            throw new IllegalStateException("probe");
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ProbeRepository timedProbe() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Probe());
+        factory.addAspect(new MethodMetricsAspect(registry));
+        return factory.getProxy();
+    }
+
+    @Test
+    void testRepositoryCall_RecordsTimerAndErrorsPerMethod() {
+        ProbeRepository probe = timedProbe();
+
+        assertEquals(2, probe.next(1));
+        assertEquals(3, probe.next(2));
+        assertThrows(IllegalStateException.class, probe::fail);
+
+        Timer next = registry.get(MethodMetricsAspect.CALLS)
+                .tags("layer", "repository", "class", "ProbeRepository", "method", "next").timer();
+        assertEquals(2, next.count());
+        assertEquals(3, next.takeSnapshot().percentileValues().length);
+        assertEquals(1, registry.get(MethodMetricsAspect.CALLS).tags("method", "fail").timer().count());
+        assertEquals(1, registry.get(MethodMetricsAspect.ERRORS)
+                .tags("method", "fail", "exception", "IllegalStateException").counter().count());
+    }
+}
@@ -0,0 +1,68 @@
+package org.supplychain.supplychain.unit.impl.search;
+
+import org.junit.jupiter.api.Test;
+import org.supplychain.supplychain.search.NgramIndex;
+import org.supplychain.supplychain.search.SearchHit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTest {
+
+    private final NgramIndex index = NgramIndex.build(List.of(
+            new NgramIndex.Entry(1L, "Steel plate 2mm"),
+            new NgramIndex.Entry(2L, "Stainless steel bolt"),
+            new NgramIndex.Entry(3L, "Oak plank"),
+            new NgramIndex.Entry(4L, "Jean Dupont"),
+            new NgramIndex.Entry(4L, "jean.dupont@example.com")));
+
+    @Test
+    void testSearch_ExactWordsRankFirstThenById() {
+        List<SearchHit> hits = index.search("steel", 0.4, 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(SearchHit::id).toList());
+        assertEquals(1.0, hits.get(0).similarity());
+    }
+
+    @Test
+    void testSearch_ToleratesTypos() {
+        // "  s", " st", "ste" and "el " survive the missing letter: 4 of 5 trigrams
+        List<SearchHit> hits = index.search("stel", 0.4, 10);
+
+        assertEquals(1L, hits.get(0).id());
+        assertEquals(0.8, hits.get(0).similarity(), 1e-9);
+        assertTrue(index.search("palnk", 0.4, 10).isEmpty());
+        assertEquals(3L, index.search("plnk", 0.4, 10).get(0).id());
+    }
+
+    @Test
+    void testSearch_EntityWithSeveralTextsKeepsItsBestScore() {
+        List<SearchHit> hits = index.search("dupont", 0.4, 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(4L, hits.get(0).id());
+        assertEquals(1.0, hits.get(0).similarity());
+    }
+
+    @Test
+    void testSearch_ThresholdAndLimit() {
+        assertTrue(index.search("zzz", 0.1, 10).isEmpty());
+        assertEquals(1, index.search("steel", 0.4, 1).size());
+        assertTrue(index.search("   ", 0.4, 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_ThousandsOfNames() {
+        List<NgramIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            entries.add(new NgramIndex.Entry(i, "Material " + Integer.toString(i, 36) + " grade " + (i % 97)));
+        }
+        NgramIndex large = NgramIndex.build(entries);
+
+        List<SearchHit> hits = large.search(Integer.toString(31_337, 36), 0.6, 5);
+
+        assertEquals(31_337L, hits.get(0).id());
+    }
+}
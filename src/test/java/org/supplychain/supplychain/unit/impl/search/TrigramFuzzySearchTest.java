@@ -0,0 +1,44 @@
+package org.supplychain.supplychain.unit.impl.search;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.supplychain.supplychain.exception.InvalidSearchRequestException;
+import org.supplychain.supplychain.search.SearchHit;
+import org.supplychain.supplychain.search.SearchTarget;
+import org.supplychain.supplychain.search.TrigramFuzzySearch;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TrigramFuzzySearchTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TrigramFuzzySearch search = new TrigramFuzzySearch(jdbcTemplate, 0.4);
+
+    @Test
+    void testSearch_SetsThresholdThenFiltersWithTheIndexedOperator() {
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<SearchHit>>any(), any(Object[].class)))
+                .thenReturn(List.of(new SearchHit(7L, 0.8)));
+
+        List<SearchHit> hits = search.search(SearchTarget.CUSTOMERS, "  DuPont ", 10);
+
+        assertEquals(List.of(new SearchHit(7L, 0.8)), hits);
+        verify(jdbcTemplate).queryForObject(contains("pg_trgm.word_similarity_threshold"), eq(String.class), eq("0.4"));
+        verify(jdbcTemplate).query(contains("? <% name OR ? <% email"), ArgumentMatchers.<RowMapper<SearchHit>>any(),
+                eq("dupont"), eq("dupont"), eq("dupont"), eq("dupont"), eq(10));
+    }
+
+    @Test
+    void testSearch_RejectsBlankQueryAndOutOfRangeLimit() {
+        assertThrows(InvalidSearchRequestException.class, () -> search.search(SearchTarget.SUPPLIERS, " ", 10));
+        assertThrows(InvalidSearchRequestException.class, () -> search.search(SearchTarget.SUPPLIERS, "acme", 0));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,133 @@
+package org.supplychain.supplychain.unit.impl.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.supplychain.supplychain.dto.order.OrderDTO;
+import org.supplychain.supplychain.dto.order.ProductOrderDTO;
+import org.supplychain.supplychain.enums.OrderNumberType;
+import org.supplychain.supplychain.exception.InsufficientStockException;
+import org.supplychain.supplychain.mapper.Production.ProductOrderMapper;
+import org.supplychain.supplychain.mapper.modelSupplier.OrderMapper;
+import org.supplychain.supplychain.model.Customer;
+import org.supplychain.supplychain.model.Order;
+import org.supplychain.supplychain.model.Product;
+import org.supplychain.supplychain.model.ProductOrder;
+import org.supplychain.supplychain.repository.Production.ProductRepository;
+import org.supplychain.supplychain.repository.approvisionnement.OrderRepository;
+import org.supplychain.supplychain.repository.modelDelivery.CustomerRepository;
+import org.supplychain.supplychain.service.OrderNumber.OrderNumberAllocator;
+import org.supplychain.supplychain.service.Production.Inventory.ProductStockService;
+import org.supplychain.supplychain.service.modelSupplier.impl.OrderServiceImpl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ProductOrderMapper productOrderMapper;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private OrderNumberAllocator orderNumberAllocator;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private OrderDTO orderFor(long productId, int... quantities) {
+        OrderDTO dto = new OrderDTO();
+        dto.setCustomerId(1L);
+        for (int quantity : quantities) {
+            dto.getProductOrders().add(new ProductOrderDTO(productId, quantity, null, null));
+        }
+        return dto;
+    }
+
+    private Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setCost(new BigDecimal("10.00"));
+        product.setStock(100);
+        return product;
+    }
+
+    @Test
+    void testCreateOrder_DeductsAggregatedQuantityOnce() {
+        OrderDTO dto = orderFor(5L, 3, 4);
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer()));
+        when(orderMapper.toEntity(dto)).thenReturn(new Order());
+        when(orderNumberAllocator.next(OrderNumberType.CUSTOMER)).thenReturn("CO-00-00000001");
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(5L)));
+        when(productOrderMapper.toEntity(any(ProductOrderDTO.class))).thenAnswer(inv -> new ProductOrder());
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(dto);
+
+        OrderDTO result = orderService.createOrder(dto);
+
+        assertNotNull(result);
+        verify(productStockService, times(1)).reserve(Map.of(5L, 7));
+        verify(orderRepository).save(argThat(order -> "CO-00-00000001".equals(order.getOrderNumber())));
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrder_NotEnoughStock() {
+        OrderDTO dto = orderFor(5L, 500);
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer()));
+        when(orderMapper.toEntity(dto)).thenReturn(new Order());
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(5L)));
+        doThrow(new InsufficientStockException("product", 5L, 500))
+                .when(productStockService).reserve(Map.of(5L, 500));
+
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(dto));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testDeleteOrder_GivesTheReservedStockBack() {
+        Order order = new Order();
+        order.setProductOrders(List.of(line(5L, 3), line(8L, 2), line(5L, 4)));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.deleteOrder(1L);
+
+        verify(orderRepository).delete(order);
+        verify(productStockService).release(Map.of(5L, 7, 8L, 2));
+    }
+
+    private ProductOrder line(long productId, int quantity) {
+        ProductOrder line = new ProductOrder();
+        line.setProduct(product(productId));
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,71 @@
+package org.supplychain.supplychain.unit.impl.service.Production.Inventory;
+
+import org.junit.jupiter.api.Test;
+import org.supplychain.supplychain.service.Production.Inventory.InventoryLedger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InventoryLedgerTest {
+
+    @Test
+    void testReserve_AllOrNothing() {
+        InventoryLedger ledger = new InventoryLedger(8);
+        ledger.put(1L, 10);
+        ledger.put(2L, 3);
+
+        long shortProduct = ledger.reserve(Map.of(1L, 5, 2L, 4), id -> 0);
+
+        assertEquals(2L, shortProduct);
+        assertEquals(10, ledger.available(1L, id -> 0));
+        assertEquals(3, ledger.available(2L, id -> 0));
+    }
+
+    @Test
+    void testReserve_LoadsMissingProduct() {
+        InventoryLedger ledger = new InventoryLedger(8);
+
+        assertEquals(0L, ledger.reserve(Map.of(42L, 4), id -> 10));
+        assertEquals(6, ledger.available(42L, id -> -1));
+    }
+
+    @Test
+    void testReserve_ConcurrentOrdersNeverOversell() throws Exception {
+        InventoryLedger ledger = new InventoryLedger(4);
+        for (long id = 1; id <= 1000; id++) {
+            ledger.put(id, 100);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                int accepted = 0;
+                for (int i = 0; i < 100; i++) {
+                    if (ledger.reserve(Map.of(1L, 1, 500L, 1), id -> 0) == 0L) {
+                        accepted++;
+                    }
+                }
+                return accepted;
+            }));
+        }
+        int accepted = 0;
+        for (Future<Integer> result : results) {
+            accepted += result.get();
+        }
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertEquals(100, accepted);
+        assertEquals(0, ledger.available(1L, id -> -1));
+        assertEquals(0, ledger.available(500L, id -> -1));
+        assertEquals(1000, ledger.size());
+    }
+}
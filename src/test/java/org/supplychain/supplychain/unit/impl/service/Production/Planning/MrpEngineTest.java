@@ -0,0 +1,67 @@
+package org.supplychain.supplychain.unit.impl.service.Production.Planning;
+
+import org.junit.jupiter.api.Test;
+import org.supplychain.supplychain.service.Production.Planning.MrpEngine;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MrpEngineTest {
+
+    @Test
+    void testExplode_NetsAgainstStockAndOpenSupply() {
+        // product 0 = 2 x material 0 + 1 x material 1, product 1 = 3 x material 1
+        MrpEngine engine = new MrpEngine(2, 3,
+                new int[]{1, 0, 0},
+                new int[]{1, 0, 1},
+                new int[]{3, 2, 1});
+        engine.addDemand(0, 10);
+        engine.addDemand(0, 5);
+        engine.addDemand(1, 4);
+
+        MrpEngine.Plan plan = engine.explode(new long[]{20, 50, 7}, new long[]{4, 0, 0});
+
+        assertArrayEquals(new long[]{30, 27, 0}, plan.gross());
+        assertArrayEquals(new long[]{6, 0, 0}, plan.net());
+    }
+
+    @Test
+    void testExplode_HundredThousandOrdersOnFiftyLineBoms() {
+        int products = 2_000;
+        int materials = 5_000;
+        int linesPerProduct = 50;
+        Random random = new Random(42);
+
+        int[] lineProduct = new int[products * linesPerProduct];
+        int[] lineMaterial = new int[lineProduct.length];
+        int[] lineQuantity = new int[lineProduct.length];
+        for (int i = 0; i < lineProduct.length; i++) {
+            lineProduct[i] = i / linesPerProduct;
+            lineMaterial[i] = random.nextInt(materials);
+            lineQuantity[i] = 1 + random.nextInt(5);
+        }
+
+        MrpEngine engine = new MrpEngine(products, materials, lineProduct, lineMaterial, lineQuantity);
+        long[] demand = new long[products];
+        for (int order = 0; order < 100_000; order++) {
+            int product = random.nextInt(products);
+            int quantity = 1 + random.nextInt(20);
+            engine.addDemand(product, quantity);
+            demand[product] += quantity;
+        }
+        MrpEngine.Plan plan = engine.explode(new long[materials], new long[materials]);
+
+        long expected = 0;
+        for (int i = 0; i < lineProduct.length; i++) {
+            expected += demand[lineProduct[i]] * lineQuantity[i];
+        }
+        long total = 0;
+        for (long gross : plan.gross()) {
+            total += gross;
+        }
+        assertEquals(expected, total);
+        assertArrayEquals(plan.gross(), plan.net());
+    }
+}
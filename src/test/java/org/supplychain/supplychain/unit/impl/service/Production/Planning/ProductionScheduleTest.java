@@ -0,0 +1,199 @@
+package org.supplychain.supplychain.unit.impl.service.Production.Planning;
+
+import org.junit.jupiter.api.Test;
+import org.supplychain.supplychain.dto.planning.BomLineView;
+import org.supplychain.supplychain.dto.planning.MaterialStockView;
+import org.supplychain.supplychain.dto.planning.ScheduleOrderView;
+import org.supplychain.supplychain.enums.Priority;
+import org.supplychain.supplychain.service.Production.Planning.ProductionSchedule;
+import org.supplychain.supplychain.service.Production.Product.BomExplosion;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+import org.supplychain.supplychain.service.Production.Planning.WorkCalendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductionScheduleTest {
+
+    // a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+    private static final EnumSet<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    @Test
+    void testLoad_PriorityThenDueDateOnDailyCapacity() {
+        // product 1: 2 h per unit, 1 kg of material 10 per unit; product 2 needs material 11
+        Map<Long, BomRequirements> bom = explode(
+                List.of(new BomLineView(1L, 10L, 1), new BomLineView(2L, 11L, 5)));
+        ProductionSchedule schedule = schedule(List.of(stock(10L, 100), stock(11L, 4)));
+
+        List<ProductionSchedule.Change> changes = schedule.load(List.of(
+                order(1, 1L, 4, Priority.STANDARD, null, 2),
+                order(2, 1L, 6, Priority.URGENT, null, 2),
+                order(3, 2L, 1, Priority.HIGH, null, 1),
+                order(4, 1L, 20, Priority.STANDARD, MONDAY.plusDays(3), 1)), bom);
+
+        Map<Long, ProductionSchedule.Change> dates = byOrder(changes);
+        // 2 (URGENT, 12 h): Mon-Tue; 4 (due date first, 20 h): Tue-Thu; 1 (8 h): Fri; 3 lacks material
+        assertDates(dates.get(2L), MONDAY, MONDAY.plusDays(1));
+        assertDates(dates.get(4L), MONDAY.plusDays(1), MONDAY.plusDays(3));
+        assertDates(dates.get(1L), MONDAY.plusDays(4), MONDAY.plusDays(4));
+        assertFalse(dates.containsKey(3L));
+        assertEquals(3, schedule.scheduled());
+
+        // 16 h of urgent work pushes everything else two days, over the weekend
+        dates = byOrder(schedule.insert(order(5, 1L, 8, Priority.URGENT, MONDAY, 2), bom.get(1L)));
+        assertDates(dates.get(5L), MONDAY, MONDAY.plusDays(1));
+        assertDates(dates.get(1L), MONDAY.plusDays(8), MONDAY.plusDays(8));
+
+        dates = byOrder(schedule.remove(5));
+        assertDates(dates.get(2L), MONDAY, MONDAY.plusDays(1));
+        assertFalse(dates.containsKey(5L));
+        assertFalse(schedule.contains(5));
+    }
+
+    @Test
+    void testUpdateStock_StartedOrderKeepsItsMaterialOutOfTheSchedule() {
+        // product 1: 3 kg of material 10 per unit
+        Map<Long, BomRequirements> bom = explode(List.of(new BomLineView(1L, 10L, 3)));
+        ProductionSchedule schedule = schedule(List.of(stock(10L, 10)));
+
+        Map<Long, ProductionSchedule.Change> dates = byOrder(schedule.load(List.of(
+                order(1, 1L, 2, Priority.URGENT, null, 1),
+                order(2, 1L, 1, Priority.STANDARD, MONDAY, 1),
+                order(3, 1L, 1, Priority.STANDARD, null, 1)), bom));
+        assertTrue(dates.containsKey(1L));
+        assertTrue(dates.containsKey(2L));
+        assertFalse(dates.containsKey(3L));
+
+        // order 1 starts: its 6 kg leave the sweep, and the stock left after the start replaces the snapshot
+        dates = byOrder(schedule.remove(1));
+        assertNotNull(dates.get(3L).startDate());
+        dates.putAll(byOrder(schedule.updateStock(List.of(stock(10L, 4)))));
+        assertNull(dates.get(3L).startDate());
+        assertFalse(dates.containsKey(2L));
+
+        // a start outside the schedule takes 2 kg more: order 2 is no longer covered
+        dates = byOrder(schedule.updateStock(List.of(stock(10L, 2))));
+        assertNull(dates.get(2L).startDate());
+        assertNull(dates.get(2L).endDate());
+
+        // a receipt covers both again; an unchanged stock is not a change
+        dates = byOrder(schedule.updateStock(List.of(stock(10L, 20), stock(99L, 5))));
+        assertNotNull(dates.get(2L).startDate());
+        assertNotNull(dates.get(3L).startDate());
+        assertTrue(schedule.updateStock(List.of(stock(10L, 20))).isEmpty());
+    }
+
+    @Test
+    void testIncrementalChanges_MatchFullReschedule() {
+        Random random = new Random(7);
+        List<MaterialStockView> materials = new ArrayList<>();
+        for (long m = 0; m < 20; m++) {
+            materials.add(stock(m, 3_000));
+        }
+        List<BomLineView> lines = new ArrayList<>();
+        for (long p = 0; p < 30; p++) {
+            for (int line = 0; line < 3; line++) {
+                lines.add(new BomLineView(p, (long) random.nextInt(20), 1 + random.nextInt(3)));
+            }
+        }
+        Map<Long, BomRequirements> bom = explode(lines);
+        List<ScheduleOrderView> orders = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            orders.add(randomOrder(random, id));
+        }
+
+        ProductionSchedule incremental = schedule(materials);
+        Map<Long, ProductionSchedule.Change> dates = byOrder(incremental.load(orders, bom));
+        long nextId = 3_001;
+        for (int step = 0; step < 300; step++) {
+            if (random.nextBoolean()) {
+                ScheduleOrderView order = randomOrder(random, nextId++);
+                orders.add(order);
+                dates.putAll(byOrder(incremental.insert(order, bom.get(order.productId()))));
+            } else {
+                ScheduleOrderView order = orders.remove(random.nextInt(orders.size()));
+                dates.putAll(byOrder(incremental.remove(order.orderId())));
+                dates.remove(order.orderId());
+            }
+        }
+
+        // a fresh load only reports orders that get dates
+        dates.values().removeIf(change -> change.startDate() == null);
+        assertEquals(byOrder(schedule(materials).load(orders, bom)), dates);
+    }
+
+    @Test
+    void testFiftyThousandOrders() {
+        Random random = new Random(11);
+        List<MaterialStockView> materials = new ArrayList<>();
+        for (long m = 0; m < 2_000; m++) {
+            materials.add(stock(m, 1_000_000));
+        }
+        List<BomLineView> lines = new ArrayList<>();
+        for (long p = 0; p < 30; p++) {
+            for (int line = 0; line < 20; line++) {
+                lines.add(new BomLineView(p, (long) random.nextInt(2_000), 1 + random.nextInt(3)));
+            }
+        }
+        Map<Long, BomRequirements> bom = explode(lines);
+        List<ScheduleOrderView> orders = new ArrayList<>();
+        for (long id = 1; id <= 50_000; id++) {
+            orders.add(randomOrder(random, id));
+        }
+
+        ProductionSchedule schedule = schedule(materials);
+        int changed = schedule.load(orders, bom).size();
+
+        for (long id = 50_001; id <= 50_100; id++) {
+            ScheduleOrderView order = randomOrder(random, id);
+            schedule.insert(order, bom.get(order.productId()));
+        }
+
+        assertEquals(50_000, changed);
+        assertEquals(50_100, schedule.size());
+    }
+
+    private ProductionSchedule schedule(List<MaterialStockView> materials) {
+        return new ProductionSchedule(new WorkCalendar(MONDAY, 8, WEEKDAYS), materials);
+    }
+
+    private ScheduleOrderView randomOrder(Random random, long id) {
+        Priority priority = Priority.values()[random.nextInt(Priority.values().length)];
+        LocalDate due = random.nextInt(4) == 0 ? null : MONDAY.plusDays(random.nextInt(60));
+        return order(id, (long) random.nextInt(30), 1 + random.nextInt(5), priority, due, random.nextInt(4));
+    }
+
+    private static ScheduleOrderView order(long id, Long productId, int quantity, Priority priority,
+                                           LocalDate due, int productionTime) {
+        return new ScheduleOrderView(id, productId, quantity, priority, due, productionTime, null, null);
+    }
+
+    private static Map<Long, BomRequirements> explode(List<BomLineView> lines) {
+        List<Long> products = lines.stream().map(BomLineView::productId).distinct().toList();
+        return BomExplosion.explode(products, BomExplosion.nodesFromLines(lines), id -> null);
+    }
+
+    private static MaterialStockView stock(Long id, int stock) {
+        return new MaterialStockView(id, "Material " + id, "kg", stock, 0);
+    }
+
+    private static Map<Long, ProductionSchedule.Change> byOrder(List<ProductionSchedule.Change> changes) {
+        Map<Long, ProductionSchedule.Change> byOrder = new HashMap<>();
+        changes.forEach(change -> byOrder.put(change.orderId(), change));
+        return byOrder;
+    }
+
+    private static void assertDates(ProductionSchedule.Change change, LocalDate start, LocalDate end) {
+        assertEquals(start, change.startDate());
+        assertEquals(end, change.endDate());
+    }
+}
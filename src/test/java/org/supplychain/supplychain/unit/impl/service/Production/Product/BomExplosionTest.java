@@ -0,0 +1,134 @@
+package org.supplychain.supplychain.unit.impl.service.Production.Product;
+
+import org.junit.jupiter.api.Test;
+import org.supplychain.supplychain.dto.planning.BomLineView;
+import org.supplychain.supplychain.exception.BomCycleException;
+import org.supplychain.supplychain.service.Production.Product.BomExplosion;
+import org.supplychain.supplychain.service.Production.Product.BomRequirements;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BomExplosionTest {
+
+    @Test
+    void testExplode_SharedSubAssemblyCountedOncePerPath() {
+        // 1 = 2 x 2 + 1 x 3 + material 10; 2 = 3 x 4 + material 11; 3 = 1 x 4; 4 = 2 x material 12
+        Map<Long, BomExplosion.Node> nodes = BomExplosion.nodesFromLines(List.of(
+                new BomLineView(1L, null, 2L, 2),
+                new BomLineView(1L, null, 3L, 1),
+                new BomLineView(1L, 10L, 1),
+                new BomLineView(2L, null, 4L, 3),
+                new BomLineView(2L, 11L, 1),
+                new BomLineView(3L, null, 4L, 1),
+                new BomLineView(4L, 12L, 2)));
+
+        Map<Long, BomRequirements> exploded = BomExplosion.explode(List.of(1L), nodes, id -> null);
+
+        BomRequirements root = exploded.get(1L);
+        assertEquals(3, root.size());
+        assertEquals(10L, root.materialId(0));
+        assertEquals(1, root.quantity(0));
+        assertEquals(11L, root.materialId(1));
+        assertEquals(2, root.quantity(1));
+        // 4 is reached through 2 (2 x 3) and through 3 (1 x 1): 7 units of 2 kg
+        assertEquals(12L, root.materialId(2));
+        assertEquals(14, root.quantity(2));
+        assertEquals(70L, root.required(2, 5));
+        // components are memoized as well
+        assertEquals(6, exploded.get(2L).quantity(1));
+        assertEquals(2, exploded.get(4L).quantity(0));
+    }
+
+    @Test
+    void testExplode_ReusesKnownRequirements() {
+        Map<Long, BomExplosion.Node> nodes = BomExplosion.nodesFromLines(List.of(
+                new BomLineView(1L, null, 2L, 3)));
+        BomRequirements known = BomExplosion.explode(List.of(2L),
+                BomExplosion.nodesFromLines(List.of(new BomLineView(2L, 10L, 4))), id -> null).get(2L);
+
+        Map<Long, BomRequirements> exploded = BomExplosion.explode(List.of(1L), nodes, id -> id == 2L ? known : null);
+
+        assertEquals(12, exploded.get(1L).quantity(0));
+        assertFalse(exploded.containsKey(2L));
+    }
+
+    @Test
+    void testExplode_DetectsCycle() {
+        Map<Long, BomExplosion.Node> nodes = BomExplosion.nodesFromLines(List.of(
+                new BomLineView(1L, null, 2L, 1),
+                new BomLineView(2L, null, 3L, 1),
+                new BomLineView(3L, null, 1L, 1),
+                new BomLineView(3L, 10L, 1)));
+
+        assertThrows(BomCycleException.class, () -> BomExplosion.explode(List.of(1L), nodes, id -> null));
+    }
+
+    @Test
+    void testExplode_TenLevelsThousandsOfNodes() {
+        int levels = 10;
+        int perLevel = 400;
+        int materials = 200;
+        Random random = new Random(7);
+
+        // level 0 is the root, every node uses 3 nodes of the level below, the last level uses materials
+        List<BomLineView> lines = new ArrayList<>();
+        for (int level = 0; level < levels; level++) {
+            int width = level == 0 ? 1 : perLevel;
+            for (int n = 0; n < width; n++) {
+                long product = id(level, n);
+                for (int c = 0; c < 3; c++) {
+                    lines.add(new BomLineView(product, null, id(level + 1, random.nextInt(perLevel)), 1 + random.nextInt(2)));
+                }
+            }
+        }
+        for (int n = 0; n < perLevel; n++) {
+            for (int m = 0; m < 5; m++) {
+                lines.add(new BomLineView(id(levels, n), (long) random.nextInt(materials), 1 + random.nextInt(3)));
+            }
+        }
+        Map<Long, BomExplosion.Node> nodes = BomExplosion.nodesFromLines(lines);
+
+        Map<Long, BomRequirements> exploded = BomExplosion.explode(List.of(id(0, 0)), nodes, id -> null);
+
+        Map<Long, Map<Long, Long>> expected = new HashMap<>();
+        Map<Long, Long> root = naive(id(0, 0), lines, expected);
+        BomRequirements requirements = exploded.get(id(0, 0));
+        assertEquals(root.size(), requirements.size());
+        for (int line = 0; line < requirements.size(); line++) {
+            assertEquals(root.get(requirements.materialId(line)), (long) requirements.quantity(line));
+        }
+        assertTrue(exploded.size() > 2_000);
+    }
+
+    private static long id(int level, int n) {
+        return level * 10_000L + n;
+    }
+
+    // memoized recursion over the raw lines, as a reference
+    private static Map<Long, Long> naive(long product, List<BomLineView> lines, Map<Long, Map<Long, Long>> memo) {
+        Map<Long, Long> known = memo.get(product);
+        if (known != null) {
+            return known;
+        }
+        Map<Long, Long> total = new HashMap<>();
+        for (BomLineView line : lines) {
+            if (line.productId() != product) {
+                continue;
+            }
+            if (line.materialId() != null) {
+                total.merge(line.materialId(), (long) line.quantity(), Long::sum);
+            } else {
+                naive(line.componentId(), lines, memo)
+                        .forEach((material, quantity) -> total.merge(material, quantity * line.quantity(), Long::sum));
+            }
+        }
+        memo.put(product, total);
+        return total;
+    }
+}
@@ -19,10 +19,14 @@ import org.supplychain.supplychain.model.RawMaterial;
 import org.supplychain.supplychain.repository.Production.BillOfMaterialRepository;
 import org.supplychain.supplychain.repository.Production.ProductRepository;
 import org.supplychain.supplychain.repository.approvisionnement.RawMaterialRepository;
+import org.supplychain.supplychain.service.Production.Inventory.ProductStockService;
+import org.supplychain.supplychain.service.Production.Product.BomRequirementCache;
 import org.supplychain.supplychain.service.Production.Product.ProductServiceImpl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -41,6 +45,12 @@ public class ProductServiceImplTest {
     @Mock
     private RawMaterialRepository rawMaterialRepository;
 
+    @Mock
+    private BomRequirementCache bomRequirementCache;
+
+    @Mock
+    private ProductStockService productStockService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -63,11 +73,12 @@ public class ProductServiceImplTest {
 
         Product productEntity = new Product();
         RawMaterial material = new RawMaterial();
+        material.setIdMaterial(1L);
 
         when(productRepository.findByName("New Product")).thenReturn(Optional.empty());
         when(productMapper.toEntity(dto)).thenReturn(productEntity);
         when(productRepository.save(productEntity)).thenReturn(productEntity);
-        when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(material));
+        when(rawMaterialRepository.findAllById(Set.of(1L))).thenReturn(List.of(material));
         when(productMapper.toDTO(productEntity)).thenReturn(dto);
 
         ProductDTO result = productService.createProduct(dto);
@@ -107,13 +118,92 @@ public class ProductServiceImplTest {
     @Test
     void testUpdateProduct_NotFound() {
 
-        when(productRepository.findById(10L)).thenReturn(Optional.empty());
+        when(productRepository.findByIdWithBillOfMaterials(10L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
                 productService.updateProduct(10L, new ProductDTO())
         );
     }
 
+    @Test
+    void testUpdateProduct_WritesOnlyChangedBomLines() {
+        Product product = new Product();
+        product.setId(1L);
+        BillOfMaterial kept = line(100L, product, material(10L), 2);
+        BillOfMaterial changed = line(101L, product, material(11L), 3);
+        BillOfMaterial removed = line(102L, product, material(12L), 1);
+        product.setBillOfMaterials(new ArrayList<>(List.of(kept, changed, removed)));
+
+        ProductDTO dto = new ProductDTO();
+        dto.setName("Product");
+        dto.setBillOfMaterials(List.of(bomDTO(10L, 2), bomDTO(11L, 5), bomDTO(13L, 4)));
+
+        when(productRepository.findByIdWithBillOfMaterials(1L)).thenReturn(Optional.of(product));
+        when(rawMaterialRepository.findAllById(Set.of(13L))).thenReturn(List.of(material(13L)));
+        when(productRepository.save(product)).thenReturn(product);
+
+        productService.updateProduct(1L, dto);
+
+        assertEquals(2, kept.getQuantity());
+        assertEquals(5, changed.getQuantity());
+        verify(rawMaterialRepository, times(1)).findAllById(any());
+        verify(rawMaterialRepository, never()).findById(any());
+        verify(bomRepository).saveAll(argThat(lines -> lines.iterator().next().getMaterial().getIdMaterial() == 13L));
+        verify(bomRepository).deleteAll(List.of(removed));
+        verify(bomRequirementCache).evict(1L);
+        assertEquals(3, product.getBillOfMaterials().size());
+    }
+
+    @Test
+    void testUpdateProduct_StockIsLeftToTheLedger() {
+        Product product = new Product();
+        product.setId(1L);
+        product.setStock(7);
+
+        ProductDTO dto = new ProductDTO();
+        dto.setName("Product");
+        dto.setStock(50);
+
+        when(productRepository.findByIdWithBillOfMaterials(1L)).thenReturn(Optional.of(product));
+        doAnswer(invocation -> {
+            invocation.<Product>getArgument(1).setStock(50);
+            return null;
+        }).when(productMapper).updateEntityFromDTO(dto, product);
+        when(productStockService.acceptsStockEdits()).thenReturn(false);
+        when(productRepository.save(product)).thenReturn(product);
+
+        productService.updateProduct(1L, dto);
+
+        assertEquals(7, product.getStock());
+
+        when(productStockService.acceptsStockEdits()).thenReturn(true);
+        productService.updateProduct(1L, dto);
+
+        assertEquals(50, product.getStock());
+    }
+
+    @Test
+    void testUpdateProduct_UnchangedBomWritesNothing() {
+        Product product = new Product();
+        product.setId(1L);
+        product.setBillOfMaterials(new ArrayList<>(List.of(
+                line(100L, product, material(10L), 2),
+                line(101L, product, material(10L), 1))));
+
+        ProductDTO dto = new ProductDTO();
+        dto.setName("Product");
+        dto.setBillOfMaterials(List.of(bomDTO(10L, 2), bomDTO(10L, 1)));
+
+        when(productRepository.findByIdWithBillOfMaterials(1L)).thenReturn(Optional.of(product));
+        when(productRepository.save(product)).thenReturn(product);
+
+        productService.updateProduct(1L, dto);
+
+        verifyNoInteractions(rawMaterialRepository, bomRequirementCache);
+        verify(bomRepository, never()).saveAll(any());
+        verify(bomRepository, never()).deleteAll(any());
+    }
+
     @Test
     void testDeleteProduct_InUseByOrders() {
 
@@ -152,4 +242,26 @@ public class ProductServiceImplTest {
                 productService.getProductById(1L)
         );
     }
+
+    private static RawMaterial material(Long id) {
+        RawMaterial material = new RawMaterial();
+        material.setIdMaterial(id);
+        return material;
+    }
+
+    private static BillOfMaterial line(Long id, Product product, RawMaterial material, int quantity) {
+        BillOfMaterial line = new BillOfMaterial();
+        line.setIdBOM(id);
+        line.setProduct(product);
+        line.setMaterial(material);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private static BillOfMaterialDTO bomDTO(Long materialId, int quantity) {
+        BillOfMaterialDTO line = new BillOfMaterialDTO();
+        line.setMaterialId(materialId);
+        line.setQuantity(quantity);
+        return line;
+    }
 }